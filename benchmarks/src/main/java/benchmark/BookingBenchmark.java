@@ -0,0 +1,57 @@
+package benchmark;
+
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.usecase.BookLessonUseCase;
+import domain.usecase.CancelLessonUseCase;
+import domain.util.Result;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking and cancelling a lesson through the use cases
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BookingBenchmark {
+    private final BookLessonUseCase bookLessonUseCase = new BookLessonUseCase();
+    private final CancelLessonUseCase cancelLessonUseCase = new CancelLessonUseCase();
+
+    /**
+     * A learner per grade outside the fixture, booking each lesson in turn
+     */
+    @State(Scope.Thread)
+    public static class Booker {
+        Learner[] learnerPerGrade;
+        int nextLesson = 0;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            learnerPerGrade = new Learner[BookingFixture.MAX_GRADE + 1];
+            for (int grade = 0; grade <= BookingFixture.MAX_GRADE; grade++) {
+                learnerPerGrade[grade] = new Learner("Booker " + grade, "Female", 8, grade, "08172742510", "08172432510")
+                        .setId(2_000_000 + grade);
+            }
+        }
+
+        Lesson nextLesson(BookingFixture fixture) {
+            Lesson lesson = fixture.lessons[nextLesson];
+            nextLesson = nextLesson + 1 == fixture.lessons.length ? 0 : nextLesson + 1;
+            return lesson;
+        }
+    }
+
+    @Benchmark
+    public Result<Object, CancelLessonUseCase.Error> bookThenCancel(BookingFixture fixture, Booker booker) {
+        Lesson lesson = booker.nextLesson(fixture);
+        Learner learner = booker.learnerPerGrade[lesson.getGrade()];
+
+        bookLessonUseCase.bookLesson(lesson, learner);
+        return cancelLessonUseCase.cancelLesson(lesson, learner);
+    }
+}
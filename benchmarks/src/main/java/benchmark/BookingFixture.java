@@ -0,0 +1,89 @@
+package benchmark;
+
+import data.InMemCoachRepository;
+import data.InMemLearnersRepository;
+import data.InMemLessonRepository;
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.entity.lesson.LessonStatus;
+import domain.entity.lesson.RegisteredLesson;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Coaches, lessons and learners at a given scale, loaded into the in-memory repositories
+ * <p>
+ * The repositories are singletons, so every parameter combination must run in its own fork.
+ * Each lesson is given at most three registrations, so there is always a free seat to book.
+ * Ids are assigned outside the generated id scheme, which only has room for 10,000 ids per grade.
+ */
+@State(Scope.Benchmark)
+public class BookingFixture {
+    static final int MAX_GRADE = 5;
+    private static final int REGISTRATIONS_PER_LESSON = 3;
+    private static final int LEARNER_ID_BASE = 3_000_000;
+    private static final int LESSON_ID_BASE = 4_000_000;
+    private static final String[] COACH_NAMES = {"Helen", "Paula", "Sam", "Michael", "Jennifer"};
+    private static final String[] LESSON_TIMES = {"4-5pm", "5-6pm", "6-7pm", "2-3pm", "3-4pm"};
+    private static final LessonStatus[] STATUSES = {LessonStatus.BOOKED, LessonStatus.ATTENDED, LessonStatus.CANCELLED};
+
+    @Param({"1000", "100000", "1000000"})
+    public int learnerCount;
+
+    @Param({"45", "10000", "100000"})
+    public int lessonCount;
+
+    @Param({"0", "4", "20"})
+    public int reviewsPerLesson;
+
+    InMemCoachRepository coachRepository;
+    InMemLessonRepository lessonRepository;
+    InMemLearnersRepository learnerRepository;
+    Lesson[] lessons;
+    Learner[] learners;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        coachRepository = InMemCoachRepository.getInstance();
+        lessonRepository = InMemLessonRepository.getInstance();
+        learnerRepository = InMemLearnersRepository.getInstance();
+
+        List<Coach> coaches = new ArrayList<>();
+        for (String name : COACH_NAMES) {
+            coaches.add(new Coach(name));
+        }
+
+        LocalDate firstDay = LocalDate.of(2024, 3, 2);
+        lessons = new Lesson[lessonCount];
+        for (int i = 0; i < lessonCount; i++) {
+            lessons[i] = new Lesson("Lesson " + i, i % MAX_GRADE + 1, coaches.get(i % coaches.size()),
+                    firstDay.plusDays(i % 28), LESSON_TIMES[i % LESSON_TIMES.length]).setId(LESSON_ID_BASE + i);
+            for (int r = 0; r < reviewsPerLesson; r++) {
+                lessons[i].addReview(new Review("Review " + r, r % 5 + 1));
+            }
+        }
+
+        int[] registrations = new int[lessonCount];
+        learners = new Learner[learnerCount];
+        for (int i = 0; i < learnerCount; i++) {
+            learners[i] = new Learner("Learner " + i, i % 2 == 0 ? "Male" : "Female", 4 + i % 8, i % (MAX_GRADE + 1),
+                    "08172742510", "08172432510").setId(LEARNER_ID_BASE + i);
+
+            int lessonIndex = i % lessonCount;
+            if (registrations[lessonIndex] < REGISTRATIONS_PER_LESSON) {
+                registrations[lessonIndex]++;
+                lessons[lessonIndex].addLearner(learners[i]);
+                learners[i].registerNewLesson(new RegisteredLesson(lessons[lessonIndex], STATUSES[i % STATUSES.length]));
+            }
+        }
+
+        coachRepository.addCoaches(coaches);
+        lessonRepository.addLessons(List.of(lessons));
+        learnerRepository.addLearners(List.of(learners));
+    }
+}
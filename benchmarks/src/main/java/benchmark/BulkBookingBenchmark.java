@@ -0,0 +1,78 @@
+package benchmark;
+
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.BookingRequest;
+import domain.entity.lesson.Lesson;
+import domain.usecase.BookLessonUseCase;
+import domain.usecase.CancelLessonUseCase;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking a whole class into a block of lessons, one booking at a time against all at once.
+ * Every booking is cancelled again within the operation, the same way for both, so the class can be booked again
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BulkBookingBenchmark {
+    private static final int GRADE = 3;
+
+    @Param({"12", "120"})
+    public int lessonsInBlock;
+
+    private final BookLessonUseCase bookLessonUseCase = new BookLessonUseCase();
+    private final CancelLessonUseCase cancelLessonUseCase = new CancelLessonUseCase();
+    private List<BookingRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var coach = new Coach("Helen");
+        var firstDay = LocalDate.of(2024, 3, 2);
+        var learners = new ArrayList<Learner>();
+        for (int i = 0; i < Lesson.MAX_LEARNERS; i++) {
+            learners.add(new Learner("Pupil " + i, "Female", 8, GRADE, "08172742510", "08172432510").setId(5_000_000 + i));
+        }
+
+        // each pupil in turn for each lesson, as a class import lists them
+        requests = new ArrayList<>();
+        for (int i = 0; i < lessonsInBlock; i++) {
+            var lesson = new Lesson("Block lesson " + i, GRADE, coach, firstDay.plusDays(i), "4-5pm").setId(6_000_000 + i);
+            learners.forEach(learner -> requests.add(new BookingRequest(lesson, learner)));
+        }
+    }
+
+    @Benchmark
+    public int bookOneByOne() {
+        int booked = 0;
+        for (BookingRequest request : requests) {
+            if (bookLessonUseCase.bookLesson(request.lesson(), request.learner()).isSuccess()) booked++;
+        }
+        cancelAll();
+        return booked;
+    }
+
+    @Benchmark
+    public int bookInBulk() {
+        int booked = 0;
+        for (var result : bookLessonUseCase.bookLessons(requests)) {
+            if (result.isSuccess()) booked++;
+        }
+        cancelAll();
+        return booked;
+    }
+
+    private void cancelAll() {
+        for (BookingRequest request : requests) {
+            cancelLessonUseCase.cancelLesson(request.lesson(), request.learner());
+        }
+    }
+}
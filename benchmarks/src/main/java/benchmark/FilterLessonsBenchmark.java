@@ -0,0 +1,57 @@
+package benchmark;
+
+import domain.entity.lesson.Lesson;
+import domain.entity.lesson.LessonQuery;
+import domain.usecase.FilterLessonsUseCase;
+import domain.util.Result;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering the timetable by grade, coach and day, one at a time and combined
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FilterLessonsBenchmark {
+    private static final LessonQuery COMPOUND_QUERY = LessonQuery.ANY
+            .withGrade(3)
+            .withCoach("Helen")
+            .withDayOfWeek(DayOfWeek.SATURDAY)
+            .withDateRange(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 16))
+            .withFreeSeatsOnly();
+
+    private FilterLessonsUseCase filterLessonsUseCase;
+
+    @Setup(Level.Trial)
+    public void setUp(BookingFixture fixture) {
+        filterLessonsUseCase = new FilterLessonsUseCase(fixture.lessonRepository);
+    }
+
+    @Benchmark
+    public Result<List<Lesson>, FilterLessonsUseCase.Error> filterByGrade() {
+        return filterLessonsUseCase.filterByGrade(3);
+    }
+
+    @Benchmark
+    public Result<List<Lesson>, Object> filterByCoach() {
+        return filterLessonsUseCase.filterByCoach("Helen");
+    }
+
+    @Benchmark
+    public Result<List<Lesson>, FilterLessonsUseCase.Error> filterByDay() {
+        return filterLessonsUseCase.filterByDay("Saturday");
+    }
+
+    @Benchmark
+    public Result<List<Lesson>, FilterLessonsUseCase.Error> filterCompound() {
+        return filterLessonsUseCase.filter(COMPOUND_QUERY);
+    }
+}
@@ -0,0 +1,62 @@
+package benchmark;
+
+import domain.entity.coach.CoachReport;
+import domain.entity.learner.LearnerReport;
+import domain.usecase.GenerateCoachReportUseCase;
+import domain.usecase.GenerateLearnerReportUseCase;
+import org.openjdk.jmh.annotations.*;
+import presentation.view.ReportPrinter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating the coach and learner reports, and formatting them for display
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReportBenchmark {
+    private GenerateCoachReportUseCase coachReportUseCase;
+    private GenerateLearnerReportUseCase learnerReportUseCase;
+    private List<CoachReport> coachReports;
+    private LearnerReport learnerReport;
+    private int nextLearner = 0;
+
+    @Setup(Level.Trial)
+    public void setUp(BookingFixture fixture) {
+        coachReportUseCase = new GenerateCoachReportUseCase(fixture.coachRepository);
+        learnerReportUseCase = new GenerateLearnerReportUseCase(fixture.learnerRepository);
+        coachReports = coachReportUseCase.getReportForAllCoaches();
+        learnerReport = learnerReportUseCase.getReportForLearner(fixture.learners[0]);
+    }
+
+    @Benchmark
+    public List<CoachReport> coachReports() {
+        return coachReportUseCase.getReportForAllCoaches();
+    }
+
+    @Benchmark
+    public LearnerReport learnerReport(BookingFixture fixture) {
+        nextLearner = nextLearner + 1 == fixture.learners.length ? 0 : nextLearner + 1;
+        return learnerReportUseCase.getReportForLearner(fixture.learners[nextLearner]);
+    }
+
+    @Benchmark
+    public List<LearnerReport> allLearnerReports() {
+        return learnerReportUseCase.getReportForAllLearners();
+    }
+
+    @Benchmark
+    public String printCoachReports() {
+        return ReportPrinter.prettyPrintCoachReports(coachReports);
+    }
+
+    @Benchmark
+    public String printLearnerReport() {
+        return ReportPrinter.prettyPrintLearnerReport(learnerReport);
+    }
+}
@@ -1,32 +1,160 @@
+import data.BookingSnapshot;
+import data.BookingSnapshotter;
+import data.FileBookingJournal;
 import data.InMemCoachRepository;
 import data.InMemLearnersRepository;
 import data.InMemLessonRepository;
+import data.JournalReplayer;
+import domain.event.EventBus;
 import domain.usecase.*;
+import presentation.batch.BatchCommandRunner;
 import presentation.controller.HomeScreenViewController;
+import presentation.http.BookingApiServer;
 import presentation.view.HomeScreenView;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 public class App {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         var coachRepo = InMemCoachRepository.getInstance();
         var lessonRepo = InMemLessonRepository.getInstance();
         var learnerRepo = InMemLearnersRepository.getInstance();
 
-        coachRepo.generateSampleCoaches();
-        learnerRepo.generateSampleLearners();
+        var journal = FileBookingJournal.open(
+                Path.of(System.getProperty("hjss.journal", "hjss-journal.bin")),
+                Long.getLong("hjss.journal.fsyncIntervalMillis", 50));
+
+        var snapshotFile = Path.of(System.getProperty("hjss.snapshot", "hjss-snapshot.bin"));
+        if (journal.hasRecords()) {
+            // the snapshot covers the start of the journal, so only the records after it are replayed
+            var replayer = new JournalReplayer();
+            long replayFrom = Files.exists(snapshotFile)
+                    ? BookingSnapshot.load(snapshotFile, replayer)
+                    : journal.getStartOffset();
+            journal.replay(replayFrom, replayer);
+            replayer.populate(coachRepo, lessonRepo, learnerRepo);
+        } else {
+            Files.deleteIfExists(snapshotFile);
+
+            coachRepo.generateSampleCoaches();
+            learnerRepo.generateSampleLearners();
+
+            var lessons = new BuildTimetableUseCase().buildAndGetLessons(coachRepo.getAllCoaches());
+            lessonRepo.addLessons(lessons);
+
+            // the timetable is random, so it's journaled for the bookings made against it to be replayable
+            coachRepo.getAllCoaches().forEach(journal::recordCoachAdded);
+            lessons.forEach(journal::recordLessonAdded);
+            learnerRepo.getAllLearners().forEach(journal::recordLearnerRegistered);
+            journal.flush();
+        }
+
+        var snapshotter = BookingSnapshotter.start(journal, snapshotFile, Long.getLong("hjss.snapshot.intervalSeconds", 300));
+        var reportPool = new ForkJoinPool(Integer.getInteger("hjss.report.parallelism", Runtime.getRuntime().availableProcessors()));
+
+        var eventBus = new EventBus();
+        var attendLessonUseCase = new AttendLessonUseCase(journal, eventBus);
+        var bookLessonUseCase = new BookLessonUseCase(journal, eventBus);
+        var cancelLessonUseCase = new CancelLessonUseCase(journal, eventBus);
+        var filterLessonsUseCase = new FilterLessonsUseCase(lessonRepo);
+        int reportCacheSize = Integer.getInteger("hjss.report.cacheSize", 10_000);
+        var generateCoachReportUseCase = new GenerateCoachReportUseCase(coachRepo, reportPool, eventBus, reportCacheSize);
+        var generateLearnerReportUseCase = new GenerateLearnerReportUseCase(learnerRepo, reportPool, eventBus, reportCacheSize);
+        var holdSeatUseCase = new HoldSeatUseCase(bookLessonUseCase);
+        var registerNewLearnerUseCase = new RegisterNewLearnerUseCase(learnerRepo, journal, eventBus);
+
+        // in server mode the use cases are driven over HTTP instead of the interactive menu
+        BookingApiServer apiServer = null;
+        if (List.of(args).contains("--server")) {
+            apiServer = BookingApiServer.start(
+                    new InetSocketAddress(Integer.getInteger("hjss.http.port", 8080)),
+                    Integer.getInteger("hjss.http.backlog", 1024),
+                    Integer.getInteger("hjss.http.maxInFlightRequests", 10_000),
+                    attendLessonUseCase,
+                    bookLessonUseCase,
+                    cancelLessonUseCase,
+                    filterLessonsUseCase,
+                    generateCoachReportUseCase,
+                    generateLearnerReportUseCase,
+                    holdSeatUseCase,
+                    registerNewLearnerUseCase,
+                    learnerRepo,
+                    lessonRepo);
+            System.out.println("Serving the booking API on port " + apiServer.getAddress().getPort());
+
+            // a single task advances the expiry wheel of every seat hold
+            var holdExpiry = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "seat-hold-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            holdExpiry.scheduleAtFixedRate(() -> {
+                try {
+                    holdSeatUseCase.expireHolds();
+                } catch (RuntimeException e) {
+                    System.err.println("Failed to expire seat holds: " + e.getMessage());
+                }
+            }, HoldSeatUseCase.TICK_MILLIS, HoldSeatUseCase.TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        var server = apiServer;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                // no more bookings are taken once the journal starts closing
+                if (server != null) server.close();
+                snapshotter.close();
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close the booking journal: " + e.getMessage());
+            }
+        }));
+
+        if (server != null) return;
 
-        var lessons = new BuildTimetableUseCase().buildAndGetLessons(coachRepo.getAllCoaches());
-        lessonRepo.addLessons(lessons);
+        // in batch mode the commands are read from a file, or stdin if no file is given, and the app exits when they're done
+        int batchArg = List.of(args).indexOf("--batch");
+        if (batchArg >= 0) {
+            var runner = new BatchCommandRunner(
+                    attendLessonUseCase,
+                    bookLessonUseCase,
+                    cancelLessonUseCase,
+                    generateCoachReportUseCase,
+                    generateLearnerReportUseCase,
+                    registerNewLearnerUseCase,
+                    learnerRepo,
+                    lessonRepo);
 
+            int failures;
+            var out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+            try (var in = batchArg + 1 < args.length
+                    ? Files.newBufferedReader(Path.of(args[batchArg + 1]))
+                    : new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)) {
+                failures = runner.run(in, out);
+            }
+            System.exit(failures == 0 ? 0 : 1);
+        }
 
         new HomeScreenViewController(
                 new HomeScreenView(),
-                new AttendLessonUseCase(),
-                new BookLessonUseCase(),
-                new CancelLessonUseCase(),
-                new FilterLessonsUseCase(lessonRepo),
-                new GenerateCoachReportUseCase(coachRepo),
-                new GenerateLearnerReportUseCase(learnerRepo),
-                new RegisterNewLearnerUseCase(learnerRepo),
+                attendLessonUseCase,
+                bookLessonUseCase,
+                cancelLessonUseCase,
+                filterLessonsUseCase,
+                generateCoachReportUseCase,
+                generateLearnerReportUseCase,
+                registerNewLearnerUseCase,
                 learnerRepo,
                 coachRepo);
     }
@@ -0,0 +1,227 @@
+package data;
+
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.entity.lesson.LessonStatus;
+import domain.entity.lesson.RegisteredLesson;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A point-in-time image of everything in a {@link FileBookingJournal} up to an offset
+ * <p>
+ * The image is a flat binary layout read back through a {@link MappedByteBuffer}, so loading it
+ * only decodes fields in order, with no per-record checksums or validation. After loading, only
+ * the journal records after the snapshot's offset need to be replayed.
+ * <p>
+ * Sections are written in the order: coaches, lessons, learners, the learners and reviews of each
+ * lesson, then the registrations of each learner. Strings are an unsigned short length followed by UTF-8 bytes.
+ */
+public class BookingSnapshot {
+    private static final int MAGIC = 0x484A5353; // "HJSS"
+    private static final int TRAILER = 0x454E4453; // "ENDS"
+    private static final short VERSION = 1;
+    private static final LessonStatus[] STATUSES = LessonStatus.values();
+
+    private BookingSnapshot() {
+    }
+
+    /**
+     * Write a snapshot of a replayed state.
+     * The snapshot is written to a temporary file first and moved into place, so a crash never leaves a partial snapshot
+     *
+     * @param file          path of the snapshot
+     * @param journalOffset the journal offset the state has been replayed up to
+     * @param state         the replayed state
+     * @throws IOException if the snapshot can't be written
+     */
+    public static void write(Path file, long journalOffset, JournalReplayer state) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (var fileOut = new FileOutputStream(tempFile.toFile());
+             var out = new DataOutputStream(new BufferedOutputStream(fileOut, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(journalOffset);
+
+            List<Coach> coaches = state.getCoaches();
+            Map<String, Integer> coachIndexes = new HashMap<>();
+            out.writeInt(coaches.size());
+            for (Coach coach : coaches) {
+                coachIndexes.put(coach.getName(), coachIndexes.size());
+                writeString(out, coach.getName());
+            }
+
+            List<Lesson> lessons = state.getLessons();
+            out.writeInt(lessons.size());
+            for (Lesson lesson : lessons) {
+                out.writeInt(lesson.getId());
+                out.writeByte(lesson.getGrade());
+                out.writeInt((int) lesson.getLessonDate().toEpochDay());
+                out.writeInt(coachIndexes.get(lesson.getCoach().getName()));
+                writeString(out, lesson.getName());
+                writeString(out, lesson.getLessonTime());
+            }
+
+            List<Learner> learners = state.getLearners();
+            out.writeInt(learners.size());
+            for (Learner learner : learners) {
+                out.writeInt(learner.getId());
+                out.writeByte(learner.getAge());
+                out.writeByte(learner.getGrade());
+                writeString(out, learner.getName());
+                writeString(out, learner.getGender());
+                writeString(out, learner.getPhoneNumber());
+                writeString(out, learner.getEmergencyContactNumber());
+            }
+
+            for (Lesson lesson : lessons) {
+                List<Learner> registeredLearners = lesson.getRegisteredLearners();
+                out.writeInt(registeredLearners.size());
+                for (Learner learner : registeredLearners) {
+                    out.writeInt(learner.getId());
+                }
+
+                List<Review> reviews = lesson.getReviews();
+                out.writeInt(reviews.size());
+                for (Review review : reviews) {
+                    out.writeByte(review.getRating());
+                    writeString(out, review.getMessage());
+                }
+            }
+
+            for (Learner learner : learners) {
+                List<RegisteredLesson> registeredLessons = learner.getRegisteredLessons();
+                out.writeInt(registeredLessons.size());
+                for (RegisteredLesson registeredLesson : registeredLessons) {
+                    out.writeInt(registeredLesson.getLesson().getId());
+                    out.writeByte(registeredLesson.getLessonStatus().ordinal());
+                }
+            }
+
+            out.writeInt(TRAILER);
+            out.flush();
+            fileOut.getFD().sync();
+        }
+
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Load a snapshot into an empty replayer
+     *
+     * @param file  path of the snapshot
+     * @param state the replayer to load into
+     * @return the journal offset to continue replaying from
+     * @throws IOException if the snapshot can't be read or isn't a booking snapshot
+     */
+    public static long load(Path file, JournalReplayer state) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] stringBuffer = new byte[256];
+            long journalOffset = readHeader(file, in);
+
+            int coachCount = in.getInt();
+            String[] coachNames = new String[coachCount];
+            for (int i = 0; i < coachCount; i++) {
+                coachNames[i] = readString(in, stringBuffer);
+                state.onCoachAdded(coachNames[i]);
+            }
+
+            int lessonCount = in.getInt();
+            for (int i = 0; i < lessonCount; i++) {
+                int id = in.getInt();
+                int grade = in.get();
+                int epochDay = in.getInt();
+                String coachName = coachNames[in.getInt()];
+                String name = readString(in, stringBuffer);
+                String time = readString(in, stringBuffer);
+                state.onLessonAdded(id, name, grade, coachName, java.time.LocalDate.ofEpochDay(epochDay), time);
+            }
+
+            int learnerCount = in.getInt();
+            for (int i = 0; i < learnerCount; i++) {
+                int id = in.getInt();
+                int age = in.get();
+                int grade = in.get();
+                String name = readString(in, stringBuffer);
+                String gender = readString(in, stringBuffer);
+                String phoneNumber = readString(in, stringBuffer);
+                String emergencyContactNumber = readString(in, stringBuffer);
+                state.onLearnerRegistered(new Learner(name, gender, age, grade, phoneNumber, emergencyContactNumber).setId(id));
+            }
+
+            for (Lesson lesson : state.getLessons()) {
+                int registeredLearnerCount = in.getInt();
+                for (int i = 0; i < registeredLearnerCount; i++) {
+                    lesson.addLearner(state.getLearner(in.getInt()));
+                }
+
+                int reviewCount = in.getInt();
+                for (int i = 0; i < reviewCount; i++) {
+                    int rating = in.get();
+                    lesson.addReview(new Review(readString(in, stringBuffer), rating));
+                }
+            }
+
+            for (Learner learner : state.getLearners()) {
+                int registrationCount = in.getInt();
+                for (int i = 0; i < registrationCount; i++) {
+                    Lesson lesson = state.getLesson(in.getInt());
+                    learner.registerNewLesson(new RegisteredLesson(lesson, STATUSES[in.get()]));
+                }
+            }
+
+            return journalOffset;
+        }
+    }
+
+    /**
+     * Get the journal offset a snapshot covers, without loading it
+     *
+     * @param file path of the snapshot
+     * @return the journal offset to continue replaying from
+     * @throws IOException if the snapshot can't be read or isn't a booking snapshot
+     */
+    public static long readJournalOffset(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readHeader(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static long readHeader(Path file, ByteBuffer in) throws IOException {
+        if (in.remaining() < 14 || in.getInt() != MAGIC || in.getShort() != VERSION) {
+            throw new IOException(file + " is not a booking snapshot");
+        }
+        if (in.getInt(in.limit() - 4) != TRAILER) {
+            throw new IOException(file + " is incomplete");
+        }
+        return in.getLong();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in, byte[] buffer) {
+        int length = Short.toUnsignedInt(in.getShort());
+        byte[] bytes = length <= buffer.length ? buffer : new byte[length];
+        in.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,95 @@
+package data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes a {@link BookingSnapshot} in the background
+ * <p>
+ * The snapshot isn't taken from the live repositories, which would have to stop taking bookings for the image
+ * to match an exact journal offset. Instead each snapshot loads the previous one into a fresh copy of the state,
+ * reads the journal on to its durable offset, writes the result and drops the copy again.
+ * <p>
+ * The copy only takes up memory while a snapshot is being written, rather than doubling the state for the life of
+ * the process. In exchange, each snapshot decodes the whole of the previous one rather than just the new records,
+ * which is paid on the snapshot thread once an interval and skipped when nothing has been recorded since.
+ */
+public class BookingSnapshotter implements Closeable {
+    private final FileBookingJournal journal;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+    private long coveredOffset;
+
+    private BookingSnapshotter(FileBookingJournal journal, Path file, long intervalSeconds) throws IOException {
+        this.journal = journal;
+        this.file = file;
+
+        coveredOffset = Files.exists(file) ? BookingSnapshot.readJournalOffset(file) : journal.getStartOffset();
+        if (coveredOffset > journal.getDurableOffset()) {
+            throw new IOException("The snapshot " + file + " is ahead of the booking journal");
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::snapshotInBackground, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Start writing snapshots of a journal.
+     * The journal must already have been replayed
+     *
+     * @param journal         journal to snapshot
+     * @param file            path of the snapshot
+     * @param intervalSeconds time between snapshots
+     * @return the running snapshotter
+     * @throws IOException if an existing snapshot can't be read
+     */
+    public static BookingSnapshotter start(FileBookingJournal journal, Path file, long intervalSeconds) throws IOException {
+        if (intervalSeconds <= 0) throw new IllegalArgumentException("The snapshot interval should be positive");
+        return new BookingSnapshotter(journal, file, intervalSeconds);
+    }
+
+    /**
+     * Bring the snapshot up to date with everything durable in the journal
+     *
+     * @throws IOException if the journal can't be read or the snapshot can't be written
+     */
+    public synchronized void snapshot() throws IOException {
+        long durableOffset = journal.getDurableOffset();
+        if (durableOffset == coveredOffset) return;
+
+        // a failure leaves the snapshot on disk as it was, so the next run starts over from it
+        var state = new JournalReplayer();
+        long fromOffset = Files.exists(file) ? BookingSnapshot.load(file, state) : journal.getStartOffset();
+        journal.read(fromOffset, durableOffset, state);
+        BookingSnapshot.write(file, durableOffset, state);
+        coveredOffset = durableOffset;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void snapshotInBackground() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            // the journal still has everything, so the next run tries again
+            System.err.println("Failed to write the booking snapshot: " + e.getMessage());
+        }
+    }
+}
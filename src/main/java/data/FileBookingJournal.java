@@ -0,0 +1,486 @@
+package data;
+
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.repository.BookingJournal;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only {@link BookingJournal} stored as compact binary records in a file
+ * <p>
+ * Records are buffered in memory and written out in groups by a background thread, which
+ * forces them to disk once every fsync interval. A crash can lose at most the records of the
+ * last interval. With an interval of 0, every record is written and forced before returning.
+ * <p>
+ * Each record is laid out as {@code [payload length][type][payload][crc32 of type and payload]}.
+ * Strings are stored as an unsigned short length and UTF-8 bytes, so longer strings can't be recorded.
+ * A torn or corrupt record at the end of the file is dropped when the journal is replayed, while a whole record
+ * of an unknown type fails the replay and leaves the file alone.
+ */
+public class FileBookingJournal implements BookingJournal, Closeable {
+    private static final int MAGIC = 0x484A534A; // "HJSJ"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 6;
+    private static final int RECORD_OVERHEAD = 9; // length, type and checksum
+    private static final int MAX_PAYLOAD_SIZE = 1 << 20;
+    private static final int MAX_STRING_SIZE = 0xFFFF;
+
+    private static final byte COACH_ADDED = 1;
+    private static final byte LESSON_ADDED = 2;
+    private static final byte LEARNER_REGISTERED = 3;
+    private static final byte LESSON_BOOKED = 4;
+    private static final byte BOOKING_CANCELLED = 5;
+    private static final byte LESSON_ATTENDED = 6;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long fsyncIntervalMillis;
+    private final ScheduledExecutorService flusher;
+
+    // appends go to the pending buffer, a flush swaps it with the flushing buffer and writes that out
+    private final Object appendLock = new Object();
+    private final Object flushLock = new Object();
+    private RecordBuffer pending = new RecordBuffer();
+    private RecordBuffer flushing = new RecordBuffer();
+    private final RecordBuffer scratch = new RecordBuffer();
+    private final DataOutputStream scratchOut = new DataOutputStream(scratch);
+    private final CRC32 crc = new CRC32();
+    private boolean hasAppended = false;
+    private volatile long durableOffset;
+    private volatile IOException writeFailure = null;
+    private volatile boolean closed = false;
+
+    private FileBookingJournal(Path file, FileChannel channel, long fsyncIntervalMillis) {
+        this.file = file;
+        this.channel = channel;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+
+        if (fsyncIntervalMillis > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "booking-journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushInBackground, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * Open a journal file, creating it if it doesn't exist
+     *
+     * @param file                path of the journal file
+     * @param fsyncIntervalMillis how often buffered records are written and forced to disk, 0 to force every record
+     * @return the opened journal
+     * @throws IOException if the file can't be opened or isn't a booking journal
+     */
+    public static FileBookingJournal open(Path file, long fsyncIntervalMillis) throws IOException {
+        if (fsyncIntervalMillis < 0) throw new IllegalArgumentException("The fsync interval can't be negative");
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(VERSION).flip();
+                while (header.hasRemaining()) channel.write(header, header.position());
+                channel.force(true);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                while (header.hasRemaining()) {
+                    if (channel.read(header, header.position()) < 0) break;
+                }
+                header.flip();
+                if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getShort() != VERSION) {
+                    throw new IOException(file + " is not a booking journal");
+                }
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        var journal = new FileBookingJournal(file, channel, fsyncIntervalMillis);
+        journal.durableOffset = channel.size();
+        return journal;
+    }
+
+    /**
+     * Check if the journal has any records
+     *
+     * @return true if there is at least one record, false otherwise
+     */
+    public boolean hasRecords() throws IOException {
+        synchronized (appendLock) {
+            return hasAppended || channel.size() > HEADER_SIZE;
+        }
+    }
+
+    @Override
+    public void recordCoachAdded(Coach coach) {
+        append(COACH_ADDED, out -> writeString(out, coach.getName()));
+    }
+
+    @Override
+    public void recordLessonAdded(Lesson lesson) {
+        append(LESSON_ADDED, out -> {
+            out.writeInt(lesson.getId());
+            out.writeByte(lesson.getGrade());
+            out.writeInt((int) lesson.getLessonDate().toEpochDay());
+            writeString(out, lesson.getName());
+            writeString(out, lesson.getCoach().getName());
+            writeString(out, lesson.getLessonTime());
+        });
+    }
+
+    @Override
+    public void recordLearnerRegistered(Learner learner) {
+        append(LEARNER_REGISTERED, out -> {
+            out.writeInt(learner.getId());
+            out.writeByte(learner.getAge());
+            out.writeByte(learner.getGrade());
+            writeString(out, learner.getName());
+            writeString(out, learner.getGender());
+            writeString(out, learner.getPhoneNumber());
+            writeString(out, learner.getEmergencyContactNumber());
+        });
+    }
+
+    @Override
+    public void recordLessonBooked(Learner learner, Lesson lesson) {
+        append(LESSON_BOOKED, out -> {
+            out.writeInt(learner.getId());
+            out.writeInt(lesson.getId());
+        });
+    }
+
+    @Override
+    public void recordBookingCancelled(Learner learner, Lesson lesson) {
+        append(BOOKING_CANCELLED, out -> {
+            out.writeInt(learner.getId());
+            out.writeInt(lesson.getId());
+        });
+    }
+
+    @Override
+    public void recordLessonAttended(Learner learner, Lesson lesson, Review review) {
+        append(LESSON_ATTENDED, out -> {
+            out.writeInt(learner.getId());
+            out.writeInt(lesson.getId());
+            out.writeByte(review.getRating());
+            writeString(out, review.getMessage());
+        });
+    }
+
+    /**
+     * Replay every record in the journal in the order they were recorded.
+     * Must be called before any new record is appended
+     *
+     * @param handler handler for the replayed records
+     * @throws IOException if the journal can't be read or has a record it doesn't understand, in which case it's left as it is
+     */
+    public void replay(ReplayHandler handler) throws IOException {
+        replay(getStartOffset(), handler);
+    }
+
+    /**
+     * Replay the records from an offset to the end of the journal, in the order they were recorded.
+     * Must be called before any new record is appended
+     *
+     * @param fromOffset offset of the first record to replay, as returned by {@link #getDurableOffset()}
+     * @param handler    handler for the replayed records
+     * @throws IOException if the journal can't be read or has a record it doesn't understand, in which case it's left as it is
+     */
+    public void replay(long fromOffset, ReplayHandler handler) throws IOException {
+        synchronized (appendLock) {
+            if (hasAppended) throw new IllegalStateException("The journal must be replayed before records are appended");
+            if (fromOffset < HEADER_SIZE || fromOffset > channel.size()) {
+                throw new IOException("Offset " + fromOffset + " is outside the journal " + file);
+            }
+
+            long validEnd = scan(fromOffset, Long.MAX_VALUE, handler);
+
+            // drop a torn last record so new records follow on from the last whole one
+            if (validEnd < channel.size()) {
+                channel.truncate(validEnd);
+                channel.force(true);
+            }
+            channel.position(validEnd);
+            durableOffset = validEnd;
+        }
+    }
+
+    /**
+     * Read the records between two offsets without changing the journal.
+     * This can be called while records are being appended, as long as the range has already been written to disk
+     *
+     * @param fromOffset offset of the first record to read
+     * @param toOffset   offset to stop reading at, no later than {@link #getDurableOffset()}
+     * @param handler    handler for the records
+     * @throws IOException if the journal can't be read
+     */
+    public void read(long fromOffset, long toOffset, ReplayHandler handler) throws IOException {
+        if (fromOffset < HEADER_SIZE || toOffset > durableOffset || fromOffset > toOffset) {
+            throw new IOException("Range " + fromOffset + "-" + toOffset + " hasn't been written to " + file);
+        }
+        scan(fromOffset, toOffset, handler);
+    }
+
+    /**
+     * Get the offset of the first record in the journal
+     *
+     * @return the start offset
+     */
+    public long getStartOffset() {
+        return HEADER_SIZE;
+    }
+
+    /**
+     * Get the offset just after the last record forced to disk.
+     * Everything before it survives a crash
+     *
+     * @return the durable offset
+     */
+    public long getDurableOffset() {
+        return durableOffset;
+    }
+
+    /**
+     * Pass the valid records between two offsets to a handler
+     *
+     * @return the offset just after the last valid record read
+     */
+    private long scan(long fromOffset, long toOffset, ReplayHandler handler) throws IOException {
+        long validEnd = fromOffset;
+        byte[] payload = new byte[256];
+        CRC32 checksum = new CRC32();
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            in.skipNBytes(fromOffset);
+
+            while (validEnd < toOffset) {
+                int length;
+                byte type;
+                int storedCrc;
+                try {
+                    length = in.readInt();
+                    if (length < 0 || length > MAX_PAYLOAD_SIZE) break;
+                    type = in.readByte();
+                    if (payload.length < length) payload = new byte[Math.max(length, payload.length * 2)];
+                    in.readFully(payload, 0, length);
+                    storedCrc = in.readInt();
+                } catch (EOFException e) {
+                    break; // the last record was only partly written
+                }
+
+                checksum.reset();
+                checksum.update(type);
+                checksum.update(payload, 0, length);
+                if ((int) checksum.getValue() != storedCrc) break;
+
+                dispatch(type, ByteBuffer.wrap(payload, 0, length), handler, validEnd);
+                validEnd += RECORD_OVERHEAD + length;
+            }
+        }
+        return validEnd;
+    }
+
+    /**
+     * Write out and force every buffered record to disk now
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            RecordBuffer toWrite;
+            synchronized (appendLock) {
+                if (pending.size() == 0) return;
+                toWrite = pending;
+                pending = flushing;
+                flushing = toWrite;
+            }
+
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(toWrite.array(), 0, toWrite.size());
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(false);
+                durableOffset = channel.position();
+            } catch (IOException e) {
+                writeFailure = e;
+                throw new UncheckedIOException("Failed to write the booking journal", e);
+            } finally {
+                toWrite.reset();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushInBackground() {
+        try {
+            flush();
+        } catch (UncheckedIOException e) {
+            // the failure is kept and reported to the next caller that appends a record
+        }
+    }
+
+    @Override
+    public void checkWritable() {
+        if (closed) throw new IllegalStateException("The booking journal is closed");
+        if (writeFailure != null) throw new IllegalStateException("The booking journal can no longer be written", writeFailure);
+    }
+
+    private void append(byte type, RecordWriter writer) {
+        checkWritable();
+
+        synchronized (appendLock) {
+            scratch.reset();
+            try {
+                writer.write(scratchOut);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // writing to memory doesn't fail
+            }
+
+            crc.reset();
+            crc.update(type);
+            crc.update(scratch.array(), 0, scratch.size());
+
+            pending.writeInt(scratch.size());
+            pending.write(type);
+            pending.write(scratch.array(), 0, scratch.size());
+            pending.writeInt((int) crc.getValue());
+            hasAppended = true;
+        }
+
+        if (fsyncIntervalMillis == 0) flush();
+    }
+
+    /**
+     * Decode a record and pass it to the handler
+     *
+     * @throws IOException if the record is of a type this version doesn't know, as it was written whole
+     *                     and dropping it would lose a change
+     */
+    private void dispatch(byte type, ByteBuffer in, ReplayHandler handler, long offset) throws IOException {
+        switch (type) {
+            case COACH_ADDED -> handler.onCoachAdded(readString(in));
+            case LESSON_ADDED -> {
+                int id = in.getInt();
+                int grade = in.get();
+                LocalDate date = LocalDate.ofEpochDay(in.getInt());
+                String name = readString(in);
+                String coachName = readString(in);
+                String time = readString(in);
+                handler.onLessonAdded(id, name, grade, coachName, date, time);
+            }
+            case LEARNER_REGISTERED -> {
+                int id = in.getInt();
+                int age = in.get();
+                int grade = in.get();
+                String name = readString(in);
+                String gender = readString(in);
+                String phoneNumber = readString(in);
+                String emergencyContactNumber = readString(in);
+                handler.onLearnerRegistered(new Learner(name, gender, age, grade, phoneNumber, emergencyContactNumber).setId(id));
+            }
+            case LESSON_BOOKED -> handler.onLessonBooked(in.getInt(), in.getInt());
+            case BOOKING_CANCELLED -> handler.onBookingCancelled(in.getInt(), in.getInt());
+            case LESSON_ATTENDED -> {
+                int learnerId = in.getInt();
+                int lessonId = in.getInt();
+                int rating = in.get();
+                handler.onLessonAttended(learnerId, lessonId, new Review(readString(in), rating));
+            }
+            default -> throw new IOException("Unknown record type " + type + " at offset " + offset + " of " + file);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // the length is stored in an unsigned short, so anything longer would be cut short and misread on replay
+        if (bytes.length > MAX_STRING_SIZE) {
+            throw new IllegalArgumentException("Strings can't be longer than " + MAX_STRING_SIZE + " bytes in the journal");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    /**
+     * Receives the records of a journal as it is replayed
+     */
+    public interface ReplayHandler {
+        void onCoachAdded(String name);
+
+        void onLessonAdded(int id, String name, int grade, String coachName, LocalDate date, String time);
+
+        void onLearnerRegistered(Learner learner);
+
+        void onLessonBooked(int learnerId, int lessonId);
+
+        void onBookingCancelled(int learnerId, int lessonId);
+
+        void onLessonAttended(int learnerId, int lessonId, Review review);
+    }
+
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Byte buffer that exposes its backing array, so records can be written out without copying
+     */
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        RecordBuffer() {
+            super(1 << 12);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+    }
+}
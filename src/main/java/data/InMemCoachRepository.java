@@ -3,22 +3,20 @@ package data;
 import domain.entity.coach.Coach;
 import domain.repository.CoachRepository;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class InMemCoachRepository implements CoachRepository {
 
-    private final List<Coach> coaches = new ArrayList<>();
+    // coaches are rarely added, so copy-on-write lets them be read without locking
+    private final List<Coach> coaches = new CopyOnWriteArrayList<>();
 
     private InMemCoachRepository() {
     }
 
-    private static InMemCoachRepository INSTANCE = null;
+    private static final InMemCoachRepository INSTANCE = new InMemCoachRepository();
 
     public static InMemCoachRepository getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new InMemCoachRepository();
-        }
         return INSTANCE;
     }
 
@@ -2,20 +2,23 @@ package data;
 
 import domain.entity.learner.Learner;
 import domain.repository.LearnerRepository;
+import domain.util.IdGenerator;
+import domain.util.IntHashMap;
 import domain.util.Result;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class InMemLearnersRepository implements LearnerRepository {
     private final List<Learner> learners = new ArrayList<>();
+    private final IntHashMap<Learner> learnersById = new IntHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
-    private static InMemLearnersRepository INSTANCE = null;
+    private static final InMemLearnersRepository INSTANCE = new InMemLearnersRepository();
 
     public static InMemLearnersRepository getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new InMemLearnersRepository();
-        }
         return INSTANCE;
     }
 
@@ -25,25 +28,83 @@ public class InMemLearnersRepository implements LearnerRepository {
 
     @Override
     public boolean addNewLearner(Learner learner) {
-        return learners.add(learner);
+        lock.writeLock().lock();
+        try {
+            // an id can only belong to one learner
+            if (learner.hasId() && learnersById.containsKey(learner.getId())) return false;
+
+            indexLearner(learner);
+            return learners.add(learner);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
+    /**
+     * Get all the learners
+     *
+     * @return a snapshot of the learners, learners added after this call won't show up in it
+     */
     @Override
     public List<Learner> getAllLearners() {
-        return learners;
+        lock.readLock().lock();
+        try {
+            return List.copyOf(learners);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public Result<Learner, LearnerRepository.Error> getLearnerById(int id) {
-        for (Learner learner : learners) {
-            if (learner.getId() == id) return Result.success(learner);
+        Learner learner;
+        lock.readLock().lock();
+        try {
+            learner = learnersById.get(id);
+        } finally {
+            lock.readLock().unlock();
         }
+        if (learner != null) return Result.success(learner);
 
         return Result.error(Error.LEARNER_NOT_FOUND);
     }
 
+    @Override
+    public List<Result<Learner, Error>> getLearnersByIds(int[] ids) {
+        var result = new ArrayList<Result<Learner, Error>>(ids.length);
+        lock.readLock().lock();
+        try {
+            for (int id : ids) {
+                Learner learner = learnersById.get(id);
+                result.add(learner != null ? Result.success(learner) : Result.error(Error.LEARNER_NOT_FOUND));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
     public void addLearners(List<Learner> learners) {
-        this.learners.addAll(learners);
+        lock.writeLock().lock();
+        try {
+            learners.forEach(this::indexLearner);
+            this.learners.addAll(learners);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add the learner to the id index.
+     * The first learner added with an id keeps it, matching the order of {@link #getAllLearners()}
+     *
+     * @param learner learner
+     */
+    private void indexLearner(Learner learner) {
+        if (learner.hasId()) {
+            learnersById.putIfAbsent(learner.getId(), learner);
+            IdGenerator.markUsed(learner.getId());
+        }
     }
 
     public void generateSampleLearners() {
@@ -1,20 +1,33 @@
 package data;
 
+import domain.entity.coach.Coach;
 import domain.entity.lesson.Lesson;
 import domain.repository.LessonRepository;
+import domain.util.IdGenerator;
+import domain.util.IntHashMap;
+import domain.util.Result;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class InMemLessonRepository implements LessonRepository {
     private final List<Lesson> lessons = new ArrayList<>();
 
-    private static InMemLessonRepository INSTANCE = null;
+    // secondary indexes, kept in sync as lessons are added and regraded
+    private final IntHashMap<Lesson> lessonsById = new IntHashMap<>();
+    private final IntHashMap<List<Lesson>> lessonsByGrade = new IntHashMap<>();
+    // keyed by the coach itself, so a coach can be renamed without their lessons going missing
+    private final Map<Coach, List<Lesson>> lessonsByCoach = new IdentityHashMap<>();
+    private final Map<DayOfWeek, List<Lesson>> lessonsByDay = new EnumMap<>(DayOfWeek.class);
+    private final NavigableMap<LocalDate, List<Lesson>> lessonsByDate = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private static final InMemLessonRepository INSTANCE = new InMemLessonRepository();
 
     public static InMemLessonRepository getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new InMemLessonRepository();
-        }
         return INSTANCE;
     }
 
@@ -22,17 +35,223 @@ public class InMemLessonRepository implements LessonRepository {
 
     }
 
+    /**
+     * Get all the lessons
+     *
+     * @return a snapshot of the lessons, lessons added after this call won't show up in it
+     */
     @Override
     public List<Lesson> getAllLessons() {
-        return lessons;
+        lock.readLock().lock();
+        try {
+            return List.copyOf(lessons);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public void addNewLesson(Lesson lesson) {
-        lessons.add(lesson);
+        lock.writeLock().lock();
+        try {
+            lessons.add(lesson);
+            indexLesson(lesson);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Lesson> getLessonsByGrade(int grade) {
+        lock.readLock().lock();
+        try {
+            return snapshot(lessonsByGrade.get(grade));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Lesson> getLessonsByCoach(String coachName) {
+        lock.readLock().lock();
+        try {
+            List<List<Lesson>> matches = lessonsOfCoachesNamed(coachName);
+            if (matches.size() <= 1) return snapshot(matches.isEmpty() ? null : matches.get(0));
+
+            // coaches sharing a name are rare, keep their lessons in the order they were added
+            var result = new ArrayList<Lesson>();
+            for (Lesson lesson : lessons) {
+                if (lesson.getCoach().getName().equalsIgnoreCase(coachName)) result.add(lesson);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Lesson> getLessonsByDay(DayOfWeek dayOfWeek) {
+        lock.readLock().lock();
+        try {
+            return snapshot(lessonsByDay.get(dayOfWeek));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Lesson> getLessonsBetween(LocalDate fromDate, LocalDate toDate) {
+        lock.readLock().lock();
+        try {
+            var result = new ArrayList<Lesson>();
+            dateRange(fromDate, toDate).values().forEach(result::addAll);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countLessonsByGrade(int grade) {
+        lock.readLock().lock();
+        try {
+            return sizeOf(lessonsByGrade.get(grade));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countLessonsByCoach(String coachName) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (List<Lesson> sameCoach : lessonsOfCoachesNamed(coachName)) {
+                count += sameCoach.size();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countLessonsByDay(DayOfWeek dayOfWeek) {
+        lock.readLock().lock();
+        try {
+            return sizeOf(lessonsByDay.get(dayOfWeek));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countLessonsBetween(LocalDate fromDate, LocalDate toDate) {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (List<Lesson> sameDate : dateRange(fromDate, toDate).values()) {
+                count += sameDate.size();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Result<Lesson, Error> getLessonById(int id) {
+        Lesson lesson;
+        lock.readLock().lock();
+        try {
+            lesson = lessonsById.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (lesson != null) return Result.success(lesson);
+
+        return Result.error(Error.LESSON_NOT_FOUND);
     }
 
     public void addLessons(List<Lesson> lessons) {
-        this.lessons.addAll(lessons);
+        lock.writeLock().lock();
+        try {
+            this.lessons.addAll(lessons);
+            lessons.forEach(this::indexLesson);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add the lesson to the id, grade, coach, day and date indexes.
+     * The first lesson added with an id keeps it. The grade index follows the lesson when it's regraded
+     *
+     * @param lesson lesson
+     */
+    private void indexLesson(Lesson lesson) {
+        List<Lesson> sameGrade = lessonsByGrade.get(lesson.getGrade());
+        if (sameGrade == null) {
+            sameGrade = new ArrayList<>();
+            lessonsByGrade.put(lesson.getGrade(), sameGrade);
+        }
+        sameGrade.add(lesson);
+
+        lesson.addGradeListener(this::regrade);
+
+        lessonsByCoach.computeIfAbsent(lesson.getCoach(), k -> new ArrayList<>()).add(lesson);
+        lessonsByDay.computeIfAbsent(lesson.getLessonDate().getDayOfWeek(), k -> new ArrayList<>()).add(lesson);
+        lessonsByDate.computeIfAbsent(lesson.getLessonDate(), k -> new ArrayList<>()).add(lesson);
+
+        if (lesson.hasId()) {
+            lessonsById.putIfAbsent(lesson.getId(), lesson);
+            IdGenerator.markUsed(lesson.getId());
+        }
+    }
+
+    /**
+     * Rebuild the grade index of the grade a lesson left and the one it joined, keeping the lessons in the order they were added
+     */
+    private void regrade(Lesson lesson, int previousGrade) {
+        lock.writeLock().lock();
+        try {
+            rebuildGradeIndex(previousGrade);
+            rebuildGradeIndex(lesson.getGrade());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildGradeIndex(int grade) {
+        var sameGrade = new ArrayList<Lesson>();
+        for (Lesson lesson : lessons) {
+            if (lesson.getGrade() == grade) sameGrade.add(lesson);
+        }
+        lessonsByGrade.put(grade, sameGrade);
+    }
+
+    /**
+     * Get the indexed lessons of every coach with a name, compared ignoring case as the lesson filters do.
+     * There are only a handful of coaches, so they're scanned rather than indexed by a name that can change
+     */
+    private List<List<Lesson>> lessonsOfCoachesNamed(String coachName) {
+        var matches = new ArrayList<List<Lesson>>(1);
+        lessonsByCoach.forEach((coach, sameCoach) -> {
+            if (coach.getName().equalsIgnoreCase(coachName)) matches.add(sameCoach);
+        });
+        return matches;
+    }
+
+    private NavigableMap<LocalDate, List<Lesson>> dateRange(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) return Collections.emptyNavigableMap();
+        return lessonsByDate.subMap(fromDate, true, toDate, true);
+    }
+
+    private static int sizeOf(List<Lesson> lessons) {
+        return lessons == null ? 0 : lessons.size();
+    }
+
+    private static List<Lesson> snapshot(List<Lesson> lessons) {
+        return lessons == null ? List.of() : List.copyOf(lessons);
     }
 }
@@ -0,0 +1,136 @@
+package data;
+
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.entity.lesson.LessonStatus;
+import domain.entity.lesson.RegisteredLesson;
+import domain.util.IntHashMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds the in-memory repositories from the records of a {@link FileBookingJournal}
+ * <p>
+ * The journal only holds changes that were accepted when they were made,
+ * so they are applied directly to the entities without being validated again.
+ */
+public class JournalReplayer implements FileBookingJournal.ReplayHandler {
+    private final Map<String, Coach> coaches = new LinkedHashMap<>();
+    private final List<Lesson> lessons = new ArrayList<>();
+    private final List<Learner> learners = new ArrayList<>();
+    private final IntHashMap<Lesson> lessonsById = new IntHashMap<>();
+    private final IntHashMap<Learner> learnersById = new IntHashMap<>();
+    private int skippedRecords = 0;
+
+    @Override
+    public void onCoachAdded(String name) {
+        coaches.computeIfAbsent(name, Coach::new);
+    }
+
+    @Override
+    public void onLessonAdded(int id, String name, int grade, String coachName, LocalDate date, String time) {
+        Coach coach = coaches.computeIfAbsent(coachName, Coach::new);
+        Lesson lesson = new Lesson(name, grade, coach, date, time).setId(id);
+        lessons.add(lesson);
+        lessonsById.put(id, lesson);
+    }
+
+    @Override
+    public void onLearnerRegistered(Learner learner) {
+        learners.add(learner);
+        learnersById.put(learner.getId(), learner);
+    }
+
+    @Override
+    public void onLessonBooked(int learnerId, int lessonId) {
+        Learner learner = learnersById.get(learnerId);
+        Lesson lesson = lessonsById.get(lessonId);
+        if (learner == null || lesson == null) {
+            skippedRecords++;
+            return;
+        }
+
+        if (learner.getLessonStatus(lesson) == LessonStatus.CANCELLED) {
+            learner.updateRegisteredLessonStatus(lesson, LessonStatus.BOOKED);
+        } else {
+            lesson.addLearner(learner);
+            learner.registerNewLesson(new RegisteredLesson(lesson, LessonStatus.BOOKED));
+        }
+    }
+
+    @Override
+    public void onBookingCancelled(int learnerId, int lessonId) {
+        Learner learner = learnersById.get(learnerId);
+        Lesson lesson = lessonsById.get(lessonId);
+        if (learner == null || lesson == null) {
+            skippedRecords++;
+            return;
+        }
+
+        learner.updateRegisteredLessonStatus(lesson, LessonStatus.CANCELLED);
+    }
+
+    @Override
+    public void onLessonAttended(int learnerId, int lessonId, Review review) {
+        Learner learner = learnersById.get(learnerId);
+        Lesson lesson = lessonsById.get(lessonId);
+        if (learner == null || lesson == null) {
+            skippedRecords++;
+            return;
+        }
+
+        if (lesson.getGrade() > learner.getGrade()) {
+            learner.setGrade(lesson.getGrade());
+        }
+        learner.updateRegisteredLessonStatus(lesson, LessonStatus.ATTENDED);
+        lesson.addReview(review);
+    }
+
+    List<Coach> getCoaches() {
+        return new ArrayList<>(coaches.values());
+    }
+
+    List<Lesson> getLessons() {
+        return lessons;
+    }
+
+    List<Learner> getLearners() {
+        return learners;
+    }
+
+    Lesson getLesson(int id) {
+        return lessonsById.get(id);
+    }
+
+    Learner getLearner(int id) {
+        return learnersById.get(id);
+    }
+
+    /**
+     * Add everything that was replayed to the repositories
+     *
+     * @param coachRepository   coach repository
+     * @param lessonRepository  lesson repository
+     * @param learnerRepository learner repository
+     */
+    public void populate(InMemCoachRepository coachRepository, InMemLessonRepository lessonRepository, InMemLearnersRepository learnerRepository) {
+        coachRepository.addCoaches(getCoaches());
+        lessonRepository.addLessons(lessons);
+        learnerRepository.addLearners(learners);
+    }
+
+    /**
+     * Get the number of records that referred to a learner or lesson that doesn't exist
+     *
+     * @return number of skipped records
+     */
+    public int getSkippedRecords() {
+        return skippedRecords;
+    }
+}
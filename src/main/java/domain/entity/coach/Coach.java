@@ -1,6 +1,8 @@
 package domain.entity.coach;
 
+import domain.entity.Rating;
 import domain.entity.lesson.Lesson;
+import domain.util.LessonUtil;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -9,13 +11,21 @@ import java.util.Objects;
 public class Coach {
     private String name;
     private final List<Lesson> assignedLessons;
+    // running totals of the average ratings of the rated lessons, in tenths so they add up exactly
+    private long lessonRatingTenthsSum = 0;
+    private int ratedLessonCount = 0;
 
     public Coach(String name, List<Lesson> assignedLessons) {
         this.name = name;
-        this.assignedLessons = new ArrayList<>();
-        if (!assignedLessons.isEmpty()){
-            // this allows items to be added via List.Of()/Arrays.asList()
-            this.assignedLessons.addAll(assignedLessons);
+        // copied so items can be added via List.Of()/Arrays.asList(), with the rating totals filled in here
+        // rather than through assignLesson, which a subclass could override
+        this.assignedLessons = new ArrayList<>(assignedLessons);
+        for (Lesson lesson : assignedLessons) {
+            Rating rating = lesson.getAverageRating();
+            if (rating.hasRating()) {
+                lessonRatingTenthsSum += toTenths(rating);
+                ratedLessonCount++;
+            }
         }
     }
 
@@ -37,6 +47,38 @@ public class Coach {
 
     public void assignLesson(Lesson lesson) {
         assignedLessons.add(lesson);
+        updateLessonRating(Rating.NONE, lesson.getAverageRating());
+    }
+
+    /**
+     * Update the running totals when the average rating of one of the assigned lessons changes
+     *
+     * @param previousRating the previous average rating of the lesson
+     * @param newRating      the new average rating of the lesson
+     */
+    public synchronized void updateLessonRating(Rating previousRating, Rating newRating) {
+        if (previousRating.hasRating()) {
+            lessonRatingTenthsSum -= toTenths(previousRating);
+            ratedLessonCount--;
+        }
+        if (newRating.hasRating()) {
+            lessonRatingTenthsSum += toTenths(newRating);
+            ratedLessonCount++;
+        }
+    }
+
+    /**
+     * Get the average of the average ratings of the rated lessons, rounded half up to one decimal place
+     *
+     * @return the average rating if at least one lesson is rated, {@link Rating#NONE} otherwise
+     */
+    public synchronized Rating getAverageRating() {
+        if (ratedLessonCount == 0) return Rating.NONE;
+        return new Rating(LessonUtil.roundRating(lessonRatingTenthsSum, 10L * ratedLessonCount));
+    }
+
+    private static long toTenths(Rating rating) {
+        return Math.round(rating.getRatingValue() * 10);
     }
 
     @Override
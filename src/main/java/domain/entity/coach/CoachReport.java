@@ -13,4 +13,11 @@ public record CoachReport(
         Rating averageLessonRating,
         List<Map<Rating, Lesson>> averageRatingPerLesson
 ) {
+    /**
+     * Copies the lists, so a cached report doesn't follow or expose the coach's lessons
+     */
+    public CoachReport {
+        lessonsTaught = List.copyOf(lessonsTaught);
+        averageRatingPerLesson = List.copyOf(averageRatingPerLesson);
+    }
 }
\ No newline at end of file
@@ -3,9 +3,12 @@ package domain.entity.learner;
 import domain.entity.lesson.Lesson;
 import domain.entity.lesson.LessonStatus;
 import domain.entity.lesson.RegisteredLesson;
+import domain.util.IntHashMap;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Learner {
     private String name;
@@ -14,7 +17,13 @@ public class Learner {
     private int grade;
     private String phoneNumber;
     private String emergencyContactNumber;
+    // copy-on-write so the registrations can be read while bookings for other lessons are being made
     private final List<RegisteredLesson> registeredLessons;
+    private final List<RegisteredLesson> registeredLessonsView;
+    // registrations keyed by lesson id, the first registration for a lesson wins like a scan of the list would
+    private final IntHashMap<RegisteredLesson> registeredLessonsById = new IntHashMap<>();
+    // number of registrations in each status, indexed by LessonStatus ordinal
+    private final int[] lessonCountByStatus = new int[LessonStatus.values().length];
     private int id = -1;
 
     public Learner(String name, String gender, int age, int grade, String phoneNumber, String emergencyContactNumber, List<RegisteredLesson> registeredLessons) {
@@ -24,10 +33,11 @@ public class Learner {
         this.grade = grade;
         this.phoneNumber = phoneNumber;
         this.emergencyContactNumber = emergencyContactNumber;
-        this.registeredLessons = new ArrayList<>();
+        this.registeredLessons = new CopyOnWriteArrayList<>();
+        this.registeredLessonsView = Collections.unmodifiableList(this.registeredLessons);
         if (!registeredLessons.isEmpty()){
             // this allows items to be added via List.Of()/Arrays.asList()
-            this.registeredLessons.addAll(registeredLessons);
+            registeredLessons.forEach(this::registerNewLesson);
         }
     }
 
@@ -64,8 +74,13 @@ public class Learner {
         return emergencyContactNumber;
     }
 
+    /**
+     * Get the registered lessons in the order they were registered
+     *
+     * @return a read-only view of the registered lessons
+     */
     public List<RegisteredLesson> getRegisteredLessons() {
-        return registeredLessons;
+        return registeredLessonsView;
     }
 
     public int getId() {
@@ -75,6 +90,15 @@ public class Learner {
         return id;
     }
 
+    /**
+     * Check if an id has been assigned to this learner
+     *
+     * @return true if the learner has an id, false otherwise
+     */
+    public boolean hasId() {
+        return id != -1;
+    }
+
     public void setName(String name) {
         this.name = name;
     }
@@ -105,12 +129,14 @@ public class Learner {
      * @param lesson    lesson
      * @param newStatus new status
      */
-    public void updateRegisteredLessonStatus(Lesson lesson, LessonStatus newStatus) {
-        for (RegisteredLesson lsn : registeredLessons) {
-            if (lsn.getLesson().equals(lesson)) {
-                lsn.setLessonStatus(newStatus);
-                break;
-            }
+    public synchronized void updateRegisteredLessonStatus(Lesson lesson, LessonStatus newStatus) {
+        RegisteredLesson lsn = registeredLessonsById.get(lessonKey(lesson));
+        if (lsn != null) {
+            LessonStatus oldStatus = lsn.getLessonStatus();
+            lsn.setLessonStatus(newStatus);
+            lessonCountByStatus[oldStatus.ordinal()]--;
+            lessonCountByStatus[newStatus.ordinal()]++;
+            updateSeat(lsn.getLesson(), oldStatus, newStatus);
         }
     }
 
@@ -118,8 +144,41 @@ public class Learner {
      * Register a new lesson
      * @param lesson registered lesson
      */
-    public void registerNewLesson(RegisteredLesson lesson){
+    public final synchronized void registerNewLesson(RegisteredLesson lesson){
         registeredLessons.add(lesson);
+        registeredLessonsById.putIfAbsent(lessonKey(lesson.getLesson()), lesson);
+        lessonCountByStatus[lesson.getLessonStatus().ordinal()]++;
+        if (lesson.getLessonStatus() != LessonStatus.CANCELLED) {
+            lesson.getLesson().occupySeat();
+        }
+    }
+
+    /**
+     * Get the number of registered lessons with a status, without going through the registrations
+     *
+     * @param status lesson status
+     * @return number of registered lessons with the status
+     */
+    public synchronized int getLessonCount(LessonStatus status) {
+        return lessonCountByStatus[status.ordinal()];
+    }
+
+    /**
+     * Keep the lesson's seat count in step with a status change.
+     * Only moving in or out of {@link LessonStatus#CANCELLED} frees or takes a seat
+     *
+     * @param lesson    lesson
+     * @param oldStatus status before the change
+     * @param newStatus status after the change
+     */
+    private void updateSeat(Lesson lesson, LessonStatus oldStatus, LessonStatus newStatus) {
+        boolean wasActive = oldStatus != LessonStatus.CANCELLED;
+        boolean isActive = newStatus != LessonStatus.CANCELLED;
+        if (wasActive && !isActive) {
+            lesson.releaseSeat();
+        } else if (!wasActive && isActive) {
+            lesson.occupySeat();
+        }
     }
 
     /**
@@ -128,14 +187,8 @@ public class Learner {
      * @param lesson lesson
      * @return true if registered, false otherwise
      */
-    public boolean hasLessonRegistered(Lesson lesson) {
-        for (RegisteredLesson lsn : registeredLessons) {
-            if (lsn.getLesson().equals(lesson)) {
-                return true;
-            }
-        }
-
-        return false;
+    public synchronized boolean hasLessonRegistered(Lesson lesson) {
+        return registeredLessonsById.containsKey(lessonKey(lesson));
     }
 
     /**
@@ -144,12 +197,19 @@ public class Learner {
      * @param lesson the lesson to check
      * @return the lesson status if the lesson has been registered, null otherwise
      */
-    public LessonStatus getLessonStatus(Lesson lesson) {
-        for (RegisteredLesson lsn : registeredLessons) {
-            if (lsn.getLesson().equals(lesson)) {
-                return lsn.getLessonStatus();
-            }
-        }
-        return null;
+    public synchronized LessonStatus getLessonStatus(Lesson lesson) {
+        RegisteredLesson lsn = registeredLessonsById.get(lessonKey(lesson));
+        return lsn == null ? null : lsn.getLessonStatus();
+    }
+
+    /**
+     * Get the key of a lesson in the registration index.
+     * Lessons are equal by id, so lessons without an id share one key just as they are equal to each other
+     *
+     * @param lesson lesson
+     * @return the lesson key
+     */
+    private static int lessonKey(Lesson lesson) {
+        return lesson.hasId() ? lesson.getId() : -1;
     }
 }
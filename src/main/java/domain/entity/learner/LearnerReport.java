@@ -14,5 +14,12 @@ public record LearnerReport(
         List<Lesson> attendedLessons,
         List<Lesson> cancelledLessons
 ) {
-
+    /**
+     * Copies the lists, so a cached report can be handed out without being changed by its readers
+     */
+    public LearnerReport {
+        bookedLessons = List.copyOf(bookedLessons);
+        attendedLessons = List.copyOf(attendedLessons);
+        cancelledLessons = List.copyOf(cancelledLessons);
+    }
 }
@@ -0,0 +1,11 @@
+package domain.entity.learner;
+
+public record LearnerSummary(
+        int learnerId,
+        String learnerName,
+        int currentGrade,
+        int bookedLessonCount,
+        int attendedLessonCount,
+        int cancelledLessonCount
+) {
+}
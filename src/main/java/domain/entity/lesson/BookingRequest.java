@@ -0,0 +1,12 @@
+package domain.entity.lesson;
+
+import domain.entity.learner.Learner;
+
+/**
+ * A request for a learner to book a lesson, as one of many booked together
+ *
+ * @param lesson  lesson to be booked
+ * @param learner learner to book the lesson for
+ */
+public record BookingRequest(Lesson lesson, Learner learner) {
+}
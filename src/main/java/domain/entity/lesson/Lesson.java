@@ -2,14 +2,23 @@ package domain.entity.lesson;
 
 import domain.entity.coach.Coach;
 import domain.entity.learner.Learner;
+import domain.entity.Rating;
 import domain.entity.Review;
+import domain.util.LessonUtil;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Lesson {
+    /**
+     * Maximum number of learners that can actively book a lesson
+     */
+    public static final int MAX_LEARNERS = 4;
+
     private final String name;
     private int grade;
     private final Coach coach;
@@ -17,6 +26,12 @@ public class Lesson {
     private final String lessonTime;
     private final List<Learner> registeredLearners;
     private final List<Review> reviews;
+    private final AtomicInteger activeLearnerCount = new AtomicInteger();
+    private final Waitlist waitlist = new Waitlist();
+    private final List<GradeListener> gradeListeners = new CopyOnWriteArrayList<>();
+    // running totals of the review ratings, so the average doesn't rescan the reviews
+    private int ratingSum = 0;
+    private volatile Rating averageRating = Rating.NONE;
     private int id = -1;
 
     /**
@@ -36,13 +51,12 @@ public class Lesson {
         this.coach = coach;
         this.lessonDate = lessonDate;
         this.lessonTime = lessonTime;
-        this.registeredLearners = new ArrayList<>();
-        this.reviews = reviews;
+        // copy-on-write so learners and reviews can be read while the lesson is being booked
+        this.registeredLearners = new CopyOnWriteArrayList<>(registeredLearners);
+        this.reviews = new CopyOnWriteArrayList<>(reviews);
+        reviews.forEach(review -> ratingSum += review.getRating());
+        averageRating = computeAverageRating();
         coach.assignLesson(this);
-
-        if (!registeredLearners.isEmpty()) {
-            this.registeredLearners.addAll(registeredLearners);
-        }
     }
 
     /**
@@ -83,8 +97,71 @@ public class Lesson {
      *
      * @param review the new review
      */
-    public void addReview(Review review) {
+    public synchronized void addReview(Review review) {
         this.reviews.add(review);
+        ratingSum += review.getRating();
+
+        Rating previousRating = averageRating;
+        averageRating = computeAverageRating();
+        coach.updateLessonRating(previousRating, averageRating);
+    }
+
+    /**
+     * Get the average rating of the reviews for this lesson, rounded half up to one decimal place
+     *
+     * @return the average rating if there is at least one review, {@link Rating#NONE} otherwise
+     */
+    public Rating getAverageRating() {
+        Rating rating = averageRating;
+        return rating.hasRating() ? new Rating(rating.getRatingValue()) : Rating.NONE;
+    }
+
+    private Rating computeAverageRating() {
+        if (reviews.isEmpty()) return Rating.NONE;
+        return new Rating(LessonUtil.roundRating(ratingSum, reviews.size()));
+    }
+
+    /**
+     * Take up a seat in this lesson.
+     * Called when a learner's registration for this lesson becomes active (booked or attended)
+     */
+    public void occupySeat() {
+        activeLearnerCount.incrementAndGet();
+    }
+
+    /**
+     * Free up a seat in this lesson.
+     * Called when a learner's registration for this lesson is cancelled
+     */
+    public void releaseSeat() {
+        activeLearnerCount.decrementAndGet();
+    }
+
+    /**
+     * Get the number of learners with an active (not cancelled) registration for this lesson
+     *
+     * @return the number of active learners
+     */
+    public int getActiveLearnerCount() {
+        return activeLearnerCount.get();
+    }
+
+    /**
+     * Check if all the seats in this lesson have been taken
+     *
+     * @return true if the lesson is fully booked, false otherwise
+     */
+    public boolean isFullyBooked() {
+        return activeLearnerCount.get() >= MAX_LEARNERS;
+    }
+
+    /**
+     * Get the learners waiting for a seat in this lesson
+     *
+     * @return the waitlist
+     */
+    public Waitlist getWaitlist() {
+        return waitlist;
     }
 
     /**
@@ -165,13 +242,33 @@ public class Lesson {
         return id;
     }
 
+    /**
+     * Check if an id has been assigned to this lesson
+     *
+     * @return true if the lesson has an id, false otherwise
+     */
+    public boolean hasId() {
+        return id != -1;
+    }
+
     /**
      * Set the grade for this lesson
      *
      * @param grade grade to be set
      */
     public void setGrade(int grade) {
+        int previousGrade = this.grade;
         this.grade = grade;
+        if (previousGrade != grade) gradeListeners.forEach(listener -> listener.gradeChanged(this, previousGrade));
+    }
+
+    /**
+     * Be told whenever the grade of this lesson changes, e.g. to keep an index by grade up to date
+     *
+     * @param listener listener
+     */
+    public void addGradeListener(GradeListener listener) {
+        gradeListeners.add(listener);
     }
 
     @Override
@@ -200,4 +297,11 @@ public class Lesson {
                 ", id=" + id +
                 '}';
     }
+
+    /**
+     * Told when the grade of a lesson changes
+     */
+    public interface GradeListener {
+        void gradeChanged(Lesson lesson, int previousGrade);
+    }
 }
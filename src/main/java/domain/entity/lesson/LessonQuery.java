@@ -0,0 +1,66 @@
+package domain.entity.lesson;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Criteria a lesson must all meet to be returned by a search. A null criterion matches every lesson
+ *
+ * @param grade          grade of the lesson
+ * @param coachName      name of the coach, matched ignoring case
+ * @param dayOfWeek      day of the week the lesson is held on
+ * @param fromDate       first date of the range the lesson is held in
+ * @param toDate         last date of the range the lesson is held in
+ * @param lessonTime     time slot of the lesson, e.g. 4-5pm, matched ignoring case
+ * @param freeSeatsOnly  whether only lessons that aren't fully booked match
+ */
+public record LessonQuery(
+        Integer grade,
+        String coachName,
+        DayOfWeek dayOfWeek,
+        LocalDate fromDate,
+        LocalDate toDate,
+        String lessonTime,
+        boolean freeSeatsOnly
+) {
+    /**
+     * Query matching every lesson
+     */
+    public static final LessonQuery ANY = new LessonQuery(null, null, null, null, null, null, false);
+
+    public LessonQuery withGrade(int grade) {
+        return new LessonQuery(grade, coachName, dayOfWeek, fromDate, toDate, lessonTime, freeSeatsOnly);
+    }
+
+    public LessonQuery withCoach(String coachName) {
+        return new LessonQuery(grade, coachName, dayOfWeek, fromDate, toDate, lessonTime, freeSeatsOnly);
+    }
+
+    public LessonQuery withDayOfWeek(DayOfWeek dayOfWeek) {
+        return new LessonQuery(grade, coachName, dayOfWeek, fromDate, toDate, lessonTime, freeSeatsOnly);
+    }
+
+    /**
+     * @param fromDate first date of the range, or null for no lower bound
+     * @param toDate   last date of the range, or null for no upper bound
+     * @return a copy of this query restricted to the date range
+     */
+    public LessonQuery withDateRange(LocalDate fromDate, LocalDate toDate) {
+        return new LessonQuery(grade, coachName, dayOfWeek, fromDate, toDate, lessonTime, freeSeatsOnly);
+    }
+
+    public LessonQuery withLessonTime(String lessonTime) {
+        return new LessonQuery(grade, coachName, dayOfWeek, fromDate, toDate, lessonTime, freeSeatsOnly);
+    }
+
+    public LessonQuery withFreeSeatsOnly() {
+        return new LessonQuery(grade, coachName, dayOfWeek, fromDate, toDate, lessonTime, true);
+    }
+
+    /**
+     * @return true if a date range is set
+     */
+    public boolean hasDateRange() {
+        return fromDate != null || toDate != null;
+    }
+}
@@ -2,7 +2,7 @@ package domain.entity.lesson;
 
 public class RegisteredLesson {
     private final Lesson lesson;
-    private LessonStatus lessonStatus;
+    private volatile LessonStatus lessonStatus;
 
 
     public RegisteredLesson(Lesson lesson, LessonStatus lessonStatus) {
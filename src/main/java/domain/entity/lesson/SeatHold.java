@@ -0,0 +1,11 @@
+package domain.entity.lesson;
+
+/**
+ * A seat in a lesson kept aside for a while, before the learner who takes it is known
+ *
+ * @param id              id of the hold
+ * @param lesson          lesson the seat is in
+ * @param expiresAtMillis time the seat is given back at, in milliseconds since the epoch
+ */
+public record SeatHold(long id, Lesson lesson, long expiresAtMillis) {
+}
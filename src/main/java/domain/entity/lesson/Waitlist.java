@@ -0,0 +1,105 @@
+package domain.entity.lesson;
+
+import domain.entity.learner.Learner;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Learners waiting for a seat in a fully booked lesson, first come first served
+ * <p>
+ * Each learner gets a ticket numbered in the order they joined. Learners mostly leave from the front,
+ * so a learner's position is their ticket minus the ticket at the front, without walking the list.
+ * The tickets of learners who left from further back are kept until the front moves past them,
+ * and only those are counted off.
+ */
+public class Waitlist {
+    private final ArrayDeque<Learner> learners = new ArrayDeque<>();
+    private final Map<Learner, Long> ticketByLearner = new IdentityHashMap<>();
+    // tickets at or behind the front whose learners have left the list
+    private final TreeSet<Long> leftTickets = new TreeSet<>();
+    private long frontTicket = 0;
+    private long nextTicket = 0;
+
+    /**
+     * Add a learner to the back of the list. A learner already on the list keeps their place
+     *
+     * @param learner learner
+     * @return the learner's position, 1 being the front
+     */
+    public synchronized int join(Learner learner) {
+        Long ticket = ticketByLearner.get(learner);
+        if (ticket == null) {
+            ticket = nextTicket++;
+            ticketByLearner.put(learner, ticket);
+            learners.addLast(learner);
+        }
+        return position(ticket);
+    }
+
+    /**
+     * Get a learner's position on the list
+     *
+     * @param learner learner
+     * @return the learner's position, 1 being the front, or 0 if they aren't on the list
+     */
+    public synchronized int positionOf(Learner learner) {
+        Long ticket = ticketByLearner.get(learner);
+        return ticket == null ? 0 : position(ticket);
+    }
+
+    /**
+     * Take the learner at the front off the list
+     *
+     * @return the learner, or null if nobody is waiting
+     */
+    public synchronized Learner poll() {
+        Learner learner = learners.pollFirst();
+        if (learner != null) moveFrontPast(ticketByLearner.remove(learner));
+        return learner;
+    }
+
+    /**
+     * Take a learner off the list, wherever they are on it
+     *
+     * @param learner learner
+     * @return true if the learner was on the list, false otherwise
+     */
+    public synchronized boolean leave(Learner learner) {
+        Long ticket = ticketByLearner.remove(learner);
+        if (ticket == null) return false;
+
+        learners.removeFirstOccurrence(learner);
+        if (ticket == frontTicket) {
+            moveFrontPast(ticket);
+        } else {
+            leftTickets.add(ticket);
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of learners waiting
+     */
+    public synchronized int size() {
+        return learners.size();
+    }
+
+    private int position(long ticket) {
+        int leftAhead = leftTickets.isEmpty() ? 0 : leftTickets.headSet(ticket).size();
+        return (int) (ticket - frontTicket - leftAhead) + 1;
+    }
+
+    /**
+     * Move the front past a ticket that was taken off the list, and past the left tickets right behind it
+     */
+    private void moveFrontPast(long ticket) {
+        frontTicket = ticket + 1;
+        while (!leftTickets.isEmpty() && leftTickets.first() == frontTicket) {
+            leftTickets.pollFirst();
+            frontTicket++;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package domain.event;
+
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+
+/**
+ * A learner cancelled their booking of a lesson
+ *
+ * @param learner the learner
+ * @param lesson  the lesson
+ */
+public record BookingCancelled(Learner learner, Lesson lesson) implements BookingEvent {
+}
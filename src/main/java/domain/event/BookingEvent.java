@@ -0,0 +1,7 @@
+package domain.event;
+
+/**
+ * Something that happened to the learners, lessons or bookings, published on an {@link EventBus} once it has been applied
+ */
+public sealed interface BookingEvent permits LearnerRegistered, LessonBooked, BookingCancelled, LessonAttended, ReviewAdded {
+}
@@ -0,0 +1,154 @@
+package domain.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus the use cases publish {@link BookingEvent}s on
+ * <p>
+ * The use cases publish while the lesson is still locked, so the events of a lesson arrive in the order they happened.
+ * Synchronous subscribers are called right there on the publishing thread, so they must be quick and must not book,
+ * cancel or attend lessons themselves. Anything slower should subscribe in batches: its events are queued and handed
+ * over in batches on an executor, in the order they were published, without holding up the booking.
+ * <p>
+ * A subscriber that throws doesn't stop the others, nor undo the change the event is about.
+ */
+public class EventBus {
+    private final List<Subscriber<?>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Publish an event to every subscriber of its type
+     *
+     * @param event event
+     */
+    public void publish(BookingEvent event) {
+        for (Subscriber<?> subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * Subscribe to events, called on the publishing thread
+     *
+     * @param type       type of the events, {@link BookingEvent} for all of them
+     * @param subscriber called with each event
+     * @return the subscription
+     */
+    public <E extends BookingEvent> Subscription subscribe(Class<E> type, Consumer<? super E> subscriber) {
+        return add(new Subscriber<>(type) {
+            @Override
+            void deliver(E event) {
+                subscriber.accept(event);
+            }
+        });
+    }
+
+    /**
+     * Subscribe to events, handed over in batches on an executor.
+     * Only one batch is handed over at a time, so batches arrive in order and the subscriber doesn't need to be thread safe
+     *
+     * @param type         type of the events, {@link BookingEvent} for all of them
+     * @param maxBatchSize most events handed over at once
+     * @param executor     executor the batches are handed over on
+     * @param subscriber   called with each batch, in the order the events were published
+     * @return the subscription
+     */
+    public <E extends BookingEvent> Subscription subscribeBatched(Class<E> type, int maxBatchSize, Executor executor, Consumer<List<E>> subscriber) {
+        if (maxBatchSize <= 0) throw new IllegalArgumentException("The batch size should be positive");
+        return add(new BatchedSubscriber<>(type, maxBatchSize, executor, subscriber));
+    }
+
+    private Subscription add(Subscriber<?> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    /**
+     * A subscription to the events of a bus
+     */
+    public interface Subscription {
+        /**
+         * Stop getting events. Events already queued for a batched subscriber are still handed over
+         */
+        void unsubscribe();
+    }
+
+    private abstract static class Subscriber<E extends BookingEvent> {
+        private final Class<E> type;
+
+        Subscriber(Class<E> type) {
+            this.type = type;
+        }
+
+        void offer(BookingEvent event) {
+            if (!type.isInstance(event)) return;
+
+            try {
+                deliver(type.cast(event));
+            } catch (RuntimeException e) {
+                reportFailure(e);
+            }
+        }
+
+        abstract void deliver(E event);
+
+        static void reportFailure(RuntimeException e) {
+            System.err.println("An event subscriber failed: " + e);
+        }
+    }
+
+    private static class BatchedSubscriber<E extends BookingEvent> extends Subscriber<E> {
+        private final int maxBatchSize;
+        private final Executor executor;
+        private final Consumer<List<E>> subscriber;
+        private final Queue<E> queue = new ConcurrentLinkedQueue<>();
+        // true while a drain is scheduled or running, so only one runs at a time
+        private final AtomicBoolean isDraining = new AtomicBoolean();
+
+        BatchedSubscriber(Class<E> type, int maxBatchSize, Executor executor, Consumer<List<E>> subscriber) {
+            super(type);
+            this.maxBatchSize = maxBatchSize;
+            this.executor = executor;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        void deliver(E event) {
+            queue.add(event);
+            if (!isDraining.compareAndSet(false, true)) return;
+
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                isDraining.set(false);
+                throw e;
+            }
+        }
+
+        private void drain() {
+            do {
+                E event;
+                while ((event = queue.poll()) != null) {
+                    var batch = new ArrayList<E>(Math.min(maxBatchSize, 64));
+                    batch.add(event);
+                    while (batch.size() < maxBatchSize && (event = queue.poll()) != null) batch.add(event);
+
+                    try {
+                        subscriber.accept(batch);
+                    } catch (RuntimeException e) {
+                        reportFailure(e);
+                    }
+                }
+                isDraining.set(false);
+                // an event queued after the last poll but before the flag was cleared found a drain running, so it's picked up here
+            } while (!queue.isEmpty() && isDraining.compareAndSet(false, true));
+        }
+    }
+}
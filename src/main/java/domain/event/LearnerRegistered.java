@@ -0,0 +1,11 @@
+package domain.event;
+
+import domain.entity.learner.Learner;
+
+/**
+ * A learner was registered
+ *
+ * @param learner the learner, with their id assigned
+ */
+public record LearnerRegistered(Learner learner) implements BookingEvent {
+}
@@ -0,0 +1,13 @@
+package domain.event;
+
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+
+/**
+ * A learner attended a lesson. Always followed by the {@link ReviewAdded} of their review
+ *
+ * @param learner the learner
+ * @param lesson  the lesson
+ */
+public record LessonAttended(Learner learner, Lesson lesson) implements BookingEvent {
+}
@@ -0,0 +1,13 @@
+package domain.event;
+
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+
+/**
+ * A learner booked or rebooked a lesson, including being given a seat from the waitlist
+ *
+ * @param learner the learner
+ * @param lesson  the lesson
+ */
+public record LessonBooked(Learner learner, Lesson lesson) implements BookingEvent {
+}
@@ -0,0 +1,13 @@
+package domain.event;
+
+import domain.entity.Review;
+import domain.entity.lesson.Lesson;
+
+/**
+ * A review was added to a lesson
+ *
+ * @param lesson the lesson
+ * @param review the review
+ */
+public record ReviewAdded(Lesson lesson, Review review) implements BookingEvent {
+}
@@ -0,0 +1,92 @@
+package domain.repository;
+
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+
+/**
+ * Durable record of every change made to the learners, lessons and bookings
+ * <p>
+ * Only changes that have passed every check are recorded, so replaying them in order rebuilds the same state.
+ * Changes are recorded before they're applied where applying them can't fail, and otherwise only once
+ * {@link #checkWritable()} has passed, so a change the journal refuses is never left applied in memory.
+ */
+public interface BookingJournal {
+    /**
+     * Record that a coach was added
+     * @param coach the coach
+     */
+    void recordCoachAdded(Coach coach);
+
+    /**
+     * Record that a lesson was added to the timetable
+     * @param lesson the lesson, with its id assigned
+     */
+    void recordLessonAdded(Lesson lesson);
+
+    /**
+     * Record that a learner was registered
+     * @param learner the learner, with their id assigned
+     */
+    void recordLearnerRegistered(Learner learner);
+
+    /**
+     * Record that a learner booked or rebooked a lesson
+     * @param learner the learner
+     * @param lesson the lesson
+     */
+    void recordLessonBooked(Learner learner, Lesson lesson);
+
+    /**
+     * Record that a learner cancelled their booking of a lesson
+     * @param learner the learner
+     * @param lesson the lesson
+     */
+    void recordBookingCancelled(Learner learner, Lesson lesson);
+
+    /**
+     * Record that a learner attended a lesson and reviewed it
+     * @param learner the learner
+     * @param lesson the lesson
+     * @param review the learner's review
+     */
+    void recordLessonAttended(Learner learner, Lesson lesson, Review review);
+
+    /**
+     * Check that records can still be written, before applying a change that will be recorded
+     *
+     * @throws IllegalStateException if the journal can no longer be written
+     */
+    default void checkWritable() {
+    }
+
+    /**
+     * A journal that doesn't record anything
+     */
+    BookingJournal NONE = new BookingJournal() {
+        @Override
+        public void recordCoachAdded(Coach coach) {
+        }
+
+        @Override
+        public void recordLessonAdded(Lesson lesson) {
+        }
+
+        @Override
+        public void recordLearnerRegistered(Learner learner) {
+        }
+
+        @Override
+        public void recordLessonBooked(Learner learner, Lesson lesson) {
+        }
+
+        @Override
+        public void recordBookingCancelled(Learner learner, Lesson lesson) {
+        }
+
+        @Override
+        public void recordLessonAttended(Learner learner, Lesson lesson, Review review) {
+        }
+    };
+}
@@ -26,6 +26,13 @@ public interface LearnerRepository {
      */
     Result<Learner, Error> getLearnerById(int id);
 
+    /**
+     * Get a batch of learners by their ids in one pass
+     * @param ids ids
+     * @return a result for each id, in the same order as the ids
+     */
+    List<Result<Learner, Error>> getLearnersByIds(int[] ids);
+
     enum Error {
         LEARNER_NOT_FOUND
     }
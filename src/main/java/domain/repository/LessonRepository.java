@@ -1,7 +1,10 @@
 package domain.repository;
 
 import domain.entity.lesson.Lesson;
+import domain.util.Result;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface LessonRepository {
@@ -16,4 +19,73 @@ public interface LessonRepository {
      * @param lesson lesson to be added
      */
     void addNewLesson(Lesson lesson);
+
+    /**
+     * Get the lessons of a grade
+     * @param grade grade
+     * @return the lessons with this grade, in the order they were added
+     */
+    List<Lesson> getLessonsByGrade(int grade);
+
+    /**
+     * Get the lessons taught by a coach
+     * @param coachName name of the coach, matched ignoring case
+     * @return the lessons taught by the coach, in the order they were added
+     */
+    List<Lesson> getLessonsByCoach(String coachName);
+
+    /**
+     * Get the lessons held on a day of the week
+     * @param dayOfWeek day of the week
+     * @return the lessons held on this day, in the order they were added
+     */
+    List<Lesson> getLessonsByDay(DayOfWeek dayOfWeek);
+
+    /**
+     * Get the lessons held between two dates
+     * @param fromDate first date, inclusive
+     * @param toDate last date, inclusive
+     * @return the lessons held in the range, by date then in the order they were added
+     */
+    List<Lesson> getLessonsBetween(LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Count the lessons of a grade, without copying them
+     * @param grade grade
+     * @return the number of lessons with this grade
+     */
+    int countLessonsByGrade(int grade);
+
+    /**
+     * Count the lessons taught by a coach, without copying them
+     * @param coachName name of the coach, matched ignoring case
+     * @return the number of lessons taught by the coach
+     */
+    int countLessonsByCoach(String coachName);
+
+    /**
+     * Count the lessons held on a day of the week, without copying them
+     * @param dayOfWeek day of the week
+     * @return the number of lessons held on this day
+     */
+    int countLessonsByDay(DayOfWeek dayOfWeek);
+
+    /**
+     * Count the lessons held between two dates, without copying them
+     * @param fromDate first date, inclusive
+     * @param toDate last date, inclusive
+     * @return the number of lessons held in the range
+     */
+    int countLessonsBetween(LocalDate fromDate, LocalDate toDate);
+
+    /**
+     * Get a lesson by its id
+     * @param id id
+     * @return the {@link Lesson} in success if it exists, an error with {@link Error} value otherwise
+     */
+    Result<Lesson, Error> getLessonById(int id);
+
+    enum Error {
+        LESSON_NOT_FOUND
+    }
 }
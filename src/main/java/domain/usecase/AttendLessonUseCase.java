@@ -4,9 +4,37 @@ import domain.entity.learner.Learner;
 import domain.entity.Review;
 import domain.entity.lesson.Lesson;
 import domain.entity.lesson.LessonStatus;
+import domain.event.EventBus;
+import domain.event.LessonAttended;
+import domain.event.ReviewAdded;
+import domain.repository.BookingJournal;
 import domain.util.Result;
+import domain.util.StripedLock;
+
+import java.util.concurrent.CompletableFuture;
 
 public class AttendLessonUseCase {
+    /**
+     * Longest review message accepted, in characters
+     */
+    public static final int MAX_REVIEW_MESSAGE_LENGTH = 1000;
+
+    private final StripedLock lessonLocks = StripedLock.lessonLocks();
+    private final BookingJournal journal;
+    private final EventBus eventBus;
+
+    public AttendLessonUseCase() {
+        this(BookingJournal.NONE);
+    }
+
+    public AttendLessonUseCase(BookingJournal journal) {
+        this(journal, new EventBus());
+    }
+
+    public AttendLessonUseCase(BookingJournal journal, EventBus eventBus) {
+        this.journal = journal;
+        this.eventBus = eventBus;
+    }
 
     /**
      * Attend a lesson
@@ -17,23 +45,74 @@ public class AttendLessonUseCase {
      * @return result with an empty object on success, otherwise, an error result with {@link Error} as its data
      */
     public Result<Object, Error> attendLesson(Lesson lesson, Learner learner, ReviewProvider reviewProvider) {
-        if (!learner.hasLessonRegistered(lesson)) return Result.error(Error.LEARNER_NOT_REGISTERED_TO_LESSON);
+        var canAttend = checkCanAttend(lesson, learner);
+        if (!canAttend.isSuccess()) return canAttend;
 
-        if (learner.getLessonStatus(lesson) == LessonStatus.ATTENDED)
-            return Result.error(Error.LESSON_ALREADY_ATTENDED);
+        // the review can take a while to be provided, so the lesson isn't locked while waiting for it
+        return recordAttendance(lesson, learner, reviewProvider.provideReview());
+    }
+
+    /**
+     * Attend a lesson, with the review provided asynchronously.
+     * No thread is held while the review is being provided, the attendance is recorded once it completes
+     *
+     * @param lesson         lesson to attend
+     * @param learner        attending learner
+     * @param reviewProvider callback which is called after the learner and lesson has been validated
+     * @return future completed with an empty object on success, otherwise, with an error result with {@link Error} as its data
+     */
+    public CompletableFuture<Result<Object, Error>> attendLessonAsync(Lesson lesson, Learner learner, AsyncReviewProvider reviewProvider) {
+        var canAttend = checkCanAttend(lesson, learner);
+        if (!canAttend.isSuccess()) return CompletableFuture.completedFuture(canAttend);
 
-        Review review = reviewProvider.provideReview();
+        return reviewProvider.provideReviewAsync().thenApply(review -> recordAttendance(lesson, learner, review));
+    }
 
+    /**
+     * Validate the review and mark the lesson as attended
+     */
+    private Result<Object, Error> recordAttendance(Lesson lesson, Learner learner, Review review) {
         if (review.getMessage().isBlank()) return Result.error(Error.EMPTY_REVIEW_MESSAGE);
 
+        if (review.getMessage().length() > MAX_REVIEW_MESSAGE_LENGTH) return Result.error(Error.REVIEW_MESSAGE_TOO_LONG);
+
         if (review.getRating() <= 0 || review.getRating() > 5) return Result.error(Error.INVALID_REVIEW_RATING);
 
-        if (lesson.getGrade() > learner.getGrade()) {
-            learner.setGrade(lesson.getGrade());
-        }
+        return lessonLocks.withLock(lesson, () -> {
+            // the booking may have changed while the review was being provided
+            var stillCanAttend = checkCanAttend(lesson, learner);
+            if (!stillCanAttend.isSuccess()) return stillCanAttend;
+
+            // recorded first, so an attendance the journal refuses is never applied
+            journal.recordLessonAttended(learner, lesson, review);
+            if (lesson.getGrade() > learner.getGrade()) {
+                learner.setGrade(lesson.getGrade());
+            }
+
+            learner.updateRegisteredLessonStatus(lesson, LessonStatus.ATTENDED);
+            lesson.addReview(review);
+            eventBus.publish(new LessonAttended(learner, lesson));
+            eventBus.publish(new ReviewAdded(lesson, review));
+
+            return Result.success(Result.NO_VALUE);
+        });
+    }
+
+    /**
+     * Check that the learner's registration for the lesson can be marked as attended
+     *
+     * @return result with {@link Result#NO_VALUE} if the lesson can be attended, an {@link Error} otherwise
+     */
+    private Result<Object, Error> checkCanAttend(Lesson lesson, Learner learner) {
+        LessonStatus currentStatus = learner.getLessonStatus(lesson);
+        if (currentStatus == null) return Result.error(Error.LEARNER_NOT_REGISTERED_TO_LESSON);
+
+        if (currentStatus == LessonStatus.ATTENDED)
+            return Result.error(Error.LESSON_ALREADY_ATTENDED);
 
-        learner.updateRegisteredLessonStatus(lesson, LessonStatus.ATTENDED);
-        lesson.addReview(review);
+        // attending a cancelled booking takes its seat back
+        if (currentStatus == LessonStatus.CANCELLED && lesson.isFullyBooked())
+            return Result.error(Error.LESSON_FULLY_BOOKED);
 
         return Result.success(Result.NO_VALUE);
     }
@@ -50,7 +129,20 @@ public class AttendLessonUseCase {
         Review provideReview();
     }
 
+    /**
+     * Interface to be called when a review is needed for the lesson, for reviews that arrive later
+     */
+    public interface AsyncReviewProvider {
+        /**
+         * Request a review
+         *
+         * @return future completed with the learner's review of the lesson
+         */
+        CompletableFuture<Review> provideReviewAsync();
+    }
+
     public enum Error {
-        LEARNER_NOT_REGISTERED_TO_LESSON, LESSON_ALREADY_ATTENDED, INVALID_REVIEW_RATING, EMPTY_REVIEW_MESSAGE
+        LEARNER_NOT_REGISTERED_TO_LESSON, LESSON_ALREADY_ATTENDED, LESSON_FULLY_BOOKED, INVALID_REVIEW_RATING, EMPTY_REVIEW_MESSAGE,
+        REVIEW_MESSAGE_TOO_LONG
     }
 }
@@ -1,14 +1,46 @@
 package domain.usecase;
 
 import domain.entity.learner.Learner;
+import domain.entity.lesson.BookingRequest;
 import domain.entity.lesson.Lesson;
 import domain.entity.lesson.LessonStatus;
 import domain.entity.lesson.RegisteredLesson;
+import domain.event.EventBus;
+import domain.event.LessonBooked;
+import domain.repository.BookingJournal;
 import domain.util.Result;
+import domain.util.StripedLock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 
 public class BookLessonUseCase {
+    private final StripedLock lessonLocks = StripedLock.lessonLocks();
+    private final BookingJournal journal;
+    private final EventBus eventBus;
+
+    public BookLessonUseCase() {
+        this(BookingJournal.NONE);
+    }
+
+    public BookLessonUseCase(BookingJournal journal) {
+        this(journal, new EventBus());
+    }
+
+    public BookLessonUseCase(BookingJournal journal, EventBus eventBus) {
+        this.journal = journal;
+        this.eventBus = eventBus;
+    }
+
     /**
      * Book a new lesson
+     * <p>
+     * Bookings of the same lesson are serialised, so concurrent callers can never overbook it.
+     * Bookings of different lessons run in parallel. A learner who finds the lesson fully booked
+     * is put on its waitlist, and gets the next seat freed if they're first in line for it
      *
      * @param lesson  lesson to be booked
      * @param learner learner to book a lesson
@@ -16,6 +48,139 @@ public class BookLessonUseCase {
      * otherwise, {@link Result#error(Object)} with {@link Error} as its error data
      */
     public Result<Object, Error> bookLesson(Lesson lesson, Learner learner) {
+        var canBook = checkGrade(lesson, learner);
+        if (!canBook.isSuccess()) return canBook;
+
+        return lessonLocks.withLock(lesson, () -> reserveSeatOrWait(lesson, learner));
+    }
+
+    /**
+     * Book many lessons at once, e.g. a whole class into a block of lessons
+     * <p>
+     * The requests are grouped by lesson, and each lesson is locked once for all of its requests rather than once per request.
+     * Requests for the same lesson are handled in the order they were given, so the outcome is the same as booking them
+     * one by one in that order.
+     *
+     * @param requests lessons to be booked and the learners to book them for
+     * @return the result of each request, in the order of the requests, each as {@link #bookLesson(Lesson, Learner)} would return it
+     */
+    public List<Result<Object, Error>> bookLessons(List<BookingRequest> requests) {
+        int count = requests.size();
+        var results = new ArrayList<Result<Object, Error>>(Collections.nCopies(count, null));
+
+        // requests failing the grade check never need a lock, the others are numbered by the group of their lesson
+        var groupByLesson = new IdentityHashMap<Lesson, Integer>();
+        var groupLessons = new ArrayList<Lesson>();
+        int[] groupOfRequest = new int[count];
+        for (int i = 0; i < count; i++) {
+            BookingRequest request = requests.get(i);
+            var canBook = checkGrade(request.lesson(), request.learner());
+            if (!canBook.isSuccess()) {
+                results.set(i, canBook);
+                groupOfRequest[i] = -1;
+                continue;
+            }
+
+            groupOfRequest[i] = groupByLesson.computeIfAbsent(request.lesson(), lesson -> {
+                groupLessons.add(lesson);
+                return groupLessons.size() - 1;
+            });
+        }
+
+        // counting sort of the request indices by group, which keeps the requests of a group in their given order
+        int[] groupStart = new int[groupLessons.size() + 1];
+        for (int group : groupOfRequest) {
+            if (group >= 0) groupStart[group + 1]++;
+        }
+        for (int group = 0; group < groupLessons.size(); group++) {
+            groupStart[group + 1] += groupStart[group];
+        }
+        int[] requestsByGroup = new int[groupStart[groupLessons.size()]];
+        int[] nextSlot = Arrays.copyOf(groupStart, groupLessons.size());
+        for (int i = 0; i < count; i++) {
+            if (groupOfRequest[i] >= 0) requestsByGroup[nextSlot[groupOfRequest[i]]++] = i;
+        }
+
+        for (int group = 0; group < groupLessons.size(); group++) {
+            Lesson lesson = groupLessons.get(group);
+            int from = groupStart[group];
+            int to = groupStart[group + 1];
+            lessonLocks.withLock(lesson, () -> {
+                for (int slot = from; slot < to; slot++) {
+                    int i = requestsByGroup[slot];
+                    results.set(i, reserveSeatOrWait(lesson, requests.get(i).learner()));
+                }
+                return null;
+            });
+        }
+
+        return results;
+    }
+
+    /**
+     * Get a learner's place on the waitlist of a lesson
+     *
+     * @param lesson  lesson
+     * @param learner learner
+     * @return the learner's position, 1 being next in line, or 0 if they aren't waiting for the lesson
+     */
+    public int getWaitlistPosition(Lesson lesson, Learner learner) {
+        return lesson.getWaitlist().positionOf(learner);
+    }
+
+    /**
+     * Take a learner off the waitlist of a lesson, so they aren't booked in when a seat frees up
+     *
+     * @param lesson  lesson
+     * @param learner learner
+     * @return true if the learner was waiting for the lesson, false otherwise
+     */
+    public boolean leaveWaitlist(Lesson lesson, Learner learner) {
+        return lessonLocks.withLock(lesson, () -> lesson.getWaitlist().leave(learner));
+    }
+
+    /**
+     * Give a free seat to the first learner on the waitlist who can still book the lesson.
+     * Learners who can no longer book it, e.g. because their grade has gone up or they have booked it since, are dropped.
+     * Must be called with the lesson lock held
+     *
+     * @param lesson lesson with a free seat
+     * @return the learner who got the seat, or null if nobody could take it
+     */
+    Learner promoteFromWaitlist(Lesson lesson) {
+        Learner next;
+        while (!lesson.isFullyBooked() && (next = lesson.getWaitlist().poll()) != null) {
+            if (checkGrade(lesson, next).isSuccess() && reserveSeat(lesson, next).isSuccess()) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Book a seat held for the learner, checking everything but the capacity the hold already counts towards.
+     * The seat stays held if the learner can't book the lesson. Must be called with the lesson lock held
+     *
+     * @param lesson  lesson the seat is held in
+     * @param learner learner to book the lesson for
+     * @return Result with {@link Result#NO_VALUE} on success,
+     * otherwise, {@link Result#error(Object)} with {@link Error} as its error data
+     */
+    Result<Object, Error> bookHeldSeat(Lesson lesson, Learner learner) {
+        var canBook = checkGrade(lesson, learner);
+        if (!canBook.isSuccess()) return canBook;
+
+        // the held seat is handed over to the booking, nobody else can take it while the lock is held
+        lesson.releaseSeat();
+        var result = reserveSeat(lesson, learner);
+        if (!result.isSuccess()) lesson.occupySeat();
+        return result;
+    }
+
+    /**
+     * Check the lesson is at the learner's grade or the one above it
+     */
+    private static Result<Object, Error> checkGrade(Lesson lesson, Learner learner) {
         if (learner.getGrade() + 1 < lesson.getGrade()) {
             return Result.error(Error.LESSON_ABOVE_LEARNER_GRADE);
         }
@@ -24,27 +189,42 @@ public class BookLessonUseCase {
             return Result.error(Error.LESSON_BELOW_LEARNER_GRADE);
         }
 
-        if (lesson.getRegisteredLearners().contains(learner)) {
-            if (learner.getLessonStatus(lesson) == LessonStatus.CANCELLED){
-                learner.updateRegisteredLessonStatus(lesson, LessonStatus.BOOKED);
-                return Result.success(Result.NO_VALUE);
-            }
+        return Result.success(Result.NO_VALUE);
+    }
+
+    /**
+     * Take a seat for the learner, or put them on the waitlist if the lesson is fully booked. Must be called with the lesson lock held
+     */
+    private Result<Object, Error> reserveSeatOrWait(Lesson lesson, Learner learner) {
+        var result = reserveSeat(lesson, learner);
+        if (!result.isSuccess() && result.getError() == Error.LESSON_FULLY_BOOKED) {
+            lesson.getWaitlist().join(learner);
+        }
+        return result;
+    }
+
+    /**
+     * Check the capacity and take a seat for the learner. Must be called with the lesson lock held
+     */
+    private Result<Object, Error> reserveSeat(Lesson lesson, Learner learner) {
+        LessonStatus currentStatus = learner.getLessonStatus(lesson);
+        if (currentStatus != null && currentStatus != LessonStatus.CANCELLED) {
             return Result.error(Error.DUPLICATE_BOOKING);
         }
 
-        if (lesson.getRegisteredLearners().size() >= 4) {
-            int activeLessons = lesson.getRegisteredLearners()
-                    .stream()
-                    .filter(ln -> ln.getLessonStatus(lesson)!= LessonStatus.CANCELLED)
-                    .toList()
-                    .size();
-            if (activeLessons >= 4) {
-                return Result.error(Error.LESSON_FULLY_BOOKED);
-            }
+        if (lesson.isFullyBooked()) {
+            return Result.error(Error.LESSON_FULLY_BOOKED);
         }
 
-        lesson.addLearner(learner);
-        learner.registerNewLesson(new RegisteredLesson(lesson, LessonStatus.BOOKED));
+        // recorded first, so a booking the journal refuses is never applied
+        journal.recordLessonBooked(learner, lesson);
+        if (currentStatus == LessonStatus.CANCELLED) {
+            learner.updateRegisteredLessonStatus(lesson, LessonStatus.BOOKED);
+        } else {
+            lesson.addLearner(learner);
+            learner.registerNewLesson(new RegisteredLesson(lesson, LessonStatus.BOOKED));
+        }
+        eventBus.publish(new LessonBooked(learner, lesson));
 
         return Result.success(Result.NO_VALUE);
     }
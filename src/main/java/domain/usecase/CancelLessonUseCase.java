@@ -3,25 +3,59 @@ package domain.usecase;
 import domain.entity.learner.Learner;
 import domain.entity.lesson.Lesson;
 import domain.entity.lesson.LessonStatus;
+import domain.event.BookingCancelled;
+import domain.event.EventBus;
+import domain.repository.BookingJournal;
 import domain.util.Result;
+import domain.util.StripedLock;
 
 public class CancelLessonUseCase {
+    private final StripedLock lessonLocks = StripedLock.lessonLocks();
+    private final BookingJournal journal;
+    private final EventBus eventBus;
+    private final BookLessonUseCase bookLessonUseCase;
+
+    public CancelLessonUseCase() {
+        this(BookingJournal.NONE);
+    }
+
+    public CancelLessonUseCase(BookingJournal journal) {
+        this(journal, new EventBus());
+    }
+
+    public CancelLessonUseCase(BookingJournal journal, EventBus eventBus) {
+        this.journal = journal;
+        this.eventBus = eventBus;
+        this.bookLessonUseCase = new BookLessonUseCase(journal, eventBus);
+    }
 
     /**
-     * Cancel the booked lesson of this learner
+     * Cancel the booked lesson of this learner.
+     * The freed seat goes to the first learner on the lesson's waitlist who can take it, before the lesson is unlocked
      *
      * @param lessonToCancel lesson to cancel
      * @param learner        the learner
      * @return Result with empty object on success, and {@link Error} when an error occurs
      */
     public Result<Object, Error> cancelLesson(Lesson lessonToCancel, Learner learner) {
-        if (!learner.hasLessonRegistered(lessonToCancel)) {
+        return lessonLocks.withLock(lessonToCancel, () -> releaseSeat(lessonToCancel, learner));
+    }
+
+    /**
+     * Cancel the booking and free its seat. Must be called with the lesson lock held
+     */
+    private Result<Object, Error> releaseSeat(Lesson lessonToCancel, Learner learner) {
+        LessonStatus currentStatus = learner.getLessonStatus(lessonToCancel);
+        if (currentStatus == null) {
             return Result.error(Error.NO_BOOKING_FOR_LESSON);
         }
 
-        return switch (learner.getLessonStatus(lessonToCancel)) {
+        return switch (currentStatus) {
             case BOOKED -> {
+                journal.recordBookingCancelled(learner, lessonToCancel);
                 learner.updateRegisteredLessonStatus(lessonToCancel, LessonStatus.CANCELLED);
+                eventBus.publish(new BookingCancelled(learner, lessonToCancel));
+                bookLessonUseCase.promoteFromWaitlist(lessonToCancel);
                 yield Result.success(Result.NO_VALUE);
             }
             case ATTENDED -> Result.error(Error.LESSON_ALREADY_ATTENDED);
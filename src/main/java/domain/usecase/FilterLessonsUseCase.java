@@ -1,11 +1,16 @@
 package domain.usecase;
 
 import domain.entity.lesson.Lesson;
+import domain.entity.lesson.LessonQuery;
 import domain.repository.LessonRepository;
 import domain.util.Result;
 
 import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class FilterLessonsUseCase {
     private final LessonRepository lessonRepository;
@@ -24,7 +29,7 @@ public class FilterLessonsUseCase {
         if (grade < 0) {
             return Result.error(Error.INVALID_INPUT);
         }
-        return Result.success(lessonRepository.getAllLessons().stream().filter(lesson -> lesson.getGrade() == grade).toList());
+        return Result.success(lessonRepository.getLessonsByGrade(grade));
     }
 
 
@@ -39,11 +44,7 @@ public class FilterLessonsUseCase {
             return Result.error(Error.INVALID_INPUT);
         }
 
-        return Result.success(lessonRepository.getAllLessons()
-                .stream()
-                .filter(lesson -> lesson.getCoach().getName().equalsIgnoreCase(coachName.trim()))
-                .toList()
-        );
+        return Result.success(lessonRepository.getLessonsByCoach(coachName.trim()));
 
     }
 
@@ -60,16 +61,81 @@ public class FilterLessonsUseCase {
 
         try {
             DayOfWeek dayOfWeek = DayOfWeek.valueOf(weekDay.trim().toUpperCase());
-            return Result.success(lessonRepository.getAllLessons()
-                    .stream()
-                    .filter(lesson -> lesson.getLessonDate().getDayOfWeek() == dayOfWeek)
-                    .toList()
-            );
+            return Result.success(lessonRepository.getLessonsByDay(dayOfWeek));
         } catch (Exception e) {
             return Result.error(Error.INVALID_INPUT);
         }
     }
 
+    /**
+     * Find the lessons meeting every criterion of a query
+     * <p>
+     * The candidates are fetched from the most selective index among the criteria set, and checked against
+     * the rest of the criteria, so a single index is copied however many criteria there are.
+     * Every lesson is scanned only when none of the criteria has an index
+     *
+     * @param query query
+     * @return result with the matching lessons, by date and then in the order they were added, and {@link Error} on failure
+     */
+    public Result<List<Lesson>, Error> filter(LessonQuery query) {
+        if ((query.grade() != null && query.grade() < 0)
+                || (query.coachName() != null && query.coachName().isBlank())
+                || (query.lessonTime() != null && query.lessonTime().isBlank())
+                || (query.fromDate() != null && query.toDate() != null && query.fromDate().isAfter(query.toDate()))) {
+            return Result.error(Error.INVALID_INPUT);
+        }
+
+        String coachName = query.coachName() == null ? null : query.coachName().trim();
+        LocalDate fromDate = query.fromDate() == null ? LocalDate.MIN : query.fromDate();
+        LocalDate toDate = query.toDate() == null ? LocalDate.MAX : query.toDate();
+
+        // counting is cheap next to copying, so every index is sized before one is picked
+        IndexScan scan = null;
+        if (query.grade() != null) {
+            scan = smallest(scan, lessonRepository.countLessonsByGrade(query.grade()), () -> lessonRepository.getLessonsByGrade(query.grade()));
+        }
+        if (coachName != null) {
+            scan = smallest(scan, lessonRepository.countLessonsByCoach(coachName), () -> lessonRepository.getLessonsByCoach(coachName));
+        }
+        if (query.dayOfWeek() != null) {
+            scan = smallest(scan, lessonRepository.countLessonsByDay(query.dayOfWeek()), () -> lessonRepository.getLessonsByDay(query.dayOfWeek()));
+        }
+        if (query.hasDateRange()) {
+            scan = smallest(scan, lessonRepository.countLessonsBetween(fromDate, toDate), () -> lessonRepository.getLessonsBetween(fromDate, toDate));
+        }
+        if (scan != null && scan.count() == 0) {
+            return Result.success(List.of());
+        }
+
+        List<Lesson> candidates = scan == null ? lessonRepository.getAllLessons() : scan.fetch().get();
+        var result = new ArrayList<Lesson>();
+        for (Lesson lesson : candidates) {
+            if (query.grade() != null && lesson.getGrade() != query.grade()) continue;
+            if (coachName != null && !lesson.getCoach().getName().equalsIgnoreCase(coachName)) continue;
+            if (query.dayOfWeek() != null && lesson.getLessonDate().getDayOfWeek() != query.dayOfWeek()) continue;
+            if (lesson.getLessonDate().isBefore(fromDate) || lesson.getLessonDate().isAfter(toDate)) continue;
+            if (query.lessonTime() != null && !lesson.getLessonTime().equalsIgnoreCase(query.lessonTime().trim())) continue;
+            if (query.freeSeatsOnly() && lesson.isFullyBooked()) continue;
+            result.add(lesson);
+        }
+        // stable, so lessons on the same date stay in the order they were added
+        result.sort(Comparator.comparing(Lesson::getLessonDate));
+
+        return Result.success(result);
+    }
+
+    /**
+     * Keep whichever of two index scans returns fewer lessons
+     */
+    private static IndexScan smallest(IndexScan current, int count, Supplier<List<Lesson>> fetch) {
+        return current == null || count < current.count() ? new IndexScan(count, fetch) : current;
+    }
+
+    /**
+     * Lessons fetched through one index, with the number of lessons it holds
+     */
+    private record IndexScan(int count, Supplier<List<Lesson>> fetch) {
+    }
 
     public enum Error {
         INVALID_INPUT
@@ -1,38 +1,89 @@
 package domain.usecase;
 
 import domain.entity.coach.Coach;
-import domain.entity.Rating;
 import domain.entity.coach.CoachReport;
 import domain.entity.lesson.Lesson;
+import domain.event.EventBus;
+import domain.event.ReviewAdded;
 import domain.repository.CoachRepository;
-import domain.util.LessonUtil;
+import domain.util.ChunkedMapper;
+import domain.util.LruCache;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 public class GenerateCoachReportUseCase {
     private final CoachRepository coachRepository;
+    private final ForkJoinPool reportPool;
+    private final LruCache<Coach, CoachReport> reportCache;
 
     public GenerateCoachReportUseCase(CoachRepository coachRepository) {
+        this(coachRepository, null);
+    }
+
+    /**
+     * @param coachRepository coach repository
+     * @param reportPool      pool the reports for all coaches are generated on, or null to generate them on the calling thread
+     */
+    public GenerateCoachReportUseCase(CoachRepository coachRepository, ForkJoinPool reportPool) {
         this.coachRepository = coachRepository;
+        this.reportPool = reportPool;
+        this.reportCache = new LruCache<>(0);
     }
 
     /**
-     * Get the report for the provided learner
+     * Keep the reports of the most recently reported coaches, until a review of one of their lessons is published
+     * on the event bus or a lesson is assigned to them. Bookings don't show in a coach report, so they leave it cached
      *
-     * @param coach learner
+     * @param coachRepository coach repository
+     * @param reportPool      pool the reports for all coaches are generated on, or null to generate them on the calling thread
+     * @param eventBus        bus the booking events are published on
+     * @param cacheSize       most coach reports kept
+     */
+    public GenerateCoachReportUseCase(CoachRepository coachRepository, ForkJoinPool reportPool, EventBus eventBus, int cacheSize) {
+        this.coachRepository = coachRepository;
+        this.reportPool = reportPool;
+        this.reportCache = new LruCache<>(cacheSize);
+
+        var cache = reportCache;
+        eventBus.subscribe(ReviewAdded.class, reviewAdded -> cache.invalidate(reviewAdded.lesson().getCoach()));
+    }
+
+    /**
+     * Get the report for the provided coach
+     *
+     * @param coach coach
      * @return a {@link CoachReport}
      */
     public CoachReport getReportForCoach(Coach coach) {
+        CoachReport report = reportCache.get(coach, this::buildReport);
+        // lessons are assigned to their coach as they're created, with no event, and never unassigned,
+        // so a report counting fewer lessons than the coach has was cached before a lesson was added
+        if (report.numberOfLessonsTaught() != coach.getAssignedLessons().size()) {
+            reportCache.invalidate(coach);
+            report = reportCache.get(coach, this::buildReport);
+        }
+        return report;
+    }
+
+    /**
+     * Get the hit and miss counts of the report cache
+     *
+     * @return cache counters
+     */
+    public LruCache.Stats getCacheStats() {
+        return reportCache.getStats();
+    }
+
+    private CoachReport buildReport(Coach coach) {
+        List<Lesson> lessons = List.copyOf(coach.getAssignedLessons());
         return new CoachReport(
                 coach.getName(),
-                coach.getAssignedLessons().size(),
-                coach.getAssignedLessons(),
-                LessonUtil.getAverageRating(coach.getAssignedLessons().
-                        stream().map(lesson -> LessonUtil.getAverageReviewRating(lesson.getReviews()))
-                        .toList()),
-                coach.getAssignedLessons().
-                        stream().map(lesson -> Map.of(LessonUtil.getAverageReviewRating(lesson.getReviews()), lesson))
+                lessons.size(),
+                lessons,
+                coach.getAverageRating(),
+                lessons.stream().map(lesson -> Map.of(lesson.getAverageRating(), lesson))
                         .toList()
         );
     }
@@ -43,6 +94,12 @@ public class GenerateCoachReportUseCase {
      * @return report list
      */
     public List<CoachReport> getReportForAllCoaches() {
-        return coachRepository.getAllCoaches().stream().map(this::getReportForCoach).toList();
+        List<Coach> coaches = coachRepository.getAllCoaches();
+        if (reportPool != null) {
+            // a coach report covers all the coach's lessons, so each coach is a chunk of its own
+            return ChunkedMapper.map(reportPool, List.copyOf(coaches), 1, this::getReportForCoach);
+        }
+
+        return coaches.stream().map(this::getReportForCoach).toList();
     }
 }
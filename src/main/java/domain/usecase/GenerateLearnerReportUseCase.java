@@ -2,19 +2,73 @@ package domain.usecase;
 
 import domain.entity.learner.Learner;
 import domain.entity.learner.LearnerReport;
+import domain.entity.learner.LearnerSummary;
 import domain.entity.lesson.Lesson;
 import domain.entity.lesson.LessonStatus;
 import domain.entity.lesson.RegisteredLesson;
+import domain.event.BookingCancelled;
+import domain.event.BookingEvent;
+import domain.event.EventBus;
+import domain.event.LearnerRegistered;
+import domain.event.LessonAttended;
+import domain.event.LessonBooked;
+import domain.event.ReviewAdded;
 import domain.repository.LearnerRepository;
+import domain.util.ChunkedMapper;
+import domain.util.LruCache;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class GenerateLearnerReportUseCase {
+    private static final int LEARNERS_PER_CHUNK = 1024;
+
     private LearnerRepository learnerRepository;
+    private final ForkJoinPool reportPool;
+    private final LruCache<Learner, LearnerReport> reportCache;
 
     public GenerateLearnerReportUseCase(LearnerRepository learnerRepository) {
+        this(learnerRepository, null);
+    }
+
+    /**
+     * @param learnerRepository learner repository
+     * @param reportPool        pool the reports for all learners are generated on, or null to generate them on the calling thread
+     */
+    public GenerateLearnerReportUseCase(LearnerRepository learnerRepository, ForkJoinPool reportPool) {
+        this.learnerRepository = learnerRepository;
+        this.reportPool = reportPool;
+        this.reportCache = new LruCache<>(0);
+    }
+
+    /**
+     * Keep the reports of the most recently reported learners, until a booking, cancellation or attendance of theirs is
+     * published on the event bus. Every change to a learner's lessons must go through the use cases publishing on it.
+     * The report for all learners only gets hits if the cache is big enough to hold all of them
+     *
+     * @param learnerRepository learner repository
+     * @param reportPool        pool the reports for all learners are generated on, or null to generate them on the calling thread
+     * @param eventBus          bus the booking events are published on
+     * @param cacheSize         most learner reports kept
+     */
+    public GenerateLearnerReportUseCase(LearnerRepository learnerRepository, ForkJoinPool reportPool, EventBus eventBus, int cacheSize) {
         this.learnerRepository = learnerRepository;
+        this.reportPool = reportPool;
+        this.reportCache = new LruCache<>(cacheSize);
+
+        var cache = reportCache;
+        eventBus.subscribe(BookingEvent.class, event -> {
+            switch (event) {
+                case LessonBooked booked -> cache.invalidate(booked.learner());
+                case BookingCancelled cancelled -> cache.invalidate(cancelled.learner());
+                case LessonAttended attended -> cache.invalidate(attended.learner());
+                case LearnerRegistered ignored -> {
+                }
+                case ReviewAdded ignored -> {
+                }
+            }
+        });
     }
 
     /**
@@ -24,23 +78,87 @@ public class GenerateLearnerReportUseCase {
      * @return a {@link LearnerReport}
      */
     public LearnerReport getReportForLearner(Learner learner) {
+        return reportCache.get(learner, this::buildReport);
+    }
+
+    /**
+     * Get the hit and miss counts of the report cache
+     *
+     * @return cache counters
+     */
+    public LruCache.Stats getCacheStats() {
+        return reportCache.getStats();
+    }
+
+    private LearnerReport buildReport(Learner learner) {
+        List<RegisteredLesson> registeredLessons = learner.getRegisteredLessons();
+        List<Lesson> bookedLessons = new ArrayList<>(learner.getLessonCount(LessonStatus.BOOKED));
+        List<Lesson> attendedLessons = new ArrayList<>(learner.getLessonCount(LessonStatus.ATTENDED));
+        List<Lesson> cancelledLessons = new ArrayList<>(learner.getLessonCount(LessonStatus.CANCELLED));
+
+        // one pass over the registrations, sorting each lesson by its status
+        for (RegisteredLesson registeredLesson : registeredLessons) {
+            switch (registeredLesson.getLessonStatus()) {
+                case BOOKED -> bookedLessons.add(registeredLesson.getLesson());
+                case ATTENDED -> attendedLessons.add(registeredLesson.getLesson());
+                case CANCELLED -> cancelledLessons.add(registeredLesson.getLesson());
+            }
+        }
+
         return new LearnerReport(
                 learner.getId(),
                 learner.getName(),
                 learner.getAge(),
                 learner.getGender(),
                 learner.getGrade(),
-                learner.getRegisteredLessons().size(),
-                learner.getRegisteredLessons().stream().filter(lesson -> lesson.getLessonStatus() == LessonStatus.BOOKED).map(RegisteredLesson::getLesson).toList(),
-                learner.getRegisteredLessons().stream().filter(lesson -> lesson.getLessonStatus() == LessonStatus.ATTENDED).map(RegisteredLesson::getLesson).toList(),
-                learner.getRegisteredLessons().stream().filter(lesson -> lesson.getLessonStatus() == LessonStatus.CANCELLED).map(RegisteredLesson::getLesson).toList()
+                registeredLessons.size(),
+                bookedLessons,
+                attendedLessons,
+                cancelledLessons
         );
     }
 
+    /**
+     * Get a list of reports for all the learners, in the order of the repository.
+     * The repository returns a snapshot of its learners, so learners registered meanwhile don't change the list
+     *
+     * @return report list
+     */
     public List<LearnerReport> getReportForAllLearners(){
+        List<Learner> learners = learnerRepository.getAllLearners();
+        if (reportPool != null) {
+            return ChunkedMapper.map(reportPool, learners, LEARNERS_PER_CHUNK, this::getReportForLearner);
+        }
+
         var result = new ArrayList<LearnerReport>();
-        learnerRepository.getAllLearners().forEach(learner -> result.add(getReportForLearner(learner)));
+        learners.forEach(learner -> result.add(getReportForLearner(learner)));
 
         return result;
     }
+
+    /**
+     * Get the lesson counts of the provided learner, without listing the lessons
+     *
+     * @param learner learner
+     * @return a {@link LearnerSummary}
+     */
+    public LearnerSummary getSummaryForLearner(Learner learner) {
+        return new LearnerSummary(
+                learner.getId(),
+                learner.getName(),
+                learner.getGrade(),
+                learner.getLessonCount(LessonStatus.BOOKED),
+                learner.getLessonCount(LessonStatus.ATTENDED),
+                learner.getLessonCount(LessonStatus.CANCELLED)
+        );
+    }
+
+    /**
+     * Get the lesson counts of all the learners
+     *
+     * @return summary list
+     */
+    public List<LearnerSummary> getSummaryForAllLearners() {
+        return learnerRepository.getAllLearners().stream().map(this::getSummaryForLearner).toList();
+    }
 }
@@ -0,0 +1,184 @@
+package domain.usecase;
+
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.entity.lesson.SeatHold;
+import domain.util.Result;
+import domain.util.StripedLock;
+import domain.util.TimerWheel;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps seats aside for a while, e.g. while a parent finishes registering a learner
+ * <p>
+ * A held seat counts against the capacity of the lesson just like a booking. It's given back when the hold is
+ * released or expires, unless it has been turned into a booking first. Expiries are kept on a {@link TimerWheel},
+ * which {@link #expireHolds()} has to be called regularly to advance, rather than with a scheduled task per hold.
+ * Holds are not journaled, so they don't outlive the app.
+ */
+public class HoldSeatUseCase {
+    /**
+     * How often {@link #expireHolds()} should be called. Holds expire up to a tick late
+     */
+    public static final long TICK_MILLIS = 1000;
+    // one turn of the wheel covers about 8 minutes, longer holds are checked again on every turn
+    private static final int WHEEL_SIZE = 512;
+
+    private final StripedLock lessonLocks = StripedLock.lessonLocks();
+    private final BookLessonUseCase bookLessonUseCase;
+    private final LongSupplier clockMillis;
+    private final TimerWheel<SeatHold> expiries;
+    // holds that are still active, only changed with the lock of their lesson held
+    private final Map<Long, TimerWheel.Timeout<SeatHold>> holds = new ConcurrentHashMap<>();
+    private final AtomicLong nextHoldId = new AtomicLong(1);
+
+    public HoldSeatUseCase(BookLessonUseCase bookLessonUseCase) {
+        this(bookLessonUseCase, System::currentTimeMillis);
+    }
+
+    /**
+     * @param bookLessonUseCase use case turning holds into bookings
+     * @param clockMillis       current time in milliseconds
+     */
+    public HoldSeatUseCase(BookLessonUseCase bookLessonUseCase, LongSupplier clockMillis) {
+        this.bookLessonUseCase = bookLessonUseCase;
+        this.clockMillis = clockMillis;
+        this.expiries = new TimerWheel<>(clockMillis.getAsLong(), TICK_MILLIS, WHEEL_SIZE);
+    }
+
+    /**
+     * Hold a seat in a lesson
+     *
+     * @param lesson   lesson
+     * @param duration how long the seat is held for
+     * @return Result with the hold on success,
+     * otherwise, {@link Result#error(Object)} with {@link Error} as its error data
+     */
+    public Result<SeatHold, Error> holdSeat(Lesson lesson, Duration duration) {
+        if (duration.isNegative() || duration.isZero()) return Result.error(Error.INVALID_DURATION);
+
+        return lessonLocks.withLock(lesson, () -> {
+            if (lesson.isFullyBooked()) return Result.error(Error.LESSON_FULLY_BOOKED);
+
+            lesson.occupySeat();
+            var hold = new SeatHold(nextHoldId.getAndIncrement(), lesson, clockMillis.getAsLong() + duration.toMillis());
+            holds.put(hold.id(), expiries.schedule(hold, hold.expiresAtMillis()));
+            return Result.success(hold);
+        });
+    }
+
+    /**
+     * Book the held seat for a learner. The hold is used up on success, and kept if the learner can't book the lesson
+     *
+     * @param holdId  id of the hold
+     * @param learner learner to book the lesson for
+     * @return Result with {@link Result#NO_VALUE} on success,
+     * otherwise, {@link Result#error(Object)} with {@link Error} as its error data
+     */
+    public Result<Object, Error> bookHeldSeat(long holdId, Learner learner) {
+        var timeout = holds.get(holdId);
+        if (timeout == null) return Result.error(Error.HOLD_NOT_FOUND);
+
+        Lesson lesson = timeout.getItem().lesson();
+        return lessonLocks.withLock(lesson, () -> {
+            if (!isActive(timeout)) return Result.error(Error.HOLD_NOT_FOUND);
+
+            var booking = bookLessonUseCase.bookHeldSeat(lesson, learner);
+            if (!booking.isSuccess()) return Result.error(toError(booking.getError()));
+
+            holds.remove(holdId);
+            timeout.cancel();
+            return Result.success(Result.NO_VALUE);
+        });
+    }
+
+    /**
+     * Give a held seat back before the hold expires
+     *
+     * @param holdId id of the hold
+     * @return Result with {@link Result#NO_VALUE} on success,
+     * otherwise, {@link Result#error(Object)} with {@link Error} as its error data
+     */
+    public Result<Object, Error> releaseHold(long holdId) {
+        var timeout = holds.get(holdId);
+        if (timeout == null) return Result.error(Error.HOLD_NOT_FOUND);
+
+        return lessonLocks.withLock(timeout.getItem().lesson(), () -> {
+            if (!isActive(timeout)) return Result.error(Error.HOLD_NOT_FOUND);
+
+            timeout.cancel();
+            giveSeatBack(timeout.getItem());
+            return Result.success(Result.NO_VALUE);
+        });
+    }
+
+    /**
+     * Give back the seats of the holds that have expired
+     *
+     * @return the number of holds expired
+     */
+    public int expireHolds() {
+        int expiredCount = 0;
+        for (SeatHold hold : expiries.advance(clockMillis.getAsLong())) {
+            // the hold may have been used or released since it was taken off the wheel
+            boolean isExpired = lessonLocks.withLock(hold.lesson(), () -> {
+                if (holds.get(hold.id()) == null) return false;
+                giveSeatBack(hold);
+                return true;
+            });
+            if (isExpired) expiredCount++;
+        }
+        return expiredCount;
+    }
+
+    /**
+     * @return the number of holds active
+     */
+    public int getHoldCount() {
+        return holds.size();
+    }
+
+    /**
+     * Check a hold is still active, giving its seat back if it's past its expiry but the wheel hasn't got to it yet.
+     * Must be called with the lesson lock held
+     */
+    private boolean isActive(TimerWheel.Timeout<SeatHold> timeout) {
+        SeatHold hold = timeout.getItem();
+        if (holds.get(hold.id()) != timeout) return false;
+
+        if (clockMillis.getAsLong() >= hold.expiresAtMillis()) {
+            timeout.cancel();
+            giveSeatBack(hold);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * End a hold and hand its seat to the waitlist, if anyone is waiting. Must be called with the lesson lock held
+     */
+    private void giveSeatBack(SeatHold hold) {
+        holds.remove(hold.id());
+        hold.lesson().releaseSeat();
+        bookLessonUseCase.promoteFromWaitlist(hold.lesson());
+    }
+
+    private static Error toError(BookLessonUseCase.Error error) {
+        return switch (error) {
+            case LESSON_ABOVE_LEARNER_GRADE -> Error.LESSON_ABOVE_LEARNER_GRADE;
+            case LESSON_BELOW_LEARNER_GRADE -> Error.LESSON_BELOW_LEARNER_GRADE;
+            case DUPLICATE_BOOKING -> Error.DUPLICATE_BOOKING;
+            case LESSON_FULLY_BOOKED -> Error.LESSON_FULLY_BOOKED;
+        };
+    }
+
+    public enum Error {
+        INVALID_DURATION, LESSON_FULLY_BOOKED, HOLD_NOT_FOUND,
+        LESSON_ABOVE_LEARNER_GRADE, LESSON_BELOW_LEARNER_GRADE, DUPLICATE_BOOKING
+    }
+}
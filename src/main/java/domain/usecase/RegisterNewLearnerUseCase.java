@@ -1,17 +1,43 @@
 package domain.usecase;
 
 import domain.entity.learner.Learner;
+import domain.event.EventBus;
+import domain.event.LearnerRegistered;
+import domain.repository.BookingJournal;
 import domain.repository.LearnerRepository;
 import domain.util.IdGenerator;
 import domain.util.Result;
 
+import java.util.function.ToIntFunction;
+
 public class RegisterNewLearnerUseCase {
     private final LearnerRepository repository;
+    private final BookingJournal journal;
+    private final EventBus eventBus;
+    private final ToIntFunction<Learner> idGenerator;
 
     private final Validator validator = new Validator();
 
     public RegisterNewLearnerUseCase(LearnerRepository repository) {
+        this(repository, BookingJournal.NONE);
+    }
+
+    public RegisterNewLearnerUseCase(LearnerRepository repository, BookingJournal journal) {
+        this(repository, journal, new EventBus());
+    }
+
+    public RegisterNewLearnerUseCase(LearnerRepository repository, BookingJournal journal, EventBus eventBus) {
+        this(repository, journal, eventBus, IdGenerator::generateId);
+    }
+
+    /**
+     * @param idGenerator generates the id of a new learner, throwing {@link IllegalStateException} when none are left
+     */
+    RegisterNewLearnerUseCase(LearnerRepository repository, BookingJournal journal, EventBus eventBus, ToIntFunction<Learner> idGenerator) {
         this.repository = repository;
+        this.journal = journal;
+        this.eventBus = eventBus;
+        this.idGenerator = idGenerator;
     }
 
     /**
@@ -22,6 +48,10 @@ public class RegisterNewLearnerUseCase {
      * otherwise, {@link Result#error(Object)} with {@link Error} as its error data
      */
     public Result<Integer, Error> registerLearner(Learner learner) {
+        if (!validator.validateName(learner.getName())) {
+            return Result.error(Error.INVALID_NAME);
+        }
+
         if (!validator.validateAge(learner.getAge())) {
             return Result.error(Error.INVALID_AGE);
         }
@@ -38,7 +68,17 @@ public class RegisterNewLearnerUseCase {
             return Result.error(Error.INVALID_GENDER);
         }
 
-        if (repository.addNewLearner(learner.setId(IdGenerator.generateId(learner)))) {
+        try {
+            learner.setId(idGenerator.applyAsInt(learner));
+        } catch (IllegalStateException e) {
+            return Result.error(Error.NO_IDS_LEFT);
+        }
+
+        // the learner can't be taken out of the repository again, so a journal that has stopped is caught first
+        journal.checkWritable();
+        if (repository.addNewLearner(learner)) {
+            journal.recordLearnerRegistered(learner);
+            eventBus.publish(new LearnerRegistered(learner));
             return Result.success(learner.getId());
         } else {
             return Result.error(Error.REPOSITORY_ERROR);
@@ -50,10 +90,17 @@ public class RegisterNewLearnerUseCase {
     }
 
     public enum Error {
-        INVALID_AGE, INVALID_GRADE, INVALID_PHONE_NUMBER, INVALID_GENDER, REPOSITORY_ERROR
+        INVALID_AGE, INVALID_GRADE, INVALID_PHONE_NUMBER, INVALID_GENDER, REPOSITORY_ERROR, NO_IDS_LEFT, INVALID_NAME
     }
 
     public static class Validator{
+        public static final int MAX_NAME_LENGTH = 100;
+        public static final int MAX_PHONE_NUMBER_LENGTH = 16;
+
+        public boolean validateName(String name) {
+            return name != null && name.length() <= MAX_NAME_LENGTH;
+        }
+
         public boolean validateAge(int age){
             return age >=  4 && age <= 11;
         }
@@ -65,7 +112,7 @@ public class RegisterNewLearnerUseCase {
         public boolean validatePhoneNumber(String phoneNumber) {
             if (phoneNumber == null || phoneNumber.isBlank()) return false;
 
-            if (phoneNumber.length() < 11) return false;
+            if (phoneNumber.length() < 11 || phoneNumber.length() > MAX_PHONE_NUMBER_LENGTH) return false;
 
             return phoneNumber.matches("\\+?[0-9]+");
         }
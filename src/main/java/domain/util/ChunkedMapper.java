@@ -0,0 +1,72 @@
+package domain.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Maps a list on a {@link ForkJoinPool}, splitting it into chunks
+ * <p>
+ * Every result is written to the index of its item, so the results come back in the order of the items
+ * no matter which chunk finishes first.
+ */
+public class ChunkedMapper {
+    private ChunkedMapper() {
+    }
+
+    /**
+     * Map every item of a list in parallel
+     *
+     * @param pool      pool to run the chunks on
+     * @param items     items to map, must not change while they are being mapped
+     * @param chunkSize number of items mapped by one task
+     * @param mapper    function applied to each item
+     * @return the mapped items, in the order of the items
+     */
+    public static <T, R> List<R> map(ForkJoinPool pool, List<T> items, int chunkSize, Function<? super T, ? extends R> mapper) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("The chunk size should be positive");
+
+        Object[] results = new Object[items.size()];
+        pool.invoke(new MapChunk<>(items, results, 0, items.size(), chunkSize, mapper));
+
+        @SuppressWarnings("unchecked")
+        List<R> mapped = (List<R>) Arrays.asList(results);
+        return mapped;
+    }
+
+    @SuppressWarnings("serial") // never serialized, only forked within a pool
+    private static class MapChunk<T, R> extends RecursiveAction {
+        private final List<T> items;
+        private final Object[] results;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final Function<? super T, ? extends R> mapper;
+
+        MapChunk(List<T> items, Object[] results, int from, int to, int chunkSize, Function<? super T, ? extends R> mapper) {
+            this.items = items;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                for (int i = from; i < to; i++) {
+                    results[i] = mapper.apply(items.get(i));
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                    new MapChunk<>(items, results, from, middle, chunkSize, mapper),
+                    new MapChunk<>(items, results, middle, to, chunkSize, mapper));
+        }
+    }
+}
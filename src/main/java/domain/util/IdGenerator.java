@@ -3,16 +3,28 @@ package domain.util;
 import domain.entity.learner.Learner;
 import domain.entity.lesson.Lesson;
 
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * ID generator
+ * <p>
+ * IDs are six digits: a type digit (1 for lessons, 2 for learners), a grade digit, then a four digit sequence number.
+ * Each type and grade pair has its own counter, so IDs are never handed out twice.
+ * IDs that were assigned elsewhere, such as sample data or replayed records, must be passed to {@link #markUsed(int)}
+ * for new IDs to skip past them.
  */
 public class IdGenerator {
-    private static final Random random = new Random();
-    private static final String LESSON_PREFIX = "1";  // First digit for lesson IDs
-    private static final String LEARNER_PREFIX = "2"; // First digit for learner IDs
-    private static final int ID_RANGE = 1000;    // Range for the remaining four digits
+    private static final int LESSON_PREFIX = 1;  // First digit for lesson IDs
+    private static final int LEARNER_PREFIX = 2; // First digit for learner IDs
+    private static final int PREFIX_FACTOR = 100_000;
+    private static final int GRADE_FACTOR = 10_000;
+    private static final int ID_RANGE = 10_000;  // Range for the remaining four digits
+
+    // next sequence number for each prefix and grade, at index (prefix - 1) * 10 + grade
+    private static final AtomicIntegerArray nextSequence = new AtomicIntegerArray(20);
+
+    private IdGenerator() {
+    }
 
     /**
      * Generate a new id for this learner
@@ -21,8 +33,7 @@ public class IdGenerator {
      * @return generated id
      */
     public static int generateId(Learner learner) {
-        String id = LEARNER_PREFIX + learner.getGrade() + String.format("%04d", random.nextInt(ID_RANGE));
-        return Integer.parseInt(id);
+        return reserve(LEARNER_PREFIX, learner.getGrade(), 1);
     }
 
     /**
@@ -32,8 +43,63 @@ public class IdGenerator {
      * @return generated id
      */
     public static int generateId(Lesson lesson) {
-        String id = LESSON_PREFIX + lesson.getGrade() + String.format("%04d", random.nextInt(ID_RANGE));
-        return Integer.parseInt(id);
+        return reserve(LESSON_PREFIX, lesson.getGrade(), 1);
+    }
+
+    /**
+     * Reserve a block of consecutive learner ids, e.g. for an import
+     *
+     * @param grade grade of the learners
+     * @param count number of ids
+     * @return the first id of the block, the rest follow on from it
+     */
+    public static int reserveLearnerIds(int grade, int count) {
+        return reserve(LEARNER_PREFIX, grade, count);
+    }
+
+    /**
+     * Reserve a block of consecutive lesson ids, e.g. for an import
+     *
+     * @param grade grade of the lessons
+     * @param count number of ids
+     * @return the first id of the block, the rest follow on from it
+     */
+    public static int reserveLessonIds(int grade, int count) {
+        return reserve(LESSON_PREFIX, grade, count);
+    }
+
+    /**
+     * Record that an id is already taken, so it won't be generated.
+     * Ids that don't follow the scheme are ignored
+     *
+     * @param id id in use
+     */
+    public static void markUsed(int id) {
+        int prefix = id / PREFIX_FACTOR;
+        if (id < 0 || (prefix != LESSON_PREFIX && prefix != LEARNER_PREFIX)) return;
+
+        int grade = id / GRADE_FACTOR % 10;
+        int sequence = id % GRADE_FACTOR;
+        nextSequence.accumulateAndGet(slot(prefix, grade), sequence + 1, Math::max);
+    }
+
+    private static int reserve(int prefix, int grade, int count) {
+        if (grade < 0 || grade > 9) throw new IllegalArgumentException("Grade " + grade + " doesn't fit in an id");
+        if (count <= 0) throw new IllegalArgumentException("At least one id should be reserved");
+
+        int slot = slot(prefix, grade);
+        int first;
+        do {
+            first = nextSequence.get(slot);
+            if (first > ID_RANGE - count) {
+                throw new IllegalStateException("No ids are left for grade " + grade);
+            }
+        } while (!nextSequence.compareAndSet(slot, first, first + count));
+
+        return prefix * PREFIX_FACTOR + grade * GRADE_FACTOR + first;
     }
 
-}
\ No newline at end of file
+    private static int slot(int prefix, int grade) {
+        return (prefix - 1) * 10 + grade;
+    }
+}
@@ -0,0 +1,247 @@
+package domain.util;
+
+import java.util.Arrays;
+
+/**
+ * A hash map keyed by primitive {@code int} values
+ * <p>
+ * Keys are stored in a flat {@code int[]} using open addressing with linear probing,
+ * so lookups never box the key into an {@link Integer} or allocate an entry object.
+ * This class is not thread-safe.
+ *
+ * @param <V> type of the mapped values
+ */
+public class IntHashMap<V> {
+    private static final int FREE_KEY = 0; // slots holding this key are empty
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    // the free key can't live in the table, so it's stored separately
+    private boolean hasFreeKey;
+    private Object freeKeyValue;
+
+    public IntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize number of entries expected to be stored without resizing
+     */
+    public IntHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Get the value mapped to a key
+     *
+     * @param key key
+     * @return the mapped value, or null if there is no mapping for the key
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key == FREE_KEY) return hasFreeKey ? (V) freeKeyValue : null;
+
+        int slot = indexOf(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * Check if there is a mapping for a key
+     *
+     * @param key key
+     * @return true if the key is mapped, false otherwise
+     */
+    public boolean containsKey(int key) {
+        if (key == FREE_KEY) return hasFreeKey;
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Map a key to a value, replacing any existing mapping
+     *
+     * @param key   key
+     * @param value value
+     * @return the previously mapped value, or null if there was none
+     */
+    public V put(int key, V value) {
+        return put(key, value, true);
+    }
+
+    /**
+     * Map a key to a value only if the key isn't already mapped
+     *
+     * @param key   key
+     * @param value value
+     * @return the existing value if there was one, null otherwise
+     */
+    public V putIfAbsent(int key, V value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * Remove the mapping for a key
+     *
+     * @param key key
+     * @return the removed value, or null if the key wasn't mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key == FREE_KEY) {
+            if (!hasFreeKey) return null;
+            V previous = (V) freeKeyValue;
+            hasFreeKey = false;
+            freeKeyValue = null;
+            size--;
+            return previous;
+        }
+
+        int slot = indexOf(key);
+        if (slot < 0) return null;
+
+        V previous = (V) values[slot];
+        shiftKeys(slot);
+        size--;
+        return previous;
+    }
+
+    /**
+     * Get the number of mappings in this map
+     *
+     * @return number of mappings
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all the mappings in this map
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE_KEY);
+        Arrays.fill(values, null);
+        hasFreeKey = false;
+        freeKeyValue = null;
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V put(int key, V value, boolean replace) {
+        if (key == FREE_KEY) {
+            V previous = (V) freeKeyValue;
+            if (!hasFreeKey) {
+                hasFreeKey = true;
+                freeKeyValue = value;
+                size++;
+            } else if (replace) {
+                freeKeyValue = value;
+            }
+            return previous;
+        }
+
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE_KEY) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                if (replace) values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeThreshold) {
+            rehash(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Find the table slot holding a key
+     *
+     * @return the slot index, or -1 if the key isn't in the table
+     */
+    private int indexOf(int key) {
+        int slot = mix(key) & mask;
+        int current;
+        while ((current = keys[slot]) != FREE_KEY) {
+            if (current == key) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Close the gap left by a removed slot by moving back any entry that probed past it
+     */
+    private void shiftKeys(int slot) {
+        int last;
+        while (true) {
+            last = slot;
+            slot = (slot + 1) & mask;
+            while (true) {
+                int current = keys[slot];
+                if (current == FREE_KEY) {
+                    keys[last] = FREE_KEY;
+                    values[last] = null;
+                    return;
+                }
+                int home = mix(current) & mask;
+                // move the entry only if its home slot isn't cyclically between last and slot
+                if (last <= slot ? (last >= home || home > slot) : (last >= home && home > slot)) break;
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = keys[slot];
+            values[last] = values[slot];
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key == FREE_KEY) continue;
+
+            int slot = mix(key) & mask;
+            while (keys[slot] != FREE_KEY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Spread the key bits, IDs are sequential-ish, so they'd otherwise cluster in the table
+     */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        long required = Math.max(DEFAULT_CAPACITY, (long) Math.ceil(expectedSize / LOAD_FACTOR) + 1);
+        if (required > (1 << 30)) throw new IllegalArgumentException("Expected size is too large: " + expectedSize);
+        return Integer.highestOneBit((int) (required - 1)) << 1;
+    }
+}
@@ -41,8 +41,7 @@ public class LessonUtil {
             initialRating += review1.getRating();
         }
 
-        double roundedAverage = new BigDecimal(initialRating / review.size()).setScale(1, RoundingMode.HALF_UP).doubleValue();
-        return new Rating(roundedAverage);
+        return new Rating(roundRating(initialRating / review.size()));
     }
 
     /**
@@ -64,7 +63,28 @@ public class LessonUtil {
             initialRating += rating.getRatingValue();
         }
 
-        double roundedAverage = new BigDecimal(initialRating / filteredRatings.size()).setScale(1, RoundingMode.HALF_UP).doubleValue();
-        return new Rating(roundedAverage);
+        return new Rating(roundRating(initialRating / filteredRatings.size()));
+    }
+
+    /**
+     * Round a rating half up to one decimal place
+     *
+     * @param rating rating value
+     * @return the rounded rating value
+     */
+    public static double roundRating(double rating) {
+        return new BigDecimal(rating).setScale(1, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    /**
+     * Round an exact ratio of ratings half up to one decimal place.
+     * Unlike dividing in double first, a ratio ending in exactly 5 hundredths always rounds up
+     *
+     * @param sum   sum of the ratings
+     * @param count number of ratings summed, more than 0
+     * @return the rounded rating value
+     */
+    public static double roundRating(long sum, long count) {
+        return BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), 1, RoundingMode.HALF_UP).doubleValue();
     }
 }
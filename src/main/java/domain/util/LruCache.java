@@ -0,0 +1,112 @@
+package domain.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded cache evicting the least recently used entry, counting its hits and misses
+ * <p>
+ * Values are computed outside the cache's lock, so a slow computation doesn't hold up other keys. A key invalidated
+ * while its value is being computed doesn't get that value cached, as it may have been computed from what changed.
+ * Invalidations are tracked per stripe of keys rather than per key, so an unrelated key on the same stripe can
+ * occasionally miss out on being cached, but never get a stale value.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the cached values
+ */
+public class LruCache<K, V> {
+    private static final int VERSION_STRIPES = 1024;
+
+    private final int capacity;
+    private final LinkedHashMap<K, V> entries;
+    // number of invalidations of each stripe of keys, guarded by this
+    private final long[] versions = new long[VERSION_STRIPES];
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * @param capacity most entries kept, 0 to cache nothing
+     */
+    public LruCache(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("The capacity can't be negative");
+
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() <= LruCache.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get the cached value of a key, computing and caching it if there is none
+     *
+     * @param key     key
+     * @param compute computes the value of the key, must not return null
+     * @return the value
+     */
+    public V get(K key, Function<? super K, ? extends V> compute) {
+        long version;
+        synchronized (this) {
+            V value = entries.get(key);
+            if (value != null) {
+                hits++;
+                return value;
+            }
+            misses++;
+            version = versions[stripe(key)];
+        }
+
+        V value = compute.apply(key);
+        synchronized (this) {
+            if (capacity > 0 && versions[stripe(key)] == version) entries.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Drop the cached value of a key, so it's computed again the next time
+     *
+     * @param key key
+     */
+    public synchronized void invalidate(K key) {
+        versions[stripe(key)]++;
+        entries.remove(key);
+    }
+
+    /**
+     * Drop every cached value
+     */
+    public synchronized void invalidateAll() {
+        for (int i = 0; i < versions.length; i++) versions[i]++;
+        entries.clear();
+    }
+
+    /**
+     * @return the hit and miss counts so far, and the number of entries cached
+     */
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, entries.size());
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    /**
+     * Counters of a cache
+     *
+     * @param hits      lookups answered from the cache
+     * @param misses    lookups that computed the value
+     * @param evictions entries dropped to make room for others
+     * @param size      entries cached
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+    }
+}
@@ -0,0 +1,69 @@
+package domain.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of locks that keys are spread across
+ * <p>
+ * Keys that land on the same stripe are serialised, while keys on different stripes run in parallel.
+ * This bounds the number of locks no matter how many keys there are.
+ */
+public class StripedLock {
+    private static final StripedLock LESSON_LOCKS = new StripedLock(256);
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripeCount number of locks, rounded up to a power of two
+     */
+    public StripedLock(int stripeCount) {
+        if (stripeCount <= 0) throw new IllegalArgumentException("There should be at least one stripe");
+
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Get the locks shared by everything that changes the bookings of a lesson
+     *
+     * @return the lesson locks
+     */
+    public static StripedLock lessonLocks() {
+        return LESSON_LOCKS;
+    }
+
+    /**
+     * Get the lock guarding a key
+     *
+     * @param key key, equal keys always get the same lock
+     * @return the lock for the key
+     */
+    public ReentrantLock lockFor(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    /**
+     * Run an action while holding the lock for a key
+     *
+     * @param key    key
+     * @param action action to run
+     * @return the result of the action
+     */
+    public <T> T withLock(Object key, Supplier<T> action) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package domain.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hashed timer wheel
+ * <p>
+ * Time is cut into ticks and every pending timeout sits in the bucket of the tick it's due on, wrapped around
+ * a fixed number of buckets. Scheduling and cancelling are O(1), and advancing the wheel only looks at the buckets
+ * of the ticks that went by, so any number of timeouts costs one linked node each and no scheduled task.
+ * <p>
+ * The wheel doesn't run a thread of its own: something has to call {@link #advance(long)} every tick or so.
+ * Timeouts are never expired early, and late by at most one tick plus however late the wheel is advanced.
+ *
+ * @param <T> type of the items timed out
+ */
+public class TimerWheel<T> {
+    private final long startMillis;
+    private final long tickMillis;
+    private final Timeout<T>[] buckets;
+    private final int mask;
+    // the last tick that has been expired
+    private long currentTick = 0;
+    private int size = 0;
+
+    /**
+     * @param startMillis time the wheel starts at, on the same clock as the deadlines
+     * @param tickMillis  length of a tick
+     * @param wheelSize   number of buckets, rounded up to a power of two
+     */
+    public TimerWheel(long startMillis, long tickMillis, int wheelSize) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("The tick length should be positive");
+        if (wheelSize <= 0) throw new IllegalArgumentException("There should be at least one bucket");
+
+        int bucketCount = wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1;
+
+        this.startMillis = startMillis;
+        this.tickMillis = tickMillis;
+        @SuppressWarnings("unchecked")
+        Timeout<T>[] buckets = (Timeout<T>[]) new Timeout<?>[bucketCount];
+        this.buckets = buckets;
+        this.mask = bucketCount - 1;
+    }
+
+    /**
+     * Schedule an item to time out
+     *
+     * @param item           item
+     * @param deadlineMillis time the item times out at. A deadline already gone by times out on the next advance
+     * @return the timeout, which can be cancelled until it expires
+     */
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis - startMillis, tickMillis), currentTick + 1);
+
+        var timeout = new Timeout<>(this, item, deadlineTick);
+        int bucket = (int) (deadlineTick & mask);
+        timeout.next = buckets[bucket];
+        if (timeout.next != null) timeout.next.previous = timeout;
+        buckets[bucket] = timeout;
+        size++;
+
+        return timeout;
+    }
+
+    /**
+     * Expire every timeout due by a time
+     *
+     * @param nowMillis current time
+     * @return the items that timed out, in no particular order
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        var expired = new ArrayList<T>();
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (targetTick <= currentTick) return expired;
+
+        // past a full turn every bucket is due, and each only needs looking at once
+        long ticks = Math.min(targetTick - currentTick, buckets.length);
+        for (long tick = currentTick + 1; tick <= currentTick + ticks; tick++) {
+            expireBucket((int) (tick & mask), targetTick, expired);
+        }
+        currentTick = targetTick;
+
+        return expired;
+    }
+
+    /**
+     * @return the number of timeouts pending
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Remove the timeouts of a bucket due by a tick. The others are due on a later turn of the wheel
+     */
+    private void expireBucket(int bucket, long targetTick, List<T> expired) {
+        var timeout = buckets[bucket];
+        while (timeout != null) {
+            var next = timeout.next;
+            if (timeout.deadlineTick <= targetTick) {
+                unlink(timeout, bucket);
+                expired.add(timeout.item);
+            }
+            timeout = next;
+        }
+    }
+
+    private synchronized boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isPending) return false;
+
+        unlink(timeout, (int) (timeout.deadlineTick & mask));
+        return true;
+    }
+
+    private void unlink(Timeout<T> timeout, int bucket) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            buckets[bucket] = timeout.next;
+        }
+        if (timeout.next != null) timeout.next.previous = timeout.previous;
+
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.isPending = false;
+        size--;
+    }
+
+    /**
+     * A scheduled timeout, linked into the bucket of its deadline
+     *
+     * @param <T> type of the item
+     */
+    public static class Timeout<T> {
+        private final TimerWheel<T> wheel;
+        private final T item;
+        private final long deadlineTick;
+        // guarded by the wheel
+        private Timeout<T> previous;
+        private Timeout<T> next;
+        private boolean isPending = true;
+
+        private Timeout(TimerWheel<T> wheel, T item, long deadlineTick) {
+            this.wheel = wheel;
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Take the timeout off the wheel, so its item never times out
+         *
+         * @return true if it was cancelled, false if it had already expired or been cancelled
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+}
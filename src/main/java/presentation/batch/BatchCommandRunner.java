@@ -0,0 +1,276 @@
+package presentation.batch;
+
+import domain.entity.Review;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.BookingRequest;
+import domain.entity.lesson.Lesson;
+import domain.repository.LearnerRepository;
+import domain.repository.LessonRepository;
+import domain.usecase.*;
+import domain.util.Result;
+import presentation.view.ReportPrinter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs booking commands read line by line, without any menus
+ * <p>
+ * One command per line, blank lines and lines starting with # are skipped. Arguments are separated by spaces,
+ * and an argument with spaces in it can be put in double quotes.
+ * <pre>
+ * REGISTER &lt;name&gt; &lt;gender&gt; &lt;age&gt; &lt;grade&gt; &lt;phone number&gt; &lt;emergency contact number&gt;
+ * BOOK &lt;learner id&gt; &lt;lesson id&gt;
+ * CANCEL &lt;learner id&gt; &lt;lesson id&gt;
+ * ATTEND &lt;learner id&gt; &lt;lesson id&gt; &lt;rating&gt; &lt;review message...&gt;
+ * REPORT LEARNERS | COACHES | &lt;learner id&gt;
+ * </pre>
+ * Each command writes one result line: its line number, then OK or ERROR with the error code.
+ * A successful REGISTER is followed by the new learner id, and a REPORT by the report itself.
+ * The output is only flushed at the end, so it should be given a buffered writer.
+ * <p>
+ * A run of BOOK commands is booked together through {@link BookLessonUseCase#bookLessons(List)}, which locks each lesson
+ * once for the whole run. Any other command waits for the bookings before it to be made, so the results are the same as
+ * running the commands one by one.
+ */
+public class BatchCommandRunner {
+    // BOOK commands queued before they're booked together, bounding the memory held for a long run of them
+    private static final int MAX_PENDING_BOOKINGS = 4096;
+
+    private final AttendLessonUseCase attendLessonUseCase;
+    private final BookLessonUseCase bookLessonUseCase;
+    private final CancelLessonUseCase cancelLessonUseCase;
+    private final GenerateCoachReportUseCase generateCoachReportUseCase;
+    private final GenerateLearnerReportUseCase generateLearnerReportUseCase;
+    private final RegisterNewLearnerUseCase registerNewLearnerUseCase;
+    private final LearnerRepository learnerRepository;
+    private final LessonRepository lessonRepository;
+    private final List<PendingBooking> pendingBookings = new ArrayList<>();
+
+    public BatchCommandRunner(AttendLessonUseCase attendLessonUseCase,
+                              BookLessonUseCase bookLessonUseCase,
+                              CancelLessonUseCase cancelLessonUseCase,
+                              GenerateCoachReportUseCase generateCoachReportUseCase,
+                              GenerateLearnerReportUseCase generateLearnerReportUseCase,
+                              RegisterNewLearnerUseCase registerNewLearnerUseCase,
+                              LearnerRepository learnerRepository,
+                              LessonRepository lessonRepository) {
+        this.attendLessonUseCase = attendLessonUseCase;
+        this.bookLessonUseCase = bookLessonUseCase;
+        this.cancelLessonUseCase = cancelLessonUseCase;
+        this.generateCoachReportUseCase = generateCoachReportUseCase;
+        this.generateLearnerReportUseCase = generateLearnerReportUseCase;
+        this.registerNewLearnerUseCase = registerNewLearnerUseCase;
+        this.learnerRepository = learnerRepository;
+        this.lessonRepository = lessonRepository;
+    }
+
+    /**
+     * Run every command of the input, in order
+     *
+     * @param in  commands, one per line
+     * @param out where the result of each command is written to
+     * @return the number of commands that failed
+     * @throws IOException if the input can't be read or the output can't be written to
+     */
+    public int run(Reader in, Writer out) throws IOException {
+        var reader = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in, 1 << 16);
+        var arguments = new ArrayList<String>();
+        int failures = 0;
+        int lineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String command = line.strip();
+            if (command.isEmpty() || command.charAt(0) == '#') continue;
+
+            Object error;
+            try {
+                split(command, arguments);
+                if (!arguments.get(0).equalsIgnoreCase("BOOK")) failures += runPendingBookings(out);
+                error = runCommand(arguments, out, lineNumber);
+            } catch (IllegalArgumentException e) {
+                error = "INVALID_COMMAND " + e.getMessage();
+            }
+
+            if (error != null) {
+                failures += runPendingBookings(out);
+                failures++;
+                writeError(out, lineNumber, error);
+            } else if (pendingBookings.size() >= MAX_PENDING_BOOKINGS) {
+                failures += runPendingBookings(out);
+            }
+        }
+        failures += runPendingBookings(out);
+        out.flush();
+
+        return failures;
+    }
+
+    /**
+     * Run one command, writing its result line on success. BOOK commands are queued, and their result written once they're booked
+     *
+     * @return the error of the command, or null if it succeeded or was queued
+     */
+    private Object runCommand(List<String> arguments, Writer out, int lineNumber) throws IOException {
+        String name = arguments.get(0);
+
+        switch (name.toUpperCase()) {
+            case "REGISTER" -> {
+                requireArguments(arguments, 7, "REGISTER <name> <gender> <age> <grade> <phone number> <emergency contact number>");
+                var learner = new Learner(arguments.get(1), arguments.get(2),
+                        parseInt(arguments.get(3), "age"), parseInt(arguments.get(4), "grade"),
+                        arguments.get(5), arguments.get(6));
+                var result = registerNewLearnerUseCase.registerLearner(learner);
+                if (!result.isSuccess()) return result.getError();
+
+                writeOk(out, lineNumber).append(' ').append(Integer.toString(result.getData())).append('\n');
+                return null;
+            }
+            case "BOOK" -> {
+                requireArguments(arguments, 3, "BOOK <learner id> <lesson id>");
+                return queueBooking(arguments, lineNumber);
+            }
+            case "CANCEL" -> {
+                requireArguments(arguments, 3, "CANCEL <learner id> <lesson id>");
+                return runBookingCommand(arguments, out, lineNumber, (learner, lesson) -> cancelLessonUseCase.cancelLesson(lesson, learner));
+            }
+            case "ATTEND" -> {
+                if (arguments.size() < 5) throw new IllegalArgumentException("usage: ATTEND <learner id> <lesson id> <rating> <review message...>");
+                var review = new Review(String.join(" ", arguments.subList(4, arguments.size())), parseInt(arguments.get(3), "rating"));
+                return runBookingCommand(arguments, out, lineNumber, (learner, lesson) -> attendLessonUseCase.attendLesson(lesson, learner, () -> review));
+            }
+            case "REPORT" -> {
+                requireArguments(arguments, 2, "REPORT LEARNERS | COACHES | <learner id>");
+                return runReportCommand(arguments.get(1), out, lineNumber);
+            }
+            default -> throw new IllegalArgumentException("unknown command " + name);
+        }
+    }
+
+    private Object runBookingCommand(List<String> arguments, Writer out, int lineNumber, BookingCommand command) throws IOException {
+        var learner = learnerRepository.getLearnerById(parseInt(arguments.get(1), "learner id"));
+        if (!learner.isSuccess()) return learner.getError();
+
+        var lesson = lessonRepository.getLessonById(parseInt(arguments.get(2), "lesson id"));
+        if (!lesson.isSuccess()) return lesson.getError();
+
+        var result = command.run(learner.getData(), lesson.getData());
+        if (!result.isSuccess()) return result.getError();
+
+        writeOk(out, lineNumber).append('\n');
+        return null;
+    }
+
+    private Object queueBooking(List<String> arguments, int lineNumber) {
+        var learner = learnerRepository.getLearnerById(parseInt(arguments.get(1), "learner id"));
+        if (!learner.isSuccess()) return learner.getError();
+
+        var lesson = lessonRepository.getLessonById(parseInt(arguments.get(2), "lesson id"));
+        if (!lesson.isSuccess()) return lesson.getError();
+
+        pendingBookings.add(new PendingBooking(lineNumber, new BookingRequest(lesson.getData(), learner.getData())));
+        return null;
+    }
+
+    /**
+     * Book every queued BOOK command and write their results
+     *
+     * @return the number of bookings that failed
+     */
+    private int runPendingBookings(Writer out) throws IOException {
+        if (pendingBookings.isEmpty()) return 0;
+
+        var requests = new ArrayList<BookingRequest>(pendingBookings.size());
+        pendingBookings.forEach(pending -> requests.add(pending.request()));
+        var results = bookLessonUseCase.bookLessons(requests);
+
+        int failures = 0;
+        for (int i = 0; i < results.size(); i++) {
+            int lineNumber = pendingBookings.get(i).lineNumber();
+            if (results.get(i).isSuccess()) {
+                writeOk(out, lineNumber).append('\n');
+            } else {
+                failures++;
+                writeError(out, lineNumber, results.get(i).getError());
+            }
+        }
+        pendingBookings.clear();
+
+        return failures;
+    }
+
+    private Object runReportCommand(String target, Writer out, int lineNumber) throws IOException {
+        if (target.equalsIgnoreCase("LEARNERS")) {
+            writeOk(out, lineNumber).append('\n');
+            ReportPrinter.printLearnerReports(generateLearnerReportUseCase.getReportForAllLearners(), out);
+        } else if (target.equalsIgnoreCase("COACHES")) {
+            writeOk(out, lineNumber).append('\n');
+            ReportPrinter.printCoachReports(generateCoachReportUseCase.getReportForAllCoaches(), out);
+        } else {
+            var learner = learnerRepository.getLearnerById(parseInt(target, "learner id"));
+            if (!learner.isSuccess()) return learner.getError();
+
+            writeOk(out, lineNumber).append('\n');
+            ReportPrinter.printLearnerReport(generateLearnerReportUseCase.getReportForLearner(learner.getData()), out);
+        }
+        return null;
+    }
+
+    private static Writer writeOk(Writer out, int lineNumber) throws IOException {
+        return out.append(Integer.toString(lineNumber)).append(" OK");
+    }
+
+    private static void writeError(Writer out, int lineNumber, Object error) throws IOException {
+        out.append(Integer.toString(lineNumber)).append(" ERROR ").append(error.toString()).append('\n');
+    }
+
+    /**
+     * Split a command into its arguments, keeping quoted arguments whole
+     */
+    private static void split(String command, List<String> arguments) {
+        arguments.clear();
+        int i = 0;
+        int length = command.length();
+        while (i < length) {
+            char c = command.charAt(i);
+            if (c == ' ' || c == '\t') {
+                i++;
+            } else if (c == '"') {
+                int end = command.indexOf('"', i + 1);
+                if (end < 0) throw new IllegalArgumentException("unterminated quote");
+                arguments.add(command.substring(i + 1, end));
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < length && command.charAt(end) != ' ' && command.charAt(end) != '\t') end++;
+                arguments.add(command.substring(i, end));
+                i = end;
+            }
+        }
+    }
+
+    private static void requireArguments(List<String> arguments, int count, String usage) {
+        if (arguments.size() != count) throw new IllegalArgumentException("usage: " + usage);
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " should be an integer");
+        }
+    }
+
+    private interface BookingCommand {
+        Result<Object, ?> run(Learner learner, Lesson lesson);
+    }
+
+    private record PendingBooking(int lineNumber, BookingRequest request) {
+    }
+}
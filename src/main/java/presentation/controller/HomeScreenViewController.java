@@ -10,20 +10,24 @@ import domain.entity.lesson.RegisteredLesson;
 import domain.repository.CoachRepository;
 import domain.repository.LearnerRepository;
 import domain.usecase.*;
-import domain.util.LessonUtil;
 import domain.util.Result;
 import presentation.view.CLIView;
 import presentation.view.components.text.InputConsumer;
 import presentation.view.ReportPrinter;
 import presentation.view.components.optionpicker.OptionPickerStyle;
+import presentation.view.components.optionpicker.PagedOptions;
 import presentation.view.components.text.MessageType;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class HomeScreenViewController {
+    private static final DateTimeFormatter LESSON_DATE_FORMAT = DateTimeFormatter.ofPattern("EEEE - MMMM d", Locale.ENGLISH);
+    private static final int LESSONS_PER_PAGE = 10;
+
     private CLIView view;
     private final AttendLessonUseCase attendLessonUseCase;
     private final BookLessonUseCase bookLessonUseCase;
@@ -36,6 +40,11 @@ public class HomeScreenViewController {
     private final LearnerRepository learnerRepository;
     private final CoachRepository coachRepository;
 
+    /**
+     * The screen to show once the current one returns, or null to stop
+     */
+    private Screen nextScreen = null;
+
     String nameBeingRegistered = null;
     String genderBeingRegistered = null;
     Integer ageBeingRegistered = null;
@@ -81,7 +90,42 @@ public class HomeScreenViewController {
 
         view.showMessage(appHeader, MessageType.INFO);
 
-        showMainMenuOptions();
+        navigateTo(Screen.MAIN_MENU);
+        run();
+    }
+
+    /**
+     * Show screens until no next screen is set.
+     * Screens never show each other directly. They set the next screen and return here,
+     * so the stack stays the same depth however long the session runs
+     */
+    private void run() {
+        while (nextScreen != null) {
+            Screen screen = nextScreen;
+            nextScreen = null;
+
+            switch (screen) {
+                case MAIN_MENU -> showMainMenuOptions();
+                case EXIT_OR_MAIN_MENU -> showExitOrMainMenuOption();
+                case BOOK_LESSON_OR_EXIT_TO_MAIN_MENU -> showBookLessonOrExitToMainMenuOption();
+                case REGISTER_LEARNER -> onRegisterNewUser();
+                case BOOK_LESSON -> onBookSwimmingLesson();
+                case MANAGE_BOOKING -> onManageOrCancelBooking();
+                case ATTEND_LESSON -> onAttendSwimmingLesson();
+                case LEARNER_REPORT -> onPrintLearnerReport();
+                case COACH_REPORT -> onPrintCoachReport();
+                case ALL_LEARNERS -> onDisplayAllLearners();
+            }
+        }
+    }
+
+    /**
+     * Set the screen to show once the current one returns
+     *
+     * @param screen next screen
+     */
+    private void navigateTo(Screen screen) {
+        nextScreen = screen;
     }
 
     /**
@@ -102,16 +146,16 @@ public class HomeScreenViewController {
             view.showMessage("\n----- * " + value + " * -----\n", MessageType.INFO);
 
             switch (index) {
-                case 0 -> onRegisterNewUser();
-                case 1 -> onBookSwimmingLesson();
-                case 2 -> onManageOrCancelBooking();
-                case 3 -> onAttendSwimmingLesson();
-                case 4 -> onPrintLearnerReport();
-                case 5 -> onPrintCoachReport();
-                case 6 -> onDisplayAllLearners();
+                case 0 -> navigateTo(Screen.REGISTER_LEARNER);
+                case 1 -> navigateTo(Screen.BOOK_LESSON);
+                case 2 -> navigateTo(Screen.MANAGE_BOOKING);
+                case 3 -> navigateTo(Screen.ATTEND_LESSON);
+                case 4 -> navigateTo(Screen.LEARNER_REPORT);
+                case 5 -> navigateTo(Screen.COACH_REPORT);
+                case 6 -> navigateTo(Screen.ALL_LEARNERS);
                 default -> {
                     view.showMessage("Invalid Selection", MessageType.ERROR);
-                    showMainMenuOptions();
+                    navigateTo(Screen.MAIN_MENU);
                 }
             }
         });
@@ -135,6 +179,9 @@ public class HomeScreenViewController {
             if (data.isBlank()) {
                 return Result.error("Please enter a name");
             }
+            if (!registerNewLearnerUseCase.getValidator().validateName(data)) {
+                return Result.error("Please enter a name of at most " + RegisterNewLearnerUseCase.Validator.MAX_NAME_LENGTH + " characters");
+            }
             nameBeingRegistered = data;
             return InputConsumer.success;
         });
@@ -206,11 +253,13 @@ public class HomeScreenViewController {
                 case INVALID_GENDER -> "Please enter a valid gender";
                 case INVALID_PHONE_NUMBER, REPOSITORY_ERROR ->
                         "Please enter a valid phone number that is 11 digits. e.g 07874813069";
+                case NO_IDS_LEFT -> "No more learners can be registered for this grade";
+                case INVALID_NAME -> "Please enter a name of at most " + RegisterNewLearnerUseCase.Validator.MAX_NAME_LENGTH + " characters";
             };
             view.showMessage(errorMessage, MessageType.ERROR);
         }
 
-        showMainMenuOptions();
+        navigateTo(Screen.MAIN_MENU);
     }
 
     /**
@@ -226,7 +275,7 @@ public class HomeScreenViewController {
 
             if (bookedLessons.isEmpty()) {
                 view.showMessage("You don't have any booked lesson to attend", MessageType.ERROR);
-                showBookLessonOrExitToMainMenuOption();
+                navigateTo(Screen.BOOK_LESSON_OR_EXIT_TO_MAIN_MENU);
             } else {
                 requestPickFromLessons(
                         "Please select from one of your booked lesson to attend",
@@ -251,7 +300,7 @@ public class HomeScreenViewController {
                 var msg = learner.getRegisteredLessons().isEmpty() ? "You have not yet booked any lesson to cancel or amend"
                         : "You have attended all you booked lessons, and you can only amend lessons that you have not attended.";
                 view.showMessage(msg, MessageType.ERROR);
-                showBookLessonOrExitToMainMenuOption();
+                navigateTo(Screen.BOOK_LESSON_OR_EXIT_TO_MAIN_MENU);
             } else {
                 var options = filteredLessons
                         .stream()
@@ -290,7 +339,7 @@ public class HomeScreenViewController {
                                             };
                                             view.showMessage(msg, MessageType.ERROR);
                                         }
-                                        showExitOrMainMenuOption();
+                                        navigateTo(Screen.EXIT_OR_MAIN_MENU);
                                     }
                                 });
                             }
@@ -306,14 +355,14 @@ public class HomeScreenViewController {
         var options = List.of("Print for all coaches", "Print for a specific coach");
         view.showOptionsPicker(options, OptionPickerStyle.HORIZONTAL, null, (index, value) -> {
             if (index == 0) {
-                String msg = ReportPrinter.prettyPrintCoachReports(generateCoachReportUseCase.getReportForAllCoaches());
-                view.showMessage(msg, MessageType.INFO);
-                showExitOrMainMenuOption();
+                var reports = generateCoachReportUseCase.getReportForAllCoaches();
+                view.showMessage(out -> ReportPrinter.printCoachReports(reports, out), MessageType.INFO);
+                navigateTo(Screen.EXIT_OR_MAIN_MENU);
             } else {
                 getCoachFromAllCoaches("Please select a coach", coach -> {
-                    String msg = ReportPrinter.prettyPrintCoachReport(generateCoachReportUseCase.getReportForCoach(coach));
-                    view.showMessage(msg, MessageType.INFO);
-                    showExitOrMainMenuOption();
+                    var report = generateCoachReportUseCase.getReportForCoach(coach);
+                    view.showMessage(out -> ReportPrinter.printCoachReport(report, out), MessageType.INFO);
+                    navigateTo(Screen.EXIT_OR_MAIN_MENU);
                 });
             }
         });
@@ -326,14 +375,14 @@ public class HomeScreenViewController {
         var options = List.of("Print for all learners", "Print for a specific learner");
         view.showOptionsPicker(options, OptionPickerStyle.HORIZONTAL, null, (index, value) -> {
             if (index == 0) {
-                String msg = ReportPrinter.prettyPrintLearnerReports(generateLearnerReportUseCase.getReportForAllLearners());
-                view.showMessage(msg, MessageType.INFO);
-                showExitOrMainMenuOption();
+                var reports = generateLearnerReportUseCase.getReportForAllLearners();
+                view.showMessage(out -> ReportPrinter.printLearnerReports(reports, out), MessageType.INFO);
+                navigateTo(Screen.EXIT_OR_MAIN_MENU);
             } else {
                 requestLearnerById(learner -> {
-                    String msg = ReportPrinter.prettyPrintLearnerReport(generateLearnerReportUseCase.getReportForLearner(learner));
-                    view.showMessage(msg, MessageType.INFO);
-                    showExitOrMainMenuOption();
+                    var report = generateLearnerReportUseCase.getReportForLearner(learner);
+                    view.showMessage(out -> ReportPrinter.printLearnerReport(report, out), MessageType.INFO);
+                    navigateTo(Screen.EXIT_OR_MAIN_MENU);
                 });
             }
         });
@@ -357,7 +406,7 @@ public class HomeScreenViewController {
             learners.forEach(this::printLearnerDetails);
         }
 
-        showExitOrMainMenuOption();
+        navigateTo(Screen.EXIT_OR_MAIN_MENU);
     }
 
     /**
@@ -367,7 +416,8 @@ public class HomeScreenViewController {
      * @param learner learner
      */
     private void doAttendLesson(Lesson lesson, Learner learner) {
-        var result = attendLessonUseCase.attendLesson(lesson, learner, this::provideLessonReview);
+        // the review is provided through the view's callbacks, this thread is parked until it arrives
+        var result = attendLessonUseCase.attendLessonAsync(lesson, learner, this::provideLessonReview).join();
 
         if (result.isSuccess()) {
             printSuccessfulLessonAttendedMsg(lesson, learner);
@@ -376,12 +426,15 @@ public class HomeScreenViewController {
                 case LEARNER_NOT_REGISTERED_TO_LESSON ->
                         "You cannot attend this lesson as you are not registered for it";
                 case LESSON_ALREADY_ATTENDED -> "You have already attended this lesson";
+                case LESSON_FULLY_BOOKED -> "This lesson is fully booked";
                 case INVALID_REVIEW_RATING -> "Review rating invalid. it should be between 1 to 5";
                 case EMPTY_REVIEW_MESSAGE -> "You provided an empty review message";
+                case REVIEW_MESSAGE_TOO_LONG ->
+                        "Review messages can be at most " + AttendLessonUseCase.MAX_REVIEW_MESSAGE_LENGTH + " characters";
             };
             view.showMessage(errorMsg, MessageType.ERROR);
         }
-        showExitOrMainMenuOption();
+        navigateTo(Screen.EXIT_OR_MAIN_MENU);
     }
 
     /**
@@ -392,10 +445,13 @@ public class HomeScreenViewController {
      */
     private void doBookLesson(Lesson lesson, Learner learner) {
         var result = bookLessonUseCase.bookLesson(lesson, learner);
+        boolean isWaiting = !result.isSuccess() && result.getError() == BookLessonUseCase.Error.LESSON_FULLY_BOOKED;
+        // the position is read after the lesson is unlocked, so a seat may already have gone to the learner
+        int waitlistPosition = isWaiting ? bookLessonUseCase.getWaitlistPosition(lesson, learner) : 0;
 
-        if (result.isSuccess()) {
+        if (result.isSuccess() || (isWaiting && learner.getLessonStatus(lesson) == LessonStatus.BOOKED)) {
             printBookingDetails(learner, lesson);
-            showExitOrMainMenuOption();
+            navigateTo(Screen.EXIT_OR_MAIN_MENU);
         } else {
             String errorMsg = switch (result.getError()) {
                 case LESSON_ABOVE_LEARNER_GRADE ->
@@ -403,12 +459,15 @@ public class HomeScreenViewController {
                 case LESSON_BELOW_LEARNER_GRADE ->
                         "This grade (" + lesson.getGrade() + ") lesson is below your current grade of " + learner.getGrade();
                 case DUPLICATE_BOOKING -> "You have already booked this lesson";
-                case LESSON_FULLY_BOOKED -> "This lesson is fully booked";
+                case LESSON_FULLY_BOOKED -> waitlistPosition == 0
+                        ? "This lesson is fully booked"
+                        : "This lesson is fully booked. You are number " + waitlistPosition
+                        + " on the waitlist, and will be booked in when a seat frees up";
             };
             view.showMessage("Booking Failed", MessageType.ERROR);
             view.showMessage(errorMsg, MessageType.ERROR);
 
-            showExitOrMainMenuOption();
+            navigateTo(Screen.EXIT_OR_MAIN_MENU);
         }
     }
 
@@ -417,6 +476,7 @@ public class HomeScreenViewController {
      */
     private void closeApp() {
         view.showMessage("Exiting...", MessageType.INFO);
+        view.flush();
         System.exit(0);
     }
 
@@ -427,7 +487,7 @@ public class HomeScreenViewController {
         var options = List.of("Return to Main menu");
         view.showOptionsPicker(options, OptionPickerStyle.VERTICAL_WITH_EXIT_APP_OPTION, null, (index, value) -> {
             if (index == 0) {
-                showMainMenuOptions();
+                navigateTo(Screen.MAIN_MENU);
             }
         });
     }
@@ -439,8 +499,8 @@ public class HomeScreenViewController {
         var options = List.of("Book a lesson", "Return to Main menu", "Exit App");
         view.showOptionsPicker(options, OptionPickerStyle.HORIZONTAL, "Choose an option", (index, value) -> {
             switch (index) {
-                case 0 -> onBookSwimmingLesson();
-                case 1 -> showMainMenuOptions();
+                case 0 -> navigateTo(Screen.BOOK_LESSON);
+                case 1 -> navigateTo(Screen.MAIN_MENU);
                 case 2 -> closeApp();
             }
         });
@@ -455,7 +515,7 @@ public class HomeScreenViewController {
     private void requestLearnerById(Consumer<Learner> consumer) {
         view.requestUserInput("Please enter a learner ID", data -> {
             if (data.trim().equals("0")) {
-                showMainMenuOptions();
+                navigateTo(Screen.MAIN_MENU);
                 return InputConsumer.success;
             }
 
@@ -489,14 +549,28 @@ public class HomeScreenViewController {
             boolean showLessonCapacity,
             Consumer<Lesson> lessonConsumer
     ) {
-        List<String> options = lessons.stream().map(lesson -> getLessonDetails(lesson, showLessonCapacity)).toList();
-        view.showOptionsPicker(
-                options,
-                OptionPickerStyle.VERTICAL, message,
+        // lessons are shown a page at a time, so only the details of the lessons on the page are built
+        view.showPagedOptionsPicker(
+                PagedOptions.of(lessons, lesson -> getLessonDetails(lesson, showLessonCapacity), HomeScreenViewController::lessonMatches),
+                LESSONS_PER_PAGE, message,
                 (index, value) -> lessonConsumer.accept(lessons.get(index))
         );
     }
 
+    /**
+     * Check if a lesson's name, coach, day or time contains the filter text
+     *
+     * @param lesson lesson
+     * @param filter lower case filter text
+     * @return true if the lesson matches
+     */
+    private static boolean lessonMatches(Lesson lesson, String filter) {
+        return lesson.getName().toLowerCase(Locale.ROOT).contains(filter)
+                || lesson.getCoach().getName().toLowerCase(Locale.ROOT).contains(filter)
+                || lesson.getLessonDate().getDayOfWeek().name().toLowerCase(Locale.ROOT).contains(filter)
+                || lesson.getLessonTime().toLowerCase(Locale.ROOT).contains(filter);
+    }
+
     /**
      * Request the user to pick a lesson from the list of all lessons in the repo
      *
@@ -506,7 +580,7 @@ public class HomeScreenViewController {
         showOptionToPickLessonFromAllLessons(lessons -> {
             if (lessons.isEmpty()) {
                 view.showMessage("There are no lessons to choose from", MessageType.INFO);
-                showExitOrMainMenuOption();
+                navigateTo(Screen.EXIT_OR_MAIN_MENU);
                 return;
             }
 
@@ -590,7 +664,7 @@ public class HomeScreenViewController {
                         caller.accept(result.getData());
                     } else {
                         view.showMessage("System Error", MessageType.ERROR);
-                        showMainMenuOptions();
+                        navigateTo(Screen.MAIN_MENU);
                     }
                 });
                 return InputConsumer.success;
@@ -625,9 +699,7 @@ public class HomeScreenViewController {
      * @return coach details
      */
     private String getCoachDetails(Coach coach) {
-        Rating averageRating = LessonUtil.getAverageRating(coach.getAssignedLessons().
-                stream().map(lesson -> LessonUtil.getAverageReviewRating(lesson.getReviews()))
-                .toList());
+        Rating averageRating = coach.getAverageRating();
 
         return coach.getName() + " (Average Rating: " + (averageRating.hasRating() ? averageRating.getRatingValue() : "No rating yet") + ")";
     }
@@ -640,7 +712,7 @@ public class HomeScreenViewController {
      * @return the lesson details
      */
     private String getLessonDetails(Lesson lesson, boolean showLessonCapacity) {
-        Rating averageRating = LessonUtil.getAverageReviewRating(lesson.getReviews());
+        Rating averageRating = lesson.getAverageRating();
         StringBuilder sb = new StringBuilder();
         sb.append(lesson.getName());
         sb.append(" (Grade: ").append(lesson.getGrade());
@@ -649,9 +721,9 @@ public class HomeScreenViewController {
         sb.append(", Coach: ").append(lesson.getCoach().getName());
         sb.append(", Avg. Rating: ").append(averageRating.hasRating() ? averageRating.getRatingValue() : "Not rated").append(")");
         if (showLessonCapacity) {
-            int activeLessons = lesson.getRegisteredLearners().stream().filter(learner -> learner.getLessonStatus(lesson) != LessonStatus.CANCELLED).toList().size();
-            boolean fullyBooked = activeLessons >= 4;
-            sb.append(" - ").append(fullyBooked ? "Fully booked" : (4 - activeLessons) + " slots available");
+            int activeLessons = lesson.getActiveLearnerCount();
+            boolean fullyBooked = activeLessons >= Lesson.MAX_LEARNERS;
+            sb.append(" - ").append(fullyBooked ? "Fully booked" : (Lesson.MAX_LEARNERS - activeLessons) + " slots available");
         }
         return sb.toString();
     }
@@ -659,34 +731,24 @@ public class HomeScreenViewController {
     /**
      * Request the user to provide a review
      *
-     * @return review object
+     * @return future completed with the review once the user has provided it
      */
-    private Review provideLessonReview() {
-        final boolean[] hasCompletedReview = {false};
-        Review review = new Review("", 0);
+    private CompletableFuture<Review> provideLessonReview() {
+        CompletableFuture<Review> review = new CompletableFuture<>();
         var options = List.of("Very dissatisfied", "Dissatisfied", "Ok", "Satisfied", "Very Satisfied");
 
         view.showMessage("Please leave a review for this lesson", MessageType.INFO);
 
-        view.requestUserInput("Review Message", data -> {
-            review.updateMessage(data);
+        view.requestUserInput("Review Message", message -> {
             view.showOptionsPicker(
                     options,
                     OptionPickerStyle.HORIZONTAL,
                     "How would you rate this lesson?",
-                    (index, value) -> {
-                        review.updateRating(index + 1);
-                        hasCompletedReview[0] = true;
-                    });
+                    (index, value) -> review.complete(new Review(message, index + 1)));
             return InputConsumer.success;
         });
 
-        while (!hasCompletedReview[0]) {
-            // delay until we have received the review
-        }
-
         return review;
-
     }
 
     /**
@@ -696,7 +758,7 @@ public class HomeScreenViewController {
      * @return formatted date
      */
     private String formatLessonDate(Lesson lesson) {
-        return lesson.getLessonDate().format(DateTimeFormatter.ofPattern("EEEE - MMMM d", Locale.ENGLISH));
+        return lesson.getLessonDate().format(LESSON_DATE_FORMAT);
     }
 
     /**
@@ -804,4 +866,13 @@ public class HomeScreenViewController {
                 .toString();
         view.showMessage(msg, MessageType.INFO);
     }
+
+    /**
+     * The screens the controller moves between
+     */
+    private enum Screen {
+        MAIN_MENU, EXIT_OR_MAIN_MENU, BOOK_LESSON_OR_EXIT_TO_MAIN_MENU,
+        REGISTER_LEARNER, BOOK_LESSON, MANAGE_BOOKING, ATTEND_LESSON,
+        LEARNER_REPORT, COACH_REPORT, ALL_LEARNERS
+    }
 }
@@ -0,0 +1,570 @@
+package presentation.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import domain.entity.Rating;
+import domain.entity.Review;
+import domain.entity.coach.CoachReport;
+import domain.entity.learner.Learner;
+import domain.entity.learner.LearnerReport;
+import domain.entity.lesson.Lesson;
+import domain.entity.lesson.LessonQuery;
+import domain.entity.lesson.LessonStatus;
+import domain.entity.lesson.SeatHold;
+import domain.repository.LearnerRepository;
+import domain.repository.LessonRepository;
+import domain.usecase.*;
+import domain.util.LruCache;
+import domain.util.Result;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Headless JSON API over the use cases, served by the JDK {@link HttpServer}
+ * <p>
+ * Every request runs on its own virtual thread, so a request waiting on a lesson lock or the journal
+ * doesn't hold a platform thread. Requests beyond the in-flight limit are turned away with a 503 straight away
+ * rather than queueing up behind the others, which keeps the latency of the accepted ones bounded.
+ * <p>
+ * Endpoints:
+ * <ul>
+ *     <li>POST /learners - register a learner</li>
+ *     <li>POST /bookings - book a lesson, with learnerId and lessonId. A full lesson puts the learner on its waitlist.
+ *     Giving holdId instead of lessonId books the held seat</li>
+ *     <li>POST /holds - hold a seat in a lesson, with lessonId and optionally minutes, up to an hour</li>
+ *     <li>POST /cancellations - cancel a booking, with learnerId and lessonId</li>
+ *     <li>POST /withdrawals - leave the waitlist of a lesson, with learnerId and lessonId</li>
+ *     <li>POST /attendances - attend a lesson, with learnerId, lessonId, review and rating</li>
+ *     <li>GET /lessons?grade=&amp;coach=&amp;day=&amp;from=&amp;to=&amp;time=&amp;freeSeats= - find the lessons meeting every criterion given</li>
+ *     <li>GET /reports/learners and /reports/learners/{id} - learner reports</li>
+ *     <li>GET /reports/coaches - coach reports</li>
+ *     <li>GET /reports/cache - hit and miss counts of the report caches</li>
+ * </ul>
+ */
+public class BookingApiServer implements Closeable {
+    private static final int MAX_BODY_SIZE = 16 * 1024;
+    private static final int DEFAULT_HOLD_MINUTES = 10;
+    // longer holds would let a client keep a lesson's seats from everyone else
+    private static final int MAX_HOLD_MINUTES = 60;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final int maxInFlightRequests;
+
+    private final AttendLessonUseCase attendLessonUseCase;
+    private final BookLessonUseCase bookLessonUseCase;
+    private final CancelLessonUseCase cancelLessonUseCase;
+    private final FilterLessonsUseCase filterLessonsUseCase;
+    private final GenerateCoachReportUseCase generateCoachReportUseCase;
+    private final GenerateLearnerReportUseCase generateLearnerReportUseCase;
+    private final HoldSeatUseCase holdSeatUseCase;
+    private final RegisterNewLearnerUseCase registerNewLearnerUseCase;
+    private final LearnerRepository learnerRepository;
+    private final LessonRepository lessonRepository;
+
+    private BookingApiServer(HttpServer server,
+                             int maxInFlightRequests,
+                             AttendLessonUseCase attendLessonUseCase,
+                             BookLessonUseCase bookLessonUseCase,
+                             CancelLessonUseCase cancelLessonUseCase,
+                             FilterLessonsUseCase filterLessonsUseCase,
+                             GenerateCoachReportUseCase generateCoachReportUseCase,
+                             GenerateLearnerReportUseCase generateLearnerReportUseCase,
+                             HoldSeatUseCase holdSeatUseCase,
+                             RegisterNewLearnerUseCase registerNewLearnerUseCase,
+                             LearnerRepository learnerRepository,
+                             LessonRepository lessonRepository) {
+        this.server = server;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.inFlight = new Semaphore(maxInFlightRequests);
+        this.maxInFlightRequests = maxInFlightRequests;
+        this.attendLessonUseCase = attendLessonUseCase;
+        this.bookLessonUseCase = bookLessonUseCase;
+        this.cancelLessonUseCase = cancelLessonUseCase;
+        this.filterLessonsUseCase = filterLessonsUseCase;
+        this.generateCoachReportUseCase = generateCoachReportUseCase;
+        this.generateLearnerReportUseCase = generateLearnerReportUseCase;
+        this.holdSeatUseCase = holdSeatUseCase;
+        this.registerNewLearnerUseCase = registerNewLearnerUseCase;
+        this.learnerRepository = learnerRepository;
+        this.lessonRepository = lessonRepository;
+
+        server.setExecutor(executor);
+        server.createContext("/learners", exchange -> handle(exchange, "POST", this::registerLearner));
+        server.createContext("/bookings", exchange -> handle(exchange, "POST", this::bookLesson));
+        server.createContext("/holds", exchange -> handle(exchange, "POST", this::holdSeat));
+        server.createContext("/cancellations", exchange -> handle(exchange, "POST", this::cancelBooking));
+        server.createContext("/withdrawals", exchange -> handle(exchange, "POST", this::leaveWaitlist));
+        server.createContext("/attendances", exchange -> handle(exchange, "POST", this::attendLesson));
+        server.createContext("/lessons", exchange -> handle(exchange, "GET", this::filterLessons));
+        server.createContext("/reports/learners", exchange -> handle(exchange, "GET", this::learnerReports));
+        server.createContext("/reports/coaches", exchange -> handle(exchange, "GET", this::coachReports));
+        server.createContext("/reports/cache", exchange -> handle(exchange, "GET", this::reportCacheStats));
+    }
+
+    /**
+     * Start serving the API
+     *
+     * @param address             address to listen on, port 0 picks a free port
+     * @param backlog             number of connections the OS queues before they are accepted, 0 for the system default
+     * @param maxInFlightRequests number of requests handled at once, the others get a 503
+     * @return the running server
+     * @throws IOException if the address can't be bound
+     */
+    public static BookingApiServer start(InetSocketAddress address,
+                                         int backlog,
+                                         int maxInFlightRequests,
+                                         AttendLessonUseCase attendLessonUseCase,
+                                         BookLessonUseCase bookLessonUseCase,
+                                         CancelLessonUseCase cancelLessonUseCase,
+                                         FilterLessonsUseCase filterLessonsUseCase,
+                                         GenerateCoachReportUseCase generateCoachReportUseCase,
+                                         GenerateLearnerReportUseCase generateLearnerReportUseCase,
+                                         HoldSeatUseCase holdSeatUseCase,
+                                         RegisterNewLearnerUseCase registerNewLearnerUseCase,
+                                         LearnerRepository learnerRepository,
+                                         LessonRepository lessonRepository) throws IOException {
+        if (maxInFlightRequests <= 0) throw new IllegalArgumentException("At least one request should be allowed in flight");
+
+        var apiServer = new BookingApiServer(HttpServer.create(address, backlog), maxInFlightRequests,
+                attendLessonUseCase, bookLessonUseCase, cancelLessonUseCase, filterLessonsUseCase,
+                generateCoachReportUseCase, generateLearnerReportUseCase, holdSeatUseCase, registerNewLearnerUseCase,
+                learnerRepository, lessonRepository);
+        apiServer.server.start();
+        return apiServer;
+    }
+
+    /**
+     * Get the address the server is listening on
+     *
+     * @return the bound address
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Wait up to a second for the requests in flight to finish, then stop the server
+     */
+    @Override
+    public void close() {
+        // HttpServer.stop(delay) waits out the whole delay while idle keep-alive connections are open,
+        // so the requests in flight are drained here and the server stopped without a delay
+        try {
+            inFlight.tryAcquire(maxInFlightRequests, 1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server.stop(0);
+        executor.close();
+    }
+
+    private Response registerLearner(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestURI().getPath().equals("/learners")) return Response.NOT_FOUND;
+
+        Map<String, Object> body = readBody(exchange);
+        var learner = new Learner(
+                requireString(body, "name"),
+                requireString(body, "gender"),
+                requireInt(body, "age"),
+                requireInt(body, "grade"),
+                requireString(body, "phoneNumber"),
+                requireString(body, "emergencyContactNumber"));
+
+        var result = registerNewLearnerUseCase.registerLearner(learner);
+        if (!result.isSuccess()) {
+            int status = switch (result.getError()) {
+                case REPOSITORY_ERROR -> 409;
+                case NO_IDS_LEFT -> 503;
+                default -> 400;
+            };
+            return Response.error(status, result.getError());
+        }
+
+        return new Response(201, new Json.Writer().beginObject().name("id").value(result.getData()).endObject().toString());
+    }
+
+    private Response bookLesson(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestURI().getPath().equals("/bookings")) return Response.NOT_FOUND;
+
+        Map<String, Object> body = readBody(exchange);
+        if (body.containsKey("holdId")) return bookHeldSeat(body);
+
+        return withLearnerAndLesson(body, (learner, lesson) -> {
+            var result = bookLessonUseCase.bookLesson(lesson, learner);
+            if (!result.isSuccess() && result.getError() == BookLessonUseCase.Error.LESSON_FULLY_BOOKED) {
+                // read after the lesson is unlocked, so the learner may have been given a seat or dropped from the list since
+                int waitlistPosition = bookLessonUseCase.getWaitlistPosition(lesson, learner);
+                if (waitlistPosition == 0) {
+                    return learner.getLessonStatus(lesson) == LessonStatus.BOOKED ? Response.ok("{}") : Response.error(409, result.getError());
+                }
+
+                return new Response(409, new Json.Writer().beginObject()
+                        .name("error").value(result.getError().toString())
+                        .name("waitlistPosition").value(waitlistPosition)
+                        .endObject().toString());
+            }
+            return toResponse(result);
+        });
+    }
+
+    private Response bookHeldSeat(Map<String, Object> body) {
+        var learner = learnerRepository.getLearnerById(requireInt(body, "learnerId"));
+        if (!learner.isSuccess()) return Response.error(404, learner.getError());
+
+        var result = holdSeatUseCase.bookHeldSeat(requireLong(body, "holdId"), learner.getData());
+        if (!result.isSuccess() && result.getError() == HoldSeatUseCase.Error.HOLD_NOT_FOUND) {
+            return Response.error(404, result.getError());
+        }
+        return toResponse(result);
+    }
+
+    private Response holdSeat(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestURI().getPath().equals("/holds")) return Response.NOT_FOUND;
+
+        Map<String, Object> body = readBody(exchange);
+        var lesson = lessonRepository.getLessonById(requireInt(body, "lessonId"));
+        if (!lesson.isSuccess()) return Response.error(404, lesson.getError());
+
+        int minutes = body.containsKey("minutes") ? requireInt(body, "minutes") : DEFAULT_HOLD_MINUTES;
+        if (minutes > MAX_HOLD_MINUTES) {
+            return Response.error(400, HoldSeatUseCase.Error.INVALID_DURATION, "minutes should be at most " + MAX_HOLD_MINUTES);
+        }
+        var result = holdSeatUseCase.holdSeat(lesson.getData(), Duration.ofMinutes(minutes));
+        if (!result.isSuccess()) {
+            int status = result.getError() == HoldSeatUseCase.Error.INVALID_DURATION ? 400 : 409;
+            return Response.error(status, result.getError());
+        }
+
+        SeatHold hold = result.getData();
+        return new Response(201, new Json.Writer().beginObject()
+                .name("holdId").value(hold.id())
+                .name("lessonId").value(hold.lesson().getId())
+                .name("expiresAt").value(Instant.ofEpochMilli(hold.expiresAtMillis()).toString())
+                .endObject().toString());
+    }
+
+    private Response cancelBooking(HttpExchange exchange) throws IOException {
+        return withLearnerAndLesson(exchange, (learner, lesson, body) ->
+                toResponse(cancelLessonUseCase.cancelLesson(lesson, learner)));
+    }
+
+    private Response leaveWaitlist(HttpExchange exchange) throws IOException {
+        return withLearnerAndLesson(exchange, (learner, lesson, body) -> bookLessonUseCase.leaveWaitlist(lesson, learner)
+                ? Response.ok("{}")
+                : Response.error(404, "NOT_ON_WAITLIST"));
+    }
+
+    private Response attendLesson(HttpExchange exchange) throws IOException {
+        return withLearnerAndLesson(exchange, (learner, lesson, body) -> {
+            var review = new Review(requireString(body, "review"), requireInt(body, "rating"));
+            return toResponse(attendLessonUseCase.attendLesson(lesson, learner, () -> review));
+        });
+    }
+
+    private Response filterLessons(HttpExchange exchange) {
+        if (!exchange.getRequestURI().getPath().equals("/lessons")) return Response.NOT_FOUND;
+
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+        var query = LessonQuery.ANY;
+        if (params.containsKey("grade")) query = query.withGrade(parseInt(params.get("grade"), "grade"));
+        if (params.containsKey("coach")) query = query.withCoach(params.get("coach"));
+        if (params.containsKey("day")) query = query.withDayOfWeek(parseDayOfWeek(params.get("day")));
+        if (params.containsKey("from") || params.containsKey("to")) {
+            query = query.withDateRange(parseDate(params.get("from"), "from"), parseDate(params.get("to"), "to"));
+        }
+        if (params.containsKey("time")) query = query.withLessonTime(params.get("time"));
+        if (Boolean.parseBoolean(params.get("freeSeats"))) query = query.withFreeSeatsOnly();
+
+        var result = filterLessonsUseCase.filter(query);
+        if (!result.isSuccess()) return Response.error(400, result.getError());
+        return Response.ok(writeLessons(new Json.Writer(), result.getData()).toString());
+    }
+
+    private Response learnerReports(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/reports/learners")) {
+            var json = new Json.Writer().beginArray();
+            generateLearnerReportUseCase.getReportForAllLearners().forEach(report -> writeLearnerReport(json, report));
+            return Response.ok(json.endArray().toString());
+        }
+
+        if (!path.startsWith("/reports/learners/")) return Response.NOT_FOUND;
+
+        int learnerId = parseInt(path.substring("/reports/learners/".length()), "learner id");
+        var learner = learnerRepository.getLearnerById(learnerId);
+        if (!learner.isSuccess()) return Response.error(404, learner.getError());
+
+        var json = new Json.Writer();
+        writeLearnerReport(json, generateLearnerReportUseCase.getReportForLearner(learner.getData()));
+        return Response.ok(json.toString());
+    }
+
+    private Response coachReports(HttpExchange exchange) {
+        if (!exchange.getRequestURI().getPath().equals("/reports/coaches")) return Response.NOT_FOUND;
+
+        var json = new Json.Writer().beginArray();
+        generateCoachReportUseCase.getReportForAllCoaches().forEach(report -> writeCoachReport(json, report));
+        return Response.ok(json.endArray().toString());
+    }
+
+    private Response reportCacheStats(HttpExchange exchange) {
+        if (!exchange.getRequestURI().getPath().equals("/reports/cache")) return Response.NOT_FOUND;
+
+        var json = new Json.Writer().beginObject();
+        writeCacheStats(json.name("learnerReports"), generateLearnerReportUseCase.getCacheStats());
+        writeCacheStats(json.name("coachReports"), generateCoachReportUseCase.getCacheStats());
+        return Response.ok(json.endObject().toString());
+    }
+
+    /**
+     * Look up the learner and lesson named in the request body and run an action on them
+     */
+    private Response withLearnerAndLesson(HttpExchange exchange, BookingAction action) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.lastIndexOf('/') != 0) return Response.NOT_FOUND;
+
+        Map<String, Object> body = readBody(exchange);
+        return withLearnerAndLesson(body, (learner, lesson) -> action.run(learner, lesson, body));
+    }
+
+    private Response withLearnerAndLesson(Map<String, Object> body, BiFunction<Learner, Lesson, Response> action) {
+        var learner = learnerRepository.getLearnerById(requireInt(body, "learnerId"));
+        if (!learner.isSuccess()) return Response.error(404, learner.getError());
+
+        var lesson = lessonRepository.getLessonById(requireInt(body, "lessonId"));
+        if (!lesson.isSuccess()) return Response.error(404, lesson.getError());
+
+        return action.apply(learner.getData(), lesson.getData());
+    }
+
+    /**
+     * Run a handler for a method, and turn what it returns or throws into the response
+     */
+    private void handle(HttpExchange exchange, String method, Handler handler) throws IOException {
+        try (exchange) {
+            if (!inFlight.tryAcquire()) {
+                send(exchange, Response.error(503, "SERVER_BUSY"));
+                return;
+            }
+
+            try {
+                Response response;
+                if (!exchange.getRequestMethod().equals(method)) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    response = Response.error(405, "METHOD_NOT_ALLOWED");
+                } else {
+                    try {
+                        response = handler.handle(exchange);
+                    } catch (IllegalArgumentException e) {
+                        response = Response.error(400, "INVALID_REQUEST", e.getMessage());
+                    } catch (RuntimeException e) {
+                        // the details stay in the server's log rather than being handed to the client
+                        System.err.println("Failed to handle " + method + " " + exchange.getRequestURI().getPath() + ": " + e);
+                        response = Response.error(500, "INTERNAL_ERROR");
+                    }
+                }
+                send(exchange, response);
+            } finally {
+                inFlight.release();
+            }
+        }
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Response toResponse(Result<Object, ?> result) {
+        if (result.isSuccess()) return Response.ok("{}");
+        return Response.error(409, result.getError());
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_SIZE + 1);
+            if (bytes.length > MAX_BODY_SIZE) throw new IllegalArgumentException("The request body is too large");
+
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String requireString(Map<String, Object> body, String name) {
+        if (!(body.get(name) instanceof String value)) throw new IllegalArgumentException(name + " should be a string");
+        return value;
+    }
+
+    private static int requireInt(Map<String, Object> body, String name) {
+        if (!(body.get(name) instanceof Long value) || value != value.intValue()) {
+            throw new IllegalArgumentException(name + " should be an integer");
+        }
+        return value.intValue();
+    }
+
+    private static long requireLong(Map<String, Object> body, String name) {
+        if (!(body.get(name) instanceof Long value)) throw new IllegalArgumentException(name + " should be an integer");
+        return value;
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " should be an integer");
+        }
+    }
+
+    private static DayOfWeek parseDayOfWeek(String value) {
+        try {
+            return DayOfWeek.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("day should be a day of the week");
+        }
+    }
+
+    /**
+     * @return the date, or null if the value is missing
+     */
+    private static LocalDate parseDate(String value, String name) {
+        if (value == null) return null;
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " should be a date like 2024-04-01");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        var query = new HashMap<String, String>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static Json.Writer writeLessons(Json.Writer json, List<Lesson> lessons) {
+        json.beginArray();
+        lessons.forEach(lesson -> writeLesson(json, lesson));
+        return json.endArray();
+    }
+
+    private static void writeLesson(Json.Writer json, Lesson lesson) {
+        json.beginObject()
+                .name("id").value(lesson.getId())
+                .name("name").value(lesson.getName())
+                .name("grade").value(lesson.getGrade())
+                .name("coach").value(lesson.getCoach().getName())
+                .name("date").value(lesson.getLessonDate().toString())
+                .name("time").value(lesson.getLessonTime())
+                .name("activeLearners").value(lesson.getActiveLearnerCount())
+                .endObject();
+    }
+
+    private static void writeLearnerReport(Json.Writer json, LearnerReport report) {
+        json.beginObject()
+                .name("id").value(report.learnerId())
+                .name("name").value(report.learnerName())
+                .name("age").value(report.learnerAge())
+                .name("gender").value(report.learnerGender())
+                .name("grade").value(report.currentGrade())
+                .name("totalRegisteredLessons").value(report.totalRegisteredLessons());
+        writeLessons(json.name("bookedLessons"), report.bookedLessons());
+        writeLessons(json.name("attendedLessons"), report.attendedLessons());
+        writeLessons(json.name("cancelledLessons"), report.cancelledLessons());
+        json.endObject();
+    }
+
+    private static void writeCoachReport(Json.Writer json, CoachReport report) {
+        json.beginObject()
+                .name("name").value(report.coachName())
+                .name("numberOfLessonsTaught").value(report.numberOfLessonsTaught());
+        writeRating(json.name("averageRating"), report.averageLessonRating());
+
+        json.name("lessons").beginArray();
+        for (Map<Rating, Lesson> ratedLesson : report.averageRatingPerLesson()) {
+            for (Map.Entry<Rating, Lesson> entry : ratedLesson.entrySet()) {
+                json.beginObject()
+                        .name("id").value(entry.getValue().getId())
+                        .name("name").value(entry.getValue().getName());
+                writeRating(json.name("averageRating"), entry.getKey());
+                json.endObject();
+            }
+        }
+        json.endArray().endObject();
+    }
+
+    private static void writeCacheStats(Json.Writer json, LruCache.Stats stats) {
+        json.beginObject()
+                .name("hits").value(stats.hits())
+                .name("misses").value(stats.misses())
+                .name("evictions").value(stats.evictions())
+                .name("size").value(stats.size())
+                .endObject();
+    }
+
+    private static void writeRating(Json.Writer json, Rating rating) {
+        if (rating.hasRating()) {
+            json.value(rating.getRatingValue());
+        } else {
+            json.nullValue();
+        }
+    }
+
+    private interface Handler {
+        Response handle(HttpExchange exchange) throws IOException;
+    }
+
+    private interface BookingAction {
+        Response run(Learner learner, Lesson lesson, Map<String, Object> body);
+    }
+
+    private record Response(int status, String body) {
+        static final Response NOT_FOUND = error(404, "NOT_FOUND");
+
+        static Response ok(String body) {
+            return new Response(200, body);
+        }
+
+        static Response error(int status, Object error) {
+            return new Response(status, new Json.Writer().beginObject().name("error").value(error.toString()).endObject().toString());
+        }
+
+        static Response error(int status, Object error, String message) {
+            return new Response(status, new Json.Writer().beginObject()
+                    .name("error").value(error.toString())
+                    .name("message").value(message)
+                    .endObject().toString());
+        }
+    }
+}
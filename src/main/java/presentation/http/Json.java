@@ -0,0 +1,271 @@
+package presentation.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Just enough JSON for the HTTP API
+ * <p>
+ * Request bodies are flat objects whose values are strings, numbers, booleans or null.
+ * Responses are built with a {@link Writer}, which takes care of the commas and escaping.
+ */
+public class Json {
+    private Json() {
+    }
+
+    /**
+     * Parse a flat JSON object
+     *
+     * @param text JSON text
+     * @return the members of the object, in the order they appear. Numbers are parsed as {@link Long} or {@link Double}
+     * @throws IllegalArgumentException if the text isn't a flat JSON object
+     */
+    public static Map<String, Object> parseObject(String text) {
+        return new Parser(text).parseObject();
+    }
+
+    private static class Parser {
+        private final String text;
+        private int position = 0;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Map<String, Object> parseObject() {
+            var members = new LinkedHashMap<String, Object>();
+            expect('{');
+            if (peek() == '}') {
+                position++;
+            } else {
+                do {
+                    skipWhitespace();
+                    String name = parseString();
+                    expect(':');
+                    members.put(name, parseValue());
+                } while (consumeIf(','));
+                expect('}');
+            }
+
+            skipWhitespace();
+            if (position != text.length()) throw error("Unexpected text after the object");
+            return members;
+        }
+
+        private Object parseValue() {
+            char c = peek();
+            if (c == '"') return parseString();
+            if (c == '-' || (c >= '0' && c <= '9')) return parseNumber();
+            if (text.startsWith("true", position)) {
+                position += 4;
+                return Boolean.TRUE;
+            }
+            if (text.startsWith("false", position)) {
+                position += 5;
+                return Boolean.FALSE;
+            }
+            if (text.startsWith("null", position)) {
+                position += 4;
+                return null;
+            }
+            throw error("Only strings, numbers, booleans and null are accepted as values");
+        }
+
+        private String parseString() {
+            if (peek() != '"') throw error("Expected a string");
+            position++;
+
+            var sb = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+
+                if (position >= text.length()) break;
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case '"', '\\', '/' -> sb.append(escaped);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) throw error("Incomplete unicode escape");
+                        try {
+                            sb.append((char) Integer.parseInt(text, position, position + 4, 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid unicode escape");
+                        }
+                        position += 4;
+                    }
+                    default -> throw error("Invalid escape");
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private Number parseNumber() {
+            int start = position;
+            boolean isDecimal = false;
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (c == '.' || c == 'e' || c == 'E') {
+                    isDecimal = true;
+                } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                    break;
+                }
+                position++;
+            }
+
+            String number = text.substring(start, position);
+            try {
+                return isDecimal ? (Number) Double.parseDouble(number) : (Number) Long.parseLong(number);
+            } catch (NumberFormatException e) {
+                throw error("Invalid number " + number);
+            }
+        }
+
+        private char peek() {
+            skipWhitespace();
+            if (position >= text.length()) throw error("Unexpected end of the text");
+            return text.charAt(position);
+        }
+
+        private void expect(char c) {
+            if (peek() != c) throw error("Expected '" + c + "'");
+            position++;
+        }
+
+        private boolean consumeIf(char c) {
+            if (position < text.length() && peek() == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) position++;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position);
+        }
+    }
+
+    /**
+     * Writes JSON text, adding the commas between members and elements
+     */
+    public static class Writer {
+        private final StringBuilder sb = new StringBuilder();
+        // true when the next member or element is the first of its object or array
+        private boolean isFirst = true;
+
+        public Writer beginObject() {
+            separate();
+            sb.append('{');
+            isFirst = true;
+            return this;
+        }
+
+        public Writer endObject() {
+            sb.append('}');
+            isFirst = false;
+            return this;
+        }
+
+        public Writer beginArray() {
+            separate();
+            sb.append('[');
+            isFirst = true;
+            return this;
+        }
+
+        public Writer endArray() {
+            sb.append(']');
+            isFirst = false;
+            return this;
+        }
+
+        /**
+         * Write the name of an object member, the value written next belongs to it
+         *
+         * @param name name
+         * @return this writer
+         */
+        public Writer name(String name) {
+            separate();
+            appendString(name);
+            sb.append(':');
+            isFirst = true;
+            return this;
+        }
+
+        public Writer value(String value) {
+            separate();
+            if (value == null) {
+                sb.append("null");
+            } else {
+                appendString(value);
+            }
+            isFirst = false;
+            return this;
+        }
+
+        public Writer value(long value) {
+            separate();
+            sb.append(value);
+            isFirst = false;
+            return this;
+        }
+
+        public Writer value(double value) {
+            separate();
+            sb.append(value);
+            isFirst = false;
+            return this;
+        }
+
+        public Writer nullValue() {
+            separate();
+            sb.append("null");
+            isFirst = false;
+            return this;
+        }
+
+        private void separate() {
+            if (!isFirst) sb.append(',');
+        }
+
+        private void appendString(String value) {
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> sb.append("\\\"");
+                    case '\\' -> sb.append("\\\\");
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> sb.append("\\r");
+                    case '\t' -> sb.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                    }
+                }
+            }
+            sb.append('"');
+        }
+
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
+    }
+}
@@ -2,9 +2,14 @@ package presentation.view;
 
 import presentation.view.components.optionpicker.OptionPickedListener;
 import presentation.view.components.optionpicker.OptionPickerStyle;
+import presentation.view.components.optionpicker.PagedOptions;
 import presentation.view.components.text.InputConsumer;
+import presentation.view.components.text.MessageWriter;
 import presentation.view.components.text.MessageType;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,6 +25,23 @@ public interface CLIView {
      */
     void showMessage(String message, MessageType messageType);
 
+    /**
+     * Show a long message to the command line, written out while it's being produced
+     * instead of being built up as a single string first
+     *
+     * @param messageWriter writes the message
+     * @param messageType   The type of the message
+     */
+    default void showMessage(MessageWriter messageWriter, MessageType messageType) {
+        StringBuilder message = new StringBuilder();
+        try {
+            messageWriter.write(message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        showMessage(message.toString(), messageType);
+    }
+
     /**
      * Request an input from the command line
      *
@@ -41,4 +63,28 @@ public interface CLIView {
      */
     void showOptionsPicker(List<String> options, OptionPickerStyle style, String optionalHeader, OptionPickedListener listener);
 
+    /**
+     * Display a long list of options a page at a time, letting the user move between pages and filter the options
+     * <p>
+     * Views that can't page show every option at once
+     *
+     * @param options        options to pick from
+     * @param pageSize       number of options on a page
+     * @param optionalHeader an optional header/prompt to be displayed when the list is shown. Leave null to not display anything
+     * @param listener       an {@link OptionPickedListener} called with the index of the option in {@code options}
+     */
+    default void showPagedOptionsPicker(PagedOptions options, int pageSize, String optionalHeader, OptionPickedListener listener) {
+        var labels = new ArrayList<String>(options.size());
+        for (int i = 0; i < options.size(); i++) {
+            labels.add(options.label(i));
+        }
+        showOptionsPicker(labels, OptionPickerStyle.VERTICAL, optionalHeader, listener);
+    }
+
+    /**
+     * Write out anything the view is holding back, e.g. before the app exits.
+     * Views that don't buffer their output have nothing to do
+     */
+    default void flush() {
+    }
 }
@@ -3,20 +3,53 @@ package presentation.view;
 import domain.util.Result;
 import presentation.view.components.optionpicker.OptionPickedListener;
 import presentation.view.components.optionpicker.OptionPickerStyle;
+import presentation.view.components.optionpicker.PagedOptions;
 import presentation.view.components.text.InputConsumer;
 import presentation.view.components.text.MessageType;
+import presentation.view.components.text.MessageWriter;
 
+import java.io.*;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Scanner;
 
+/**
+ * Console view
+ * <p>
+ * Everything shown is buffered and written out in one go just before the user is asked for input,
+ * or sooner if the buffer fills up, instead of as many small writes to {@link System#out}.
+ */
 public class HomeScreenView implements CLIView {
     private final Scanner sc = new Scanner(System.in);
+    // not closed, closing it would close System.out
+    private final Writer out = new BufferedWriter(new OutputStreamWriter(System.out, System.out.charset()), 1 << 16);
 
     @Override
     public void showMessage(String message, MessageType messageType) {
         displayTextInternal(message, messageType == MessageType.INFO ? Style.NORMAL : Style.SENT);
     }
 
+    @Override
+    public void showMessage(MessageWriter messageWriter, MessageType messageType) {
+        try {
+            out.append(messageType == MessageType.INFO ? "" : "==> ");
+            messageWriter.write(out);
+            out.append('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public void requestUserInput(String prompt, InputConsumer inputConsumer) {
         Result<Object, String> result;
@@ -49,7 +82,8 @@ public class HomeScreenView implements CLIView {
             try {
                 int value = Integer.parseInt(requestInputInternal("Pick an option"));
                 if (value == 0 && style == OptionPickerStyle.VERTICAL_WITH_EXIT_APP_OPTION) {
-                    System.out.println("Exiting...");
+                    write("Exiting...\n");
+                    flush();
                     System.exit(0);
                     return;
                 }
@@ -69,6 +103,87 @@ public class HomeScreenView implements CLIView {
 
     }
 
+    @Override
+    public void showPagedOptionsPicker(PagedOptions options, int pageSize, String optionalHeader, OptionPickedListener listener) {
+        if (pageSize <= 0) throw new IllegalArgumentException("The page size should be positive");
+        if (options.size() == 0) {
+            displayTextInternal("Internal Error", Style.SENT);
+            return;
+        }
+
+        // indexes of the options left after filtering, options are numbered by their position in it
+        int[] shown = filterOptions(options, "");
+        String filter = "";
+        int page = 0;
+
+        while (true) {
+            int pageCount = Math.max(1, (shown.length + pageSize - 1) / pageSize);
+            int from = page * pageSize;
+            int to = Math.min(from + pageSize, shown.length);
+
+            if (optionalHeader != null) {
+                displayTextInternal("\n" + optionalHeader + " :", Style.NORMAL);
+            }
+            write("Page " + (page + 1) + " of " + pageCount + " - " + shown.length + " options");
+            write(filter.isEmpty() ? "\n" : " matching \"" + filter + "\"\n");
+            if (shown.length == 0) {
+                write("No options match the filter\n");
+            }
+            for (int i = from; i < to; i++) {
+                write(Integer.toString(i + 1));
+                write(". ");
+                write(options.label(shown[i]));
+                write("\n");
+            }
+            write("n: Next page, p: Previous page, /text: Filter, /: Clear the filter\n\n");
+
+            String input = requestInputInternal("Pick an option");
+            if (input.equalsIgnoreCase("n")) {
+                if (page + 1 < pageCount) page++;
+                else displayTextInternal("This is the last page", Style.SENT);
+            } else if (input.equalsIgnoreCase("p")) {
+                if (page > 0) page--;
+                else displayTextInternal("This is the first page", Style.SENT);
+            } else if (input.startsWith("/")) {
+                filter = input.substring(1).trim().toLowerCase(Locale.ROOT);
+                shown = filterOptions(options, filter);
+                page = 0;
+            } else {
+                int value = parseOption(input);
+                if (value >= 1 && value <= shown.length) {
+                    listener.onOptionPicked(shown[value - 1], options.label(shown[value - 1]));
+                    return;
+                }
+                displayTextInternal("You have selected an invalid input:", Style.SENT);
+                displayTextInternal(shown.length == 0
+                        ? "Please change the filter or clear it with /"
+                        : "Please choose an option between 1 and " + shown.length + ", or n, p or /text", Style.SENT);
+            }
+        }
+    }
+
+    /**
+     * Get the indexes of the options matching a filter
+     *
+     * @param filter lower case filter text, empty to keep every option
+     */
+    private static int[] filterOptions(PagedOptions options, String filter) {
+        int[] matching = new int[options.size()];
+        int count = 0;
+        for (int i = 0; i < options.size(); i++) {
+            if (filter.isEmpty() || options.matches(i, filter)) matching[count++] = i;
+        }
+        return count == matching.length ? matching : Arrays.copyOf(matching, count);
+    }
+
+    private static int parseOption(String input) {
+        try {
+            return Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     private static String formatOptions(List<String> options, OptionPickerStyle style) {
         StringBuilder sb = new StringBuilder();
         int count = 1;
@@ -121,10 +236,12 @@ public class HomeScreenView implements CLIView {
     }
 
     /**
-     * Internal method to display message
+     * Internal method to request input. Everything buffered so far is written out before waiting for it
      */
     private String requestInputInternal(String message) {
-        System.out.print(message + ": ");
+        write(message);
+        write(": ");
+        flush();
         String result = sc.nextLine().trim();
         if (result.isBlank()) {
             displayTextInternal("You didn't provide any value", Style.SENT);
@@ -139,21 +256,24 @@ public class HomeScreenView implements CLIView {
      * @param addNewLine whether a new line char should be appended to the end of the message
      */
     private void displayTextInternal(String message, boolean addNewLine, Style style) {
-        StringBuilder sb = new StringBuilder();
         if (style == Style.RECEIVED) {
-            sb.append("<== ");
-            sb.append(message);
-            if (addNewLine) sb.append("\n");
+            write("<== ");
         } else if (style == Style.SENT) {
-            sb.append("==> ");
-            sb.append(message);
-            if (addNewLine) sb.append("\n");
-        } else {
-            sb.append(message);
-            if (addNewLine) sb.append("\n");
+            write("==> ");
         }
+        write(message);
+        if (addNewLine) write("\n");
+    }
 
-        System.out.print(sb);
+    /**
+     * Add text to the output buffer
+     */
+    private void write(String text) {
+        try {
+            out.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -5,11 +5,23 @@ import domain.entity.coach.CoachReport;
 import domain.entity.learner.LearnerReport;
 import domain.entity.lesson.Lesson;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+/**
+ * Formats reports as boxed text
+ * <p>
+ * Each report can be streamed to an {@link Appendable} line by line as it's formatted, so printing
+ * every report doesn't need the whole output in memory. Lines are padded by hand rather than
+ * through {@link String#format}, so no formatter is created per line.
+ */
 public class ReportPrinter {
+    private static final String BORDER = "+-------------------------------------------------+\n";
+    private static final String NONE_LINE = "| None                                            |\n";
+    private static final String SPACES = " ".repeat(64);
+
     /**
      * Pretty print a list of learner report
      *
@@ -18,21 +30,32 @@ public class ReportPrinter {
      */
     public static String prettyPrintLearnerReports(List<LearnerReport> reports) {
         StringBuilder sb = new StringBuilder();
-        sb.append("\n+-------------------------------------------------+\n");
-        sb.append("|                Learner Reports List             |\n");
-        sb.append("+-------------------------------------------------+\n");
+        printToString(() -> printLearnerReports(reports, sb));
+        return sb.toString();
+    }
 
-        if (reports.isEmpty()) {
-            sb.append("+-------------- NO REPORTS TO SHOW ---------------+\n");
-            sb.append("+-------------------------------------------------+\n");
-        }
+    /**
+     * Write a list of learner reports, one report at a time
+     *
+     * @param reports reports
+     * @param out     where the reports are written to
+     * @throws IOException if the output can't be written to
+     */
+    public static void printLearnerReports(Iterable<LearnerReport> reports, Appendable out) throws IOException {
+        out.append('\n').append(BORDER)
+                .append("|                Learner Reports List             |\n")
+                .append(BORDER);
 
+        boolean isEmpty = true;
         for (LearnerReport report : reports) {
-            sb.append(prettyPrintLearnerReport(report));
-            sb.append("+-------------------------------------------------+\n");
+            isEmpty = false;
+            printLearnerReport(report, out);
+            out.append(BORDER);
         }
 
-        return sb.toString();
+        if (isEmpty) {
+            out.append("+-------------- NO REPORTS TO SHOW ---------------+\n").append(BORDER);
+        }
     }
 
     /**
@@ -42,29 +65,40 @@ public class ReportPrinter {
      * @return formatted report
      */
     public static String prettyPrintLearnerReport(LearnerReport report) {
-        return new StringBuilder()
-                .append("\n+-------------------------------------------------+\n")
+        StringBuilder sb = new StringBuilder();
+        printToString(() -> printLearnerReport(report, sb));
+        return sb.toString();
+    }
+
+    /**
+     * Write a learner report
+     *
+     * @param report report
+     * @param out    where the report is written to
+     * @throws IOException if the output can't be written to
+     */
+    public static void printLearnerReport(LearnerReport report, Appendable out) throws IOException {
+        out.append('\n').append(BORDER)
                 .append("|                 Learner Report                  |\n")
-                .append("+-------------------------------------------------+\n")
-                .append(String.format("| Name: %-41s |\n", report.learnerName()))
-                .append(String.format("| ID: %-43s |\n", report.learnerId()))
-                .append(String.format("| Age: %-42s |\n", report.learnerAge()))
-                .append(String.format("| Gender: %-39s |\n", report.learnerGender()))
-                .append(String.format("| Current Grade: %-32s |\n", report.currentGrade()))
-                .append(String.format("| Total Registered Lessons: %-21s |\n", report.totalRegisteredLessons()))
-                .append("+-------------------------------------------------+\n")
-                .append("| Booked Lessons:                                 |\n")
-                .append(formatLessons(report.bookedLessons()))
-                .append("|                                                 |\n")
-                .append("+-------------------------------------------------+\n")
-                .append("| Attended Lessons:                               |\n")
-                .append(formatLessons(report.attendedLessons()))
-                .append("|                                                 |\n")
-                .append("+-------------------------------------------------+\n")
-                .append("| Cancelled Lessons:                              |\n")
-                .append(formatLessons(report.cancelledLessons()))
-                .append("+-------------------------------------------------+\n")
-                .toString();
+                .append(BORDER);
+        appendField(out, "| Name: ", report.learnerName(), 41);
+        appendField(out, "| ID: ", Integer.toString(report.learnerId()), 43);
+        appendField(out, "| Age: ", Integer.toString(report.learnerAge()), 42);
+        appendField(out, "| Gender: ", report.learnerGender(), 39);
+        appendField(out, "| Current Grade: ", Integer.toString(report.currentGrade()), 32);
+        appendField(out, "| Total Registered Lessons: ", Integer.toString(report.totalRegisteredLessons()), 21);
+        out.append(BORDER)
+                .append("| Booked Lessons:                                 |\n");
+        appendLessons(out, report.bookedLessons());
+        out.append("|                                                 |\n")
+                .append(BORDER)
+                .append("| Attended Lessons:                               |\n");
+        appendLessons(out, report.attendedLessons());
+        out.append("|                                                 |\n")
+                .append(BORDER)
+                .append("| Cancelled Lessons:                              |\n");
+        appendLessons(out, report.cancelledLessons());
+        out.append(BORDER);
     }
 
     /**
@@ -75,21 +109,32 @@ public class ReportPrinter {
      */
     public static String prettyPrintCoachReports(List<CoachReport> reports) {
         StringBuilder sb = new StringBuilder();
-        sb.append("\n+-------------------------------------------------+\n");
-        sb.append("|               Coach Reports List                |\n");
-        sb.append("+-------------------------------------------------+\n");
+        printToString(() -> printCoachReports(reports, sb));
+        return sb.toString();
+    }
 
-        if (reports.isEmpty()) {
-            sb.append("+-------------- NO REPORTS TO SHOW ---------------+\n");
-            sb.append("+-------------------------------------------------+\n");
-        }
+    /**
+     * Write a list of coach reports, one report at a time
+     *
+     * @param reports reports
+     * @param out     where the reports are written to
+     * @throws IOException if the output can't be written to
+     */
+    public static void printCoachReports(Iterable<CoachReport> reports, Appendable out) throws IOException {
+        out.append('\n').append(BORDER)
+                .append("|               Coach Reports List                |\n")
+                .append(BORDER);
 
+        boolean isEmpty = true;
         for (CoachReport report : reports) {
-            sb.append(prettyPrintCoachReport(report));
-            sb.append("+-------------------------------------------------+\n");
+            isEmpty = false;
+            printCoachReport(report, out);
+            out.append(BORDER);
         }
 
-        return sb.toString();
+        if (isEmpty) {
+            out.append("+-------------- NO REPORTS TO SHOW ---------------+\n").append(BORDER);
+        }
     }
 
     /**
@@ -99,49 +144,108 @@ public class ReportPrinter {
      * @return formatted report
      */
     public static String prettyPrintCoachReport(CoachReport coachReport) {
-        return new StringBuilder()
-                .append("\n+-------------------------------------------------+\n")
+        StringBuilder sb = new StringBuilder();
+        printToString(() -> printCoachReport(coachReport, sb));
+        return sb.toString();
+    }
+
+    /**
+     * Write a coach report
+     *
+     * @param coachReport report
+     * @param out         where the report is written to
+     * @throws IOException if the output can't be written to
+     */
+    public static void printCoachReport(CoachReport coachReport, Appendable out) throws IOException {
+        out.append('\n').append(BORDER)
                 .append("|                  Coach Report                   |\n")
-                .append("+-------------------------------------------------+\n")
-                .append(String.format("| Name: %-41s |\n", coachReport.coachName()))
-                .append(String.format("| Number of Lessons Taught: %-21s |\n", coachReport.numberOfLessonsTaught()))
-                .append("| Lessons Taught:                                 |\n")
-                .append(formatLessons(coachReport.lessonsTaught()))
-                .append(String.format("| Average Lesson Rating: %-24s |\n", coachReport.averageLessonRating().hasRating() ? coachReport.averageLessonRating().getRatingValue() : "None"))
-                .append("| Average Rating per Lesson:                      |\n")
-                .append(formatAverageRatingPerLesson(coachReport.averageRatingPerLesson()))
-                .append("+-------------------------------------------------+\n")
-                .toString();
+                .append(BORDER);
+        appendField(out, "| Name: ", coachReport.coachName(), 41);
+        appendField(out, "| Number of Lessons Taught: ", Integer.toString(coachReport.numberOfLessonsTaught()), 21);
+        out.append("| Lessons Taught:                                 |\n");
+        appendLessons(out, coachReport.lessonsTaught());
+        appendField(out, "| Average Lesson Rating: ", formatRating(coachReport.averageLessonRating()), 24);
+        out.append("| Average Rating per Lesson:                      |\n");
+        appendAverageRatingPerLesson(out, coachReport.averageRatingPerLesson());
+        out.append(BORDER);
     }
 
     /**
-     * format list of average rating
+     * write list of average rating
      *
+     * @param out                    where the ratings are written to
      * @param averageRatingPerLesson list of average rating
-     * @return formatted rating
      */
-    private static String formatAverageRatingPerLesson(List<Map<Rating, Lesson>> averageRatingPerLesson) {
+    private static void appendAverageRatingPerLesson(Appendable out, List<Map<Rating, Lesson>> averageRatingPerLesson) throws IOException {
         if (averageRatingPerLesson.isEmpty()) {
-            return "| None                                            |\n";
+            out.append(NONE_LINE);
+            return;
+        }
+
+        for (Map<Rating, Lesson> entry : averageRatingPerLesson) {
+            for (Map.Entry<Rating, Lesson> e : entry.entrySet()) {
+                out.append("| - ");
+                appendPadded(out, e.getValue().getName(), 30);
+                out.append(" : Rating ");
+                appendPadded(out, formatRating(e.getKey()), 5);
+                out.append(" |\n");
+            }
         }
-        return averageRatingPerLesson.stream()
-                .map(entry -> entry.entrySet().stream()
-                        .map(e -> String.format("| - %-30s : Rating %-5s |\n", e.getValue().getName(), e.getKey().hasRating() ? e.getKey().getRatingValue() : "None"))
-                        .collect(Collectors.joining()))
-                .collect(Collectors.joining());
     }
 
     /**
-     * Format a list of lesson
+     * write a list of lesson
      *
+     * @param out     where the lessons are written to
      * @param lessons lesson
-     * @return formatted lesson
      */
-    private static String formatLessons(List<Lesson> lessons) {
-        return lessons.isEmpty() ? "| None                                            |\n" :
-                lessons.stream()
-                        .map(lesson -> String.format("| - %-45s |\n", lesson.getName()))
-                        .collect(Collectors.joining());
+    private static void appendLessons(Appendable out, List<Lesson> lessons) throws IOException {
+        if (lessons.isEmpty()) {
+            out.append(NONE_LINE);
+            return;
+        }
+
+        for (Lesson lesson : lessons) {
+            appendField(out, "| - ", lesson.getName(), 45);
+        }
+    }
+
+    /**
+     * Write a line with a label and a value left aligned in a column
+     */
+    private static void appendField(Appendable out, String label, String value, int width) throws IOException {
+        out.append(label);
+        appendPadded(out, value, width);
+        out.append(" |\n");
+    }
+
+    /**
+     * Write a value padded with spaces to the width. Longer values are written in full
+     */
+    private static void appendPadded(Appendable out, String value, int width) throws IOException {
+        value = String.valueOf(value);
+        out.append(value);
+        for (int padding = width - value.length(); padding > 0; padding -= SPACES.length()) {
+            out.append(SPACES, 0, Math.min(padding, SPACES.length()));
+        }
+    }
+
+    private static String formatRating(Rating rating) {
+        return rating.hasRating() ? Double.toString(rating.getRatingValue()) : "None";
+    }
+
+    /**
+     * Run a print to a {@link StringBuilder}, which never fails with an {@link IOException}
+     */
+    private static void printToString(Print print) {
+        try {
+            print.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
+    private interface Print {
+        void run() throws IOException;
+    }
 }
@@ -0,0 +1,60 @@
+package presentation.view.components.optionpicker;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Options shown a page at a time, whose labels are only built for the page on display
+ */
+public interface PagedOptions {
+    /**
+     * @return the number of options
+     */
+    int size();
+
+    /**
+     * Build the label of an option
+     *
+     * @param index index of the option
+     * @return the text shown for the option
+     */
+    String label(int index);
+
+    /**
+     * Check if an option matches the text typed to filter the options.
+     * This is called for every option, so it shouldn't build the label
+     *
+     * @param index  index of the option
+     * @param filter filter text, in lower case
+     * @return true if the option should be kept
+     */
+    boolean matches(int index, String filter);
+
+    /**
+     * Options backed by a list of items
+     *
+     * @param items   items
+     * @param label   builds the label of an item
+     * @param matches checks an item against the lower case filter text
+     * @return the options
+     */
+    static <T> PagedOptions of(List<T> items, Function<? super T, String> label, BiPredicate<? super T, String> matches) {
+        return new PagedOptions() {
+            @Override
+            public int size() {
+                return items.size();
+            }
+
+            @Override
+            public String label(int index) {
+                return label.apply(items.get(index));
+            }
+
+            @Override
+            public boolean matches(int index, String filter) {
+                return matches.test(items.get(index), filter);
+            }
+        };
+    }
+}
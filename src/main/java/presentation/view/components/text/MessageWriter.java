@@ -0,0 +1,16 @@
+package presentation.view.components.text;
+
+import java.io.IOException;
+
+/**
+ * Writes a message to the CLI as it's produced
+ */
+public interface MessageWriter {
+    /**
+     * Called with the output the message should be written to
+     *
+     * @param out the output
+     * @throws IOException if the output can't be written to
+     */
+    void write(Appendable out) throws IOException;
+}
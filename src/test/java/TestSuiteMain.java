@@ -5,5 +5,5 @@ import org.junit.runner.RunWith;
 
 @RunWith(org.junit.platform.runner.JUnitPlatform.class)
 @SuiteDisplayName("JUnit Platform Suite Demo")
-@SelectPackages({"domain", "presentation"})
+@SelectPackages({"data", "domain", "presentation"})
 public class TestSuiteMain {}
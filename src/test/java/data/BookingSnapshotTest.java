@@ -0,0 +1,126 @@
+package data;
+
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.entity.lesson.LessonStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingSnapshotTest {
+    @TempDir
+    Path tempDir;
+
+    private Path journalFile;
+    private Path snapshotFile;
+    private Lesson lesson;
+    private Learner learner;
+    private Learner otherLearner;
+
+    @BeforeEach
+    void setUp() {
+        journalFile = tempDir.resolve("journal.bin");
+        snapshotFile = tempDir.resolve("snapshot.bin");
+        Coach coach = new Coach("Helen");
+        lesson = new Lesson("Diving 3", 3, coach, LocalDate.of(2024, 4, 1), "4-5pm").setId(134021);
+        learner = new Learner("Divine", "Male", 5, 2, "08172742510", "08172432510").setId(223101);
+        otherLearner = new Learner("James", "Male", 6, 3, "08172742511", "08172432511").setId(223102);
+
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.recordCoachAdded(coach);
+            journal.recordLessonAdded(lesson);
+            journal.recordLearnerRegistered(learner);
+            journal.recordLearnerRegistered(otherLearner);
+            journal.recordLessonBooked(learner, lesson);
+            journal.recordLessonBooked(otherLearner, lesson);
+            journal.recordLessonAttended(learner, lesson, new Review("Great lesson", 5));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void load_afterWrite_restoresReplayedState() throws IOException {
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.replay(new JournalReplayer());
+            var snapshotter = BookingSnapshotter.start(journal, snapshotFile, 60);
+            snapshotter.snapshot();
+            snapshotter.close();
+        }
+
+        var state = new JournalReplayer();
+        BookingSnapshot.load(snapshotFile, state);
+
+        Lesson loadedLesson = state.getLesson(134021);
+        Learner loadedLearner = state.getLearner(223101);
+        assertEquals("Helen", loadedLesson.getCoach().getName());
+        assertEquals(LocalDate.of(2024, 4, 1), loadedLesson.getLessonDate());
+        assertEquals(2, loadedLesson.getActiveLearnerCount());
+        assertEquals(5, loadedLesson.getReviews().get(0).getRating());
+        assertEquals(3, loadedLearner.getGrade());
+        assertEquals(LessonStatus.ATTENDED, loadedLearner.getLessonStatus(loadedLesson));
+        assertEquals(LessonStatus.BOOKED, state.getLearner(223102).getLessonStatus(loadedLesson));
+    }
+
+    @Test
+    void load_thenReplayTail_appliesOnlyRecordsAfterSnapshot() throws IOException {
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.replay(new JournalReplayer());
+            var snapshotter = BookingSnapshotter.start(journal, snapshotFile, 60);
+            snapshotter.snapshot();
+            snapshotter.close();
+
+            journal.recordBookingCancelled(otherLearner, lesson);
+        }
+
+        var state = new JournalReplayer();
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.replay(BookingSnapshot.load(snapshotFile, state), state);
+        }
+
+        Lesson loadedLesson = state.getLesson(134021);
+        assertEquals(1, loadedLesson.getActiveLearnerCount());
+        assertEquals(1, loadedLesson.getReviews().size());
+        assertEquals(LessonStatus.CANCELLED, state.getLearner(223102).getLessonStatus(loadedLesson));
+        assertEquals(0, state.getSkippedRecords());
+    }
+
+    @Test
+    void snapshot_again_carriesOnFromPreviousSnapshot() throws IOException {
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.replay(new JournalReplayer());
+            var snapshotter = BookingSnapshotter.start(journal, snapshotFile, 60);
+            snapshotter.snapshot();
+            journal.recordBookingCancelled(otherLearner, lesson);
+            snapshotter.snapshot();
+            snapshotter.close();
+
+            assertEquals(journal.getDurableOffset(), BookingSnapshot.readJournalOffset(snapshotFile));
+        }
+
+        var state = new JournalReplayer();
+        BookingSnapshot.load(snapshotFile, state);
+
+        Lesson loadedLesson = state.getLesson(134021);
+        assertEquals(1, loadedLesson.getActiveLearnerCount());
+        assertEquals(1, loadedLesson.getReviews().size());
+        assertEquals(1, state.getLearners().get(0).getRegisteredLessons().size());
+        assertEquals(LessonStatus.CANCELLED, state.getLearner(223102).getLessonStatus(loadedLesson));
+    }
+
+    @Test
+    void load_notASnapshot_throws() throws IOException {
+        Files.write(snapshotFile, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+
+        assertThrows(IOException.class, () -> BookingSnapshot.load(snapshotFile, new JournalReplayer()));
+    }
+}
@@ -0,0 +1,173 @@
+package data;
+
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileBookingJournalTest {
+    @TempDir
+    Path tempDir;
+
+    private Path journalFile;
+    private Coach coach;
+    private Lesson lesson;
+    private Learner learner;
+
+    @BeforeEach
+    void setUp() {
+        journalFile = tempDir.resolve("journal.bin");
+        coach = new Coach("Helen");
+        lesson = new Lesson("Diving 3", 3, coach, LocalDate.of(2024, 4, 1), "4-5pm").setId(134021);
+        learner = new Learner("Divine", "Male", 5, 2, "08172742510", "08172432510").setId(223101);
+    }
+
+    @Test
+    void open_newFile_hasNoRecords() throws IOException {
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            assertFalse(journal.hasRecords());
+        }
+    }
+
+    @Test
+    void replay_afterReopen_returnsRecordsInOrder() throws IOException {
+        try (var journal = FileBookingJournal.open(journalFile, 10)) {
+            journal.recordCoachAdded(coach);
+            journal.recordLessonAdded(lesson);
+            journal.recordLearnerRegistered(learner);
+            journal.recordLessonBooked(learner, lesson);
+            journal.recordBookingCancelled(learner, lesson);
+            journal.recordLessonAttended(learner, lesson, new Review("Great lesson", 5));
+        }
+
+        var handler = new RecordingHandler();
+        try (var journal = FileBookingJournal.open(journalFile, 10)) {
+            assertTrue(journal.hasRecords());
+            journal.replay(handler);
+        }
+
+        assertEquals(List.of(
+                "coach Helen",
+                "lesson 134021 Diving 3 3 Helen 2024-04-01 4-5pm",
+                "learner 223101 Divine Male 5 2 08172742510 08172432510",
+                "booked 223101 134021",
+                "cancelled 223101 134021",
+                "attended 223101 134021 5 Great lesson"
+        ), handler.records);
+    }
+
+    @Test
+    void replay_tornLastRecord_isDroppedAndNewRecordsFollowOn() throws IOException {
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.recordCoachAdded(coach);
+            journal.recordLessonAdded(lesson);
+        }
+        try (var channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.replay(new RecordingHandler());
+            journal.recordCoachAdded(new Coach("Paula"));
+        }
+
+        var handler = new RecordingHandler();
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.replay(handler);
+        }
+
+        assertEquals(List.of("coach Helen", "coach Paula"), handler.records);
+    }
+
+    @Test
+    void replay_unknownRecordType_throwsAndKeepsFile() throws IOException {
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.recordCoachAdded(coach);
+        }
+        byte type = 99;
+        byte[] payload = {1, 2, 3};
+        var crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        try (var channel = FileChannel.open(journalFile, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(9 + payload.length)
+                    .putInt(payload.length).put(type).put(payload).putInt((int) crc.getValue()).flip());
+        }
+        long size = Files.size(journalFile);
+
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            assertThrows(IOException.class, () -> journal.replay(new RecordingHandler()));
+        }
+
+        assertEquals(size, Files.size(journalFile));
+    }
+
+    @Test
+    void recordLessonAttended_oversizedReview_throwsAndRecordsNothing() throws IOException {
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.recordCoachAdded(coach);
+            var review = new Review("a".repeat(0x10000), 5);
+
+            assertThrows(IllegalArgumentException.class, () -> journal.recordLessonAttended(learner, lesson, review));
+            journal.recordCoachAdded(new Coach("Paula"));
+        }
+
+        var handler = new RecordingHandler();
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.replay(handler);
+        }
+
+        assertEquals(List.of("coach Helen", "coach Paula"), handler.records);
+    }
+
+    private static class RecordingHandler implements FileBookingJournal.ReplayHandler {
+        final List<String> records = new ArrayList<>();
+
+        @Override
+        public void onCoachAdded(String name) {
+            records.add("coach " + name);
+        }
+
+        @Override
+        public void onLessonAdded(int id, String name, int grade, String coachName, LocalDate date, String time) {
+            records.add("lesson " + id + " " + name + " " + grade + " " + coachName + " " + date + " " + time);
+        }
+
+        @Override
+        public void onLearnerRegistered(Learner learner) {
+            records.add("learner " + learner.getId() + " " + learner.getName() + " " + learner.getGender() + " " + learner.getAge()
+                    + " " + learner.getGrade() + " " + learner.getPhoneNumber() + " " + learner.getEmergencyContactNumber());
+        }
+
+        @Override
+        public void onLessonBooked(int learnerId, int lessonId) {
+            records.add("booked " + learnerId + " " + lessonId);
+        }
+
+        @Override
+        public void onBookingCancelled(int learnerId, int lessonId) {
+            records.add("cancelled " + learnerId + " " + lessonId);
+        }
+
+        @Override
+        public void onLessonAttended(int learnerId, int lessonId, Review review) {
+            records.add("attended " + learnerId + " " + lessonId + " " + review.getRating() + " " + review.getMessage());
+        }
+    }
+}
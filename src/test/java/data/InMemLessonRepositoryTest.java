@@ -0,0 +1,68 @@
+package data;
+
+import domain.entity.coach.Coach;
+import domain.entity.lesson.Lesson;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemLessonRepositoryTest {
+    private final InMemLessonRepository repository = InMemLessonRepository.getInstance();
+
+    @Test
+    void getLessonsByGrade_lessonRegraded_foundUnderNewGradeOnly() {
+        Lesson lesson = new Lesson("Diving 3", 3, new Coach("Regrade Coach"), LocalDate.of(2024, 4, 1), "4-5pm");
+        repository.addNewLesson(lesson);
+
+        lesson.setGrade(4);
+
+        assertFalse(containsSame(repository.getLessonsByGrade(3), lesson));
+        assertTrue(containsSame(repository.getLessonsByGrade(4), lesson));
+    }
+
+    @Test
+    void getLessonsByCoach_coachRenamed_foundUnderNewName() {
+        Coach coach = new Coach("Rename Coach");
+        Lesson lesson = new Lesson("Diving 3", 3, coach, LocalDate.of(2024, 4, 1), "4-5pm");
+        repository.addNewLesson(lesson);
+
+        coach.setName("Renamed Coach");
+
+        assertTrue(repository.getLessonsByCoach("Rename Coach").isEmpty());
+        assertEquals(0, repository.countLessonsByCoach("Rename Coach"));
+        assertTrue(containsSame(repository.getLessonsByCoach("Renamed Coach"), lesson));
+        assertEquals(1, repository.countLessonsByCoach("renamed coach"));
+    }
+
+    @Test
+    void getLessonsByCoach_nameDifferingInCase_matchesLikeEqualsIgnoreCase() {
+        // "İ" lower-cases to two characters as a whole string, but to "i" one character at a time
+        Coach coach = new Coach("İlker Case");
+        Lesson lesson = new Lesson("Diving 3", 3, coach, LocalDate.of(2024, 4, 1), "4-5pm");
+        repository.addNewLesson(lesson);
+
+        assertTrue("İlker Case".equalsIgnoreCase("ilker case"));
+        assertTrue(containsSame(repository.getLessonsByCoach("ilker case"), lesson));
+        assertEquals(1, repository.countLessonsByCoach("ILKER CASE"));
+    }
+
+    @Test
+    void getLessonsByCoach_twoCoachesSameName_returnsLessonsInOrderAdded() {
+        Lesson first = new Lesson("Diving 1", 1, new Coach("Twin Coach"), LocalDate.of(2024, 4, 1), "4-5pm");
+        Lesson second = new Lesson("Diving 2", 2, new Coach("twin coach"), LocalDate.of(2024, 4, 1), "5-6pm");
+        repository.addLessons(List.of(first, second));
+
+        List<Lesson> lessons = repository.getLessonsByCoach("Twin Coach");
+
+        assertEquals(2, lessons.size());
+        assertSame(first, lessons.get(0));
+        assertSame(second, lessons.get(1));
+    }
+
+    private static boolean containsSame(List<Lesson> lessons, Lesson lesson) {
+        return lessons.stream().anyMatch(candidate -> candidate == lesson);
+    }
+}
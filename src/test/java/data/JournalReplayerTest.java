@@ -0,0 +1,113 @@
+package data;
+
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.entity.lesson.LessonStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalReplayerTest {
+    @TempDir
+    Path tempDir;
+
+    private Path journalFile;
+    private Coach coach;
+    private Lesson lesson;
+    private Learner learner;
+    private Learner otherLearner;
+
+    @BeforeEach
+    void setUp() {
+        journalFile = tempDir.resolve("journal.bin");
+        coach = new Coach("Helen");
+        lesson = new Lesson("Diving 3", 3, coach, LocalDate.of(2024, 4, 1), "4-5pm").setId(134021);
+        learner = new Learner("Divine", "Male", 5, 2, "08172742510", "08172432510").setId(223101);
+        otherLearner = new Learner("Adaeze", "Female", 6, 3, "08172742511", "08172432511").setId(223102);
+    }
+
+    @Test
+    void replay_recordedJournal_rebuildsEntities() throws IOException {
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.recordCoachAdded(coach);
+            journal.recordLessonAdded(lesson);
+            journal.recordLearnerRegistered(learner);
+            journal.recordLearnerRegistered(otherLearner);
+            journal.recordLessonBooked(learner, lesson);
+            journal.recordLessonBooked(otherLearner, lesson);
+            journal.recordBookingCancelled(otherLearner, lesson);
+            journal.recordLessonAttended(learner, lesson, new Review("Great lesson", 5));
+        }
+
+        var replayer = replay();
+
+        assertEquals(List.of("Helen"), replayer.getCoaches().stream().map(Coach::getName).toList());
+        Lesson replayedLesson = replayer.getLesson(134021);
+        assertEquals("Diving 3", replayedLesson.getName());
+        assertEquals(3, replayedLesson.getGrade());
+        assertEquals(LocalDate.of(2024, 4, 1), replayedLesson.getLessonDate());
+        assertEquals("4-5pm", replayedLesson.getLessonTime());
+        assertSame(replayer.getCoaches().get(0), replayedLesson.getCoach());
+
+        Learner replayedLearner = replayer.getLearner(223101);
+        assertEquals("Divine", replayedLearner.getName());
+        assertEquals("08172432510", replayedLearner.getEmergencyContactNumber());
+        assertEquals(LessonStatus.ATTENDED, replayedLearner.getLessonStatus(replayedLesson));
+        assertEquals(3, replayedLearner.getGrade());
+        assertEquals(LessonStatus.CANCELLED, replayer.getLearner(223102).getLessonStatus(replayedLesson));
+
+        assertEquals(1, replayedLesson.getReviews().size());
+        assertEquals("Great lesson", replayedLesson.getReviews().get(0).getMessage());
+        assertEquals(5, replayedLesson.getReviews().get(0).getRating());
+        assertEquals(0, replayer.getSkippedRecords());
+    }
+
+    @Test
+    void replay_rebookedAfterCancelling_isBookedOnce() throws IOException {
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.recordLessonAdded(lesson);
+            journal.recordLearnerRegistered(learner);
+            journal.recordLessonBooked(learner, lesson);
+            journal.recordBookingCancelled(learner, lesson);
+            journal.recordLessonBooked(learner, lesson);
+        }
+
+        var replayer = replay();
+
+        Learner replayedLearner = replayer.getLearner(223101);
+        assertEquals(LessonStatus.BOOKED, replayedLearner.getLessonStatus(replayer.getLesson(134021)));
+        assertEquals(1, replayedLearner.getRegisteredLessons().size());
+    }
+
+    @Test
+    void replay_unknownLearnerOrLesson_isSkipped() throws IOException {
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.recordLessonAdded(lesson);
+            journal.recordLessonBooked(learner, lesson);
+            journal.recordLessonAttended(learner, lesson, new Review("Great lesson", 5));
+        }
+
+        var replayer = replay();
+
+        assertEquals(2, replayer.getSkippedRecords());
+        assertTrue(replayer.getLearners().isEmpty());
+        assertTrue(replayer.getLesson(134021).getReviews().isEmpty());
+    }
+
+    private JournalReplayer replay() throws IOException {
+        var replayer = new JournalReplayer();
+        try (var journal = FileBookingJournal.open(journalFile, 0)) {
+            journal.replay(replayer);
+        }
+        return replayer;
+    }
+}
@@ -0,0 +1,77 @@
+package domain.entity.coach;
+
+import domain.entity.Rating;
+import domain.util.LessonUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoachTest {
+
+    @Test
+    void getAverageRating_twoLessonsEndingInFiveHundredths_roundsUp() {
+        assertEquals(1.5, averageOf(11, 18).getRatingValue());
+        assertEquals(1.2, averageOf(10, 13).getRatingValue());
+    }
+
+    @Test
+    void getAverageRating_sweepOfTwoAndThreeLessons_matchesLessonUtil() {
+        for (int first = 10; first <= 50; first++) {
+            for (int second = 10; second <= 50; second++) {
+                assertMatchesLessonUtil(first, second);
+                for (int third = 10; third <= 50; third += 3) {
+                    assertMatchesLessonUtil(first, second, third);
+                }
+            }
+        }
+    }
+
+    @Test
+    void getAverageRating_ratingUpdated_replacesPreviousRating() {
+        Coach coach = new Coach("Helen");
+        coach.updateLessonRating(Rating.NONE, new Rating(2.0));
+        coach.updateLessonRating(Rating.NONE, new Rating(4.0));
+
+        coach.updateLessonRating(new Rating(2.0), new Rating(3.0));
+
+        assertEquals(3.5, coach.getAverageRating().getRatingValue());
+    }
+
+    @Test
+    void getAverageRating_noRatedLessons_hasNoRating() {
+        assertFalse(new Coach("Helen").getAverageRating().hasRating());
+    }
+
+    /**
+     * Compare against the average of {@link LessonUtil#getAverageRating(List)}, which divides in double first.
+     * That lands just under an average ending in exactly 5 hundredths for some inputs and rounds it down,
+     * so those averages are expected to round up instead
+     */
+    private static void assertMatchesLessonUtil(int... ratingTenths) {
+        var ratings = new ArrayList<Rating>();
+        long tenthsSum = 0;
+        for (int tenths : ratingTenths) {
+            ratings.add(new Rating(tenths / 10.0));
+            tenthsSum += tenths;
+        }
+        long hundredths = tenthsSum * 10;
+        boolean endsInFiveHundredths = hundredths % ratingTenths.length == 0 && hundredths / ratingTenths.length % 10 == 5;
+
+        double expected = endsInFiveHundredths
+                ? (hundredths / ratingTenths.length + 5) / 100.0
+                : LessonUtil.getAverageRating(ratings).getRatingValue();
+        assertEquals(expected, averageOf(ratingTenths).getRatingValue(), 1e-9, () -> Arrays.toString(ratingTenths));
+    }
+
+    private static Rating averageOf(int... ratingTenths) {
+        Coach coach = new Coach("Helen");
+        for (int tenths : ratingTenths) {
+            coach.updateLessonRating(Rating.NONE, new Rating(tenths / 10.0));
+        }
+        return coach.getAverageRating();
+    }
+}
@@ -0,0 +1,47 @@
+package domain.entity.lesson;
+
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.util.LessonUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LessonTest {
+
+    @Test
+    void getAverageRating_endingInFiveHundredths_roundsUp() {
+        Lesson lesson = new Lesson("Diving 3", 3, new Coach("Helen"), LocalDate.of(2024, 4, 1), "4-5pm");
+        for (int i = 0; i < 20; i++) {
+            lesson.addReview(new Review("", i < 9 ? 2 : 1));
+        }
+
+        assertEquals(1.5, lesson.getAverageRating().getRatingValue());
+    }
+
+    @Test
+    void getAverageRating_sweepOfReviews_matchesLessonUtil() {
+        Coach coach = new Coach("Helen");
+        for (int count = 1; count <= 20; count++) {
+            for (int sum = count; sum <= 5 * count; sum++) {
+                var reviews = new ArrayList<Review>();
+                for (int i = 0; i < count; i++) {
+                    // spread the sum over the reviews, each rated 1 to 5
+                    reviews.add(new Review("", sum / count + (i < sum % count ? 1 : 0)));
+                }
+                Lesson lesson = new Lesson("Diving 3", 3, coach, LocalDate.of(2024, 4, 1), "4-5pm", new ArrayList<>(), reviews);
+
+                // dividing in double first lands just under some averages ending in exactly 5 hundredths and rounds them down
+                long hundredths = sum * 100L;
+                boolean endsInFiveHundredths = hundredths % count == 0 && hundredths / count % 10 == 5;
+                double expected = endsInFiveHundredths
+                        ? (hundredths / count + 5) / 100.0
+                        : LessonUtil.getAverageReviewRating(reviews).getRatingValue();
+                assertEquals(expected, lesson.getAverageRating().getRatingValue(), 1e-9, sum + "/" + count);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package domain.entity.lesson;
+
+import domain.entity.learner.Learner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistTest {
+    private Waitlist waitlist;
+    private Learner first;
+    private Learner second;
+    private Learner third;
+
+    @BeforeEach
+    void setUp() {
+        waitlist = new Waitlist();
+        first = new Learner("Divine", "Male", 5, 2, "08172742510", "08172432510");
+        second = new Learner("James", "Male", 6, 2, "08172742511", "08172432511");
+        third = new Learner("Ann", "Female", 7, 2, "08172742512", "08172432512");
+    }
+
+    @Test
+    void join_inOrder_returnsPositions() {
+        assertEquals(1, waitlist.join(first));
+        assertEquals(2, waitlist.join(second));
+        assertEquals(3, waitlist.join(third));
+        assertEquals(3, waitlist.size());
+    }
+
+    @Test
+    void join_alreadyWaiting_keepsPlace() {
+        waitlist.join(first);
+        waitlist.join(second);
+
+        assertEquals(1, waitlist.join(first));
+        assertEquals(2, waitlist.size());
+    }
+
+    @Test
+    void poll_takesFrontAndMovesEveryoneUp() {
+        waitlist.join(first);
+        waitlist.join(second);
+        waitlist.join(third);
+
+        assertSame(first, waitlist.poll());
+        assertEquals(0, waitlist.positionOf(first));
+        assertEquals(1, waitlist.positionOf(second));
+        assertEquals(2, waitlist.positionOf(third));
+    }
+
+    @Test
+    void poll_empty_returnsNull() {
+        assertNull(waitlist.poll());
+    }
+
+    @Test
+    void leave_fromMiddle_movesOnlyThoseBehindUp() {
+        waitlist.join(first);
+        waitlist.join(second);
+        waitlist.join(third);
+
+        assertTrue(waitlist.leave(second));
+        assertEquals(0, waitlist.positionOf(second));
+        assertEquals(1, waitlist.positionOf(first));
+        assertEquals(2, waitlist.positionOf(third));
+        assertEquals(2, waitlist.size());
+
+        assertSame(first, waitlist.poll());
+        assertEquals(1, waitlist.positionOf(third));
+        assertSame(third, waitlist.poll());
+        assertNull(waitlist.poll());
+    }
+
+    @Test
+    void leave_fromFront_movesEveryoneUp() {
+        waitlist.join(first);
+        waitlist.join(second);
+        waitlist.join(third);
+        waitlist.leave(second);
+
+        assertTrue(waitlist.leave(first));
+        assertEquals(1, waitlist.positionOf(third));
+        assertEquals(2, waitlist.join(second));
+    }
+
+    @Test
+    void leave_notWaiting_returnsFalse() {
+        waitlist.join(first);
+
+        assertFalse(waitlist.leave(second));
+        assertEquals(1, waitlist.positionOf(first));
+    }
+
+    @Test
+    void join_afterLeaving_goesToBack() {
+        waitlist.join(first);
+        waitlist.join(second);
+        waitlist.poll();
+
+        assertEquals(2, waitlist.join(first));
+    }
+}
@@ -0,0 +1,120 @@
+package domain.event;
+
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventBusTest {
+    private EventBus bus;
+    private Learner learner;
+    private Lesson lesson;
+
+    @BeforeEach
+    void setUp() {
+        bus = new EventBus();
+        learner = new Learner("Divine", "Male", 6, 3, "08172742510", "08172432510").setId(223101);
+        lesson = new Lesson("Diving 3", 3, new Coach("Helen"), LocalDate.of(2024, 4, 1), "4-5pm").setId(134021);
+    }
+
+    @Test
+    void publish_subscribedToType_onlyGetsThatType() {
+        var booked = new ArrayList<LessonBooked>();
+        bus.subscribe(LessonBooked.class, booked::add);
+
+        bus.publish(new LessonBooked(learner, lesson));
+        bus.publish(new BookingCancelled(learner, lesson));
+
+        assertEquals(List.of(new LessonBooked(learner, lesson)), booked);
+    }
+
+    @Test
+    void publish_subscribedToAll_getsEveryEventInOrder() {
+        var events = new ArrayList<BookingEvent>();
+        bus.subscribe(BookingEvent.class, events::add);
+        var review = new Review("Great lesson", 5);
+
+        bus.publish(new LessonAttended(learner, lesson));
+        bus.publish(new ReviewAdded(lesson, review));
+
+        assertEquals(List.of(new LessonAttended(learner, lesson), new ReviewAdded(lesson, review)), events);
+    }
+
+    @Test
+    void publish_subscriberThrows_othersStillCalled() {
+        var events = new ArrayList<BookingEvent>();
+        bus.subscribe(BookingEvent.class, event -> {
+            throw new IllegalStateException("broken subscriber");
+        });
+        bus.subscribe(BookingEvent.class, events::add);
+
+        assertDoesNotThrow(() -> bus.publish(new LearnerRegistered(learner)));
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void unsubscribe_stopsEvents() {
+        var events = new ArrayList<BookingEvent>();
+        var subscription = bus.subscribe(BookingEvent.class, events::add);
+
+        subscription.unsubscribe();
+        bus.publish(new LearnerRegistered(learner));
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void subscribeBatched_manyEvents_deliveredInOrderInBoundedBatches() throws InterruptedException {
+        var batches = new CopyOnWriteArrayList<List<LessonBooked>>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        bus.subscribeBatched(LessonBooked.class, 16, executor, batches::add);
+
+        var learners = new ArrayList<Learner>();
+        for (int i = 0; i < 1000; i++) {
+            learners.add(new Learner("Learner " + i, "Male", 6, 3, "08172742510", "08172432510").setId(200_000 + i));
+            bus.publish(new LessonBooked(learners.get(i), lesson));
+            bus.publish(new BookingCancelled(learners.get(i), lesson));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        var delivered = new ArrayList<Learner>();
+        for (List<LessonBooked> batch : batches) {
+            assertTrue(batch.size() <= 16);
+            batch.forEach(event -> delivered.add(event.learner()));
+        }
+        assertEquals(learners, delivered);
+    }
+
+    @Test
+    void subscribeBatched_concurrentPublishers_deliversEveryEventOnce() throws InterruptedException {
+        var delivered = new ArrayList<BookingEvent>();
+        ExecutorService subscriberExecutor = Executors.newFixedThreadPool(4);
+        // the subscriber isn't thread safe, which is fine as one batch is handed over at a time
+        bus.subscribeBatched(BookingEvent.class, 8, subscriberExecutor, delivered::addAll);
+
+        var publishers = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            publishers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 2500; i++) bus.publish(new LearnerRegistered(learner));
+            }));
+        }
+        for (Thread publisher : publishers) publisher.join();
+        subscriberExecutor.shutdown();
+        assertTrue(subscriberExecutor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(10_000, delivered.size());
+    }
+}
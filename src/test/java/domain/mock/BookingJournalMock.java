@@ -0,0 +1,63 @@
+package domain.mock;
+
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.repository.BookingJournal;
+
+/**
+ * Journal counting its records, which can be closed to refuse any more like a journal that has stopped
+ */
+public class BookingJournalMock implements BookingJournal {
+    private int recordCount = 0;
+    private boolean closed = false;
+
+    public void close() {
+        closed = true;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void checkWritable() {
+        if (closed) throw new IllegalStateException("The booking journal is closed");
+    }
+
+    @Override
+    public void recordCoachAdded(Coach coach) {
+        record();
+    }
+
+    @Override
+    public void recordLessonAdded(Lesson lesson) {
+        record();
+    }
+
+    @Override
+    public void recordLearnerRegistered(Learner learner) {
+        record();
+    }
+
+    @Override
+    public void recordLessonBooked(Learner learner, Lesson lesson) {
+        record();
+    }
+
+    @Override
+    public void recordBookingCancelled(Learner learner, Lesson lesson) {
+        record();
+    }
+
+    @Override
+    public void recordLessonAttended(Learner learner, Lesson lesson, Review review) {
+        record();
+    }
+
+    private void record() {
+        checkWritable();
+        recordCount++;
+    }
+}
@@ -21,6 +21,15 @@ public class LearnerRepositoryMock implements LearnerRepository {
 
     @Override
     public Result<Learner, Error> getLearnerById(int id) {
+        return learners.stream()
+                .filter(learner -> learner.hasId() && learner.getId() == id)
+                .findFirst()
+                .<Result<Learner, Error>>map(Result::success)
+                .orElseGet(() -> Result.error(Error.LEARNER_NOT_FOUND));
+    }
+
+    @Override
+    public List<Result<Learner, Error>> getLearnersByIds(int[] ids) {
         return null;
     }
 }
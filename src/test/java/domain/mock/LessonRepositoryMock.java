@@ -2,8 +2,12 @@ package domain.mock;
 
 import domain.entity.lesson.Lesson;
 import domain.repository.LessonRepository;
+import domain.util.Result;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 public class LessonRepositoryMock implements LessonRepository {
@@ -18,4 +22,56 @@ public class LessonRepositoryMock implements LessonRepository {
     public void addNewLesson(Lesson lesson) {
         lessons.add(lesson);
     }
+
+    @Override
+    public List<Lesson> getLessonsByGrade(int grade) {
+        return lessons.stream().filter(lesson -> lesson.getGrade() == grade).toList();
+    }
+
+    @Override
+    public List<Lesson> getLessonsByCoach(String coachName) {
+        return lessons.stream().filter(lesson -> lesson.getCoach().getName().equalsIgnoreCase(coachName)).toList();
+    }
+
+    @Override
+    public List<Lesson> getLessonsByDay(DayOfWeek dayOfWeek) {
+        return lessons.stream().filter(lesson -> lesson.getLessonDate().getDayOfWeek() == dayOfWeek).toList();
+    }
+
+    @Override
+    public List<Lesson> getLessonsBetween(LocalDate fromDate, LocalDate toDate) {
+        return lessons.stream()
+                .filter(lesson -> !lesson.getLessonDate().isBefore(fromDate) && !lesson.getLessonDate().isAfter(toDate))
+                .sorted(Comparator.comparing(Lesson::getLessonDate))
+                .toList();
+    }
+
+    @Override
+    public int countLessonsByGrade(int grade) {
+        return (int) lessons.stream().filter(lesson -> lesson.getGrade() == grade).count();
+    }
+
+    @Override
+    public int countLessonsByCoach(String coachName) {
+        return (int) lessons.stream().filter(lesson -> lesson.getCoach().getName().equalsIgnoreCase(coachName)).count();
+    }
+
+    @Override
+    public int countLessonsByDay(DayOfWeek dayOfWeek) {
+        return (int) lessons.stream().filter(lesson -> lesson.getLessonDate().getDayOfWeek() == dayOfWeek).count();
+    }
+
+    @Override
+    public int countLessonsBetween(LocalDate fromDate, LocalDate toDate) {
+        return getLessonsBetween(fromDate, toDate).size();
+    }
+
+    @Override
+    public Result<Lesson, Error> getLessonById(int id) {
+        return lessons.stream()
+                .filter(lesson -> lesson.hasId() && lesson.getId() == id)
+                .findFirst()
+                .<Result<Lesson, Error>>map(Result::success)
+                .orElseGet(() -> Result.error(Error.LESSON_NOT_FOUND));
+    }
 }
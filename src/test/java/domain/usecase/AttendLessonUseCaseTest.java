@@ -6,10 +6,19 @@ import domain.entity.Review;
 import domain.entity.lesson.Lesson;
 import domain.entity.lesson.LessonStatus;
 import domain.entity.lesson.RegisteredLesson;
+import domain.event.BookingEvent;
+import domain.event.EventBus;
+import domain.event.LessonAttended;
+import domain.event.ReviewAdded;
+import domain.mock.BookingJournalMock;
+import domain.repository.BookingJournal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -138,6 +147,38 @@ class AttendLessonUseCaseTest {
         assertEquals(AttendLessonUseCase.Error.LEARNER_NOT_REGISTERED_TO_LESSON, result.getError());
     }
 
+    @Test
+    void attendLessonAsync_reviewNotYetProvided_lessonNotAttended() {
+        testLearner.registerNewLesson(new RegisteredLesson(testLesson, LessonStatus.BOOKED));
+        CompletableFuture<Review> review = new CompletableFuture<>();
+
+        var result = useCase.attendLessonAsync(testLesson, testLearner, () -> review);
+
+        assertFalse(result.isDone());
+        assertEquals(LessonStatus.BOOKED, testLearner.getLessonStatus(testLesson));
+    }
+
+    @Test
+    void attendLessonAsync_reviewProvided_lessonAttended() {
+        testLearner.registerNewLesson(new RegisteredLesson(testLesson, LessonStatus.BOOKED));
+        CompletableFuture<Review> review = new CompletableFuture<>();
+
+        var result = useCase.attendLessonAsync(testLesson, testLearner, () -> review);
+        review.complete(new Review("Great lesson", 5));
+
+        assertTrue(result.join().isSuccess());
+        assertEquals(LessonStatus.ATTENDED, testLearner.getLessonStatus(testLesson));
+    }
+
+    @Test
+    void attendLessonAsync_unRegisteredLesson_failsWithoutRequestingReview() {
+        var result = useCase.attendLessonAsync(testLesson, testLearner, () -> {
+            throw new AssertionError("review should not be requested");
+        });
+
+        assertEquals(AttendLessonUseCase.Error.LEARNER_NOT_REGISTERED_TO_LESSON, result.join().getError());
+    }
+
     @Test
     void attendLesson_succeeds_provideFeedbackCalled() {
         testLearner.registerNewLesson(new RegisteredLesson(testLesson, LessonStatus.BOOKED));
@@ -248,6 +289,31 @@ class AttendLessonUseCaseTest {
         assertEquals(AttendLessonUseCase.Error.INVALID_REVIEW_RATING, result.getError());
     }
 
+    @Test
+    void attendLesson_oversizedReviewMessage_failsWithoutAttending() {
+        testLearner.registerNewLesson(new RegisteredLesson(testLesson, LessonStatus.BOOKED));
+        reviewProvider.setReview(new Review("a".repeat(70_000), 5));
+
+        var result = useCase.attendLesson(testLesson, testLearner, reviewProvider);
+
+        assertEquals(AttendLessonUseCase.Error.REVIEW_MESSAGE_TOO_LONG, result.getError());
+        assertEquals(LessonStatus.BOOKED, testLearner.getLessonStatus(testLesson));
+        assertTrue(testLesson.getReviews().isEmpty());
+    }
+
+    @Test
+    void attendLesson_journalRefusesRecord_nothingApplied() {
+        testLearner.registerNewLesson(new RegisteredLesson(testLesson, LessonStatus.BOOKED));
+        var journal = new BookingJournalMock();
+        journal.close();
+        useCase = new AttendLessonUseCase(journal);
+
+        assertThrows(IllegalStateException.class, () -> useCase.attendLesson(testLesson, testLearner, reviewProvider));
+        assertEquals(LessonStatus.BOOKED, testLearner.getLessonStatus(testLesson));
+        assertEquals(2, testLearner.getGrade());
+        assertTrue(testLesson.getReviews().isEmpty());
+    }
+
     @Test
     void attendLesson_emptyReviewMessage_failsCorrectError() {
         testLearner.registerNewLesson(new RegisteredLesson(testLesson, LessonStatus.BOOKED));
@@ -273,4 +339,17 @@ class AttendLessonUseCaseTest {
             this.review = review;
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void attendLesson_succeeds_publishesAttendanceThenReview() {
+        var bus = new EventBus();
+        var events = new ArrayList<BookingEvent>();
+        bus.subscribe(BookingEvent.class, events::add);
+        useCase = new AttendLessonUseCase(BookingJournal.NONE, bus);
+        testLearner.registerNewLesson(new RegisteredLesson(testLesson, LessonStatus.BOOKED));
+
+        useCase.attendLesson(testLesson, testLearner, reviewProvider);
+
+        assertEquals(List.of(new LessonAttended(testLearner, testLesson), new ReviewAdded(testLesson, reviewProvider.provideReview())), events);
+    }
+}
@@ -2,13 +2,27 @@ package domain.usecase;
 
 import domain.entity.coach.Coach;
 import domain.entity.learner.Learner;
+import domain.entity.lesson.BookingRequest;
 import domain.entity.lesson.Lesson;
 import domain.entity.lesson.LessonStatus;
 import domain.entity.lesson.RegisteredLesson;
+import domain.event.BookingEvent;
+import domain.event.EventBus;
+import domain.event.LessonBooked;
+import domain.mock.BookingJournalMock;
+import domain.repository.BookingJournal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -234,4 +248,224 @@ class BookLessonUseCaseTest {
         assertFalse(useCase.bookLesson(testLesson, learner5).isSuccess());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void bookLesson_succeeds_activeLearnerCountIncremented() {
+        useCase.bookLesson(testLesson, learner);
+
+        assertEquals(1, testLesson.getActiveLearnerCount());
+    }
+
+    @Test
+    public void bookLesson_bookingCancelledAndRebooked_activeLearnerCountNotDuplicated() {
+        useCase.bookLesson(testLesson, learner); // book the lesson
+
+        learner.updateRegisteredLessonStatus(testLesson, LessonStatus.CANCELLED); // cancel the lesson
+        assertEquals(0, testLesson.getActiveLearnerCount());
+
+        useCase.bookLesson(testLesson, learner);// rebook the lesson
+        assertEquals(1, testLesson.getActiveLearnerCount());
+    }
+
+    @Test
+    public void bookLesson_cancelledBookingOnFullLesson_failsWithCorrectError() {
+        useCase.bookLesson(testLesson, learner);
+        learner.updateRegisteredLessonStatus(testLesson, LessonStatus.CANCELLED);
+
+        for (int i = 0; i < 4; i++) {
+            useCase.bookLesson(testLesson, new Learner("John doe" + i, "Male", 5, passingTestGrade, validPhoneNumber, validPhoneNumber));
+        }
+
+        assertEquals(BookLessonUseCase.Error.LESSON_FULLY_BOOKED, useCase.bookLesson(testLesson, learner).getError());
+    }
+
+    @Test
+    public void bookLesson_concurrentBookings_neverOverbooks() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < threads * 4; i++) {
+            Learner learner = new Learner("John doe" + i, "Male", 5, passingTestGrade, validPhoneNumber, validPhoneNumber);
+            results.add(executor.submit(() -> {
+                start.await();
+                return useCase.bookLesson(testLesson, learner).isSuccess();
+            }));
+        }
+        start.countDown();
+
+        int successes = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) successes++;
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(4, successes);
+        assertEquals(4, testLesson.getActiveLearnerCount());
+        assertEquals(4, testLesson.getRegisteredLearners().size());
+    }
+
+    @Test
+    public void bookLesson_fullyBookedLesson_joinsWaitlistInOrder() {
+        for (int i = 0; i < Lesson.MAX_LEARNERS; i++) {
+            useCase.bookLesson(testLesson, new Learner("Learner " + i, "Male", 5, passingTestGrade, validPhoneNumber, validPhoneNumber));
+        }
+        Learner secondInLine = new Learner("Jane doe", "Female", 5, passingTestGrade, validPhoneNumber, validPhoneNumber);
+
+        useCase.bookLesson(testLesson, learner);
+        useCase.bookLesson(testLesson, secondInLine);
+        useCase.bookLesson(testLesson, learner);
+
+        assertEquals(1, useCase.getWaitlistPosition(testLesson, learner));
+        assertEquals(2, useCase.getWaitlistPosition(testLesson, secondInLine));
+        assertNull(learner.getLessonStatus(testLesson));
+    }
+
+    @Test
+    public void leaveWaitlist_waiting_isNotBookedWhenSeatFrees() {
+        Learner firstBooked = null;
+        for (int i = 0; i < Lesson.MAX_LEARNERS; i++) {
+            Learner booked = new Learner("Learner " + i, "Male", 5, passingTestGrade, validPhoneNumber, validPhoneNumber);
+            useCase.bookLesson(testLesson, booked);
+            if (firstBooked == null) firstBooked = booked;
+        }
+        Learner secondInLine = new Learner("Jane doe", "Female", 5, passingTestGrade, validPhoneNumber, validPhoneNumber);
+        useCase.bookLesson(testLesson, learner);
+        useCase.bookLesson(testLesson, secondInLine);
+
+        assertTrue(useCase.leaveWaitlist(testLesson, learner));
+        assertFalse(useCase.leaveWaitlist(testLesson, learner));
+        assertEquals(1, useCase.getWaitlistPosition(testLesson, secondInLine));
+
+        new CancelLessonUseCase().cancelLesson(testLesson, firstBooked);
+
+        assertNull(learner.getLessonStatus(testLesson));
+        assertEquals(LessonStatus.BOOKED, secondInLine.getLessonStatus(testLesson));
+    }
+
+    @Test
+    public void bookLesson_journalClosed_notBooked() {
+        var journal = new BookingJournalMock();
+        journal.close();
+        useCase = new BookLessonUseCase(journal, new EventBus());
+
+        assertThrows(IllegalStateException.class, () -> useCase.bookLesson(testLesson, learner));
+        assertNull(learner.getLessonStatus(testLesson));
+        assertTrue(testLesson.getRegisteredLearners().isEmpty());
+    }
+
+    @Test
+    public void bookLesson_wrongGrade_doesNotJoinWaitlist() {
+        learner.setGrade(1);
+
+        useCase.bookLesson(testLesson, learner);
+
+        assertEquals(0, useCase.getWaitlistPosition(testLesson, learner));
+    }
+
+    @Test
+    public void bookLessons_mixedRequests_resultsInRequestOrder() {
+        Coach coach = new Coach("Helen");
+        Lesson otherLesson = new Lesson("Diving 4", passingTestGrade + 1, coach, LocalDate.now(), "5-6pm").setId(144001);
+        testLesson.setId(134001);
+        Learner lowGradeLearner = new Learner("Jane doe", "Female", 5, 1, validPhoneNumber, validPhoneNumber);
+
+        var results = useCase.bookLessons(List.of(
+                new BookingRequest(testLesson, learner),
+                new BookingRequest(otherLesson, lowGradeLearner),
+                new BookingRequest(otherLesson, learner),
+                new BookingRequest(testLesson, learner)));
+
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(BookLessonUseCase.Error.LESSON_ABOVE_LEARNER_GRADE, results.get(1).getError());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(BookLessonUseCase.Error.DUPLICATE_BOOKING, results.get(3).getError());
+        assertEquals(LessonStatus.BOOKED, learner.getLessonStatus(otherLesson));
+    }
+
+    @Test
+    public void bookLessons_randomRequests_matchesBookingOneByOne() {
+        var random = new Random(42);
+        var batchLessons = new ArrayList<Lesson>();
+        var sequentialLessons = new ArrayList<Lesson>();
+        for (int i = 0; i < 20; i++) {
+            int grade = 1 + random.nextInt(5);
+            batchLessons.add(new Lesson("Lesson " + i, grade, new Coach("Helen"), LocalDate.now(), "4-5pm").setId(100_000 + i));
+            sequentialLessons.add(new Lesson("Lesson " + i, grade, new Coach("Helen"), LocalDate.now(), "4-5pm").setId(100_000 + i));
+        }
+        var batchLearners = new ArrayList<Learner>();
+        var sequentialLearners = new ArrayList<Learner>();
+        for (int i = 0; i < 30; i++) {
+            int grade = random.nextInt(6);
+            batchLearners.add(new Learner("Learner " + i, "Male", 6, grade, validPhoneNumber, validPhoneNumber).setId(200_000 + i));
+            sequentialLearners.add(new Learner("Learner " + i, "Male", 6, grade, validPhoneNumber, validPhoneNumber).setId(200_000 + i));
+        }
+
+        var requests = new ArrayList<BookingRequest>();
+        var sequentialResults = new ArrayList<Object>();
+        for (int i = 0; i < 500; i++) {
+            int lesson = random.nextInt(batchLessons.size());
+            int learner = random.nextInt(batchLearners.size());
+            requests.add(new BookingRequest(batchLessons.get(lesson), batchLearners.get(learner)));
+
+            var result = new BookLessonUseCase().bookLesson(sequentialLessons.get(lesson), sequentialLearners.get(learner));
+            sequentialResults.add(result.isSuccess() ? "OK" : result.getError());
+        }
+
+        var batchResults = useCase.bookLessons(requests).stream()
+                .map(result -> result.isSuccess() ? "OK" : result.getError())
+                .toList();
+
+        assertEquals(sequentialResults, batchResults);
+        for (int i = 0; i < batchLessons.size(); i++) {
+            assertEquals(sequentialLessons.get(i).getActiveLearnerCount(), batchLessons.get(i).getActiveLearnerCount());
+            assertEquals(sequentialLessons.get(i).getWaitlist().size(), batchLessons.get(i).getWaitlist().size());
+        }
+    }
+
+    @Test
+    public void bookLessons_concurrentWithSingleBookings_neverOverbooks() throws Exception {
+        var batchLearners = new ArrayList<BookingRequest>();
+        for (int i = 0; i < 50; i++) {
+            batchLearners.add(new BookingRequest(testLesson, new Learner("Batch " + i, "Male", 5, passingTestGrade, validPhoneNumber, validPhoneNumber)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            var start = new CountDownLatch(1);
+            var tasks = new ArrayList<Future<?>>();
+            tasks.add(executor.submit(() -> {
+                start.await();
+                return useCase.bookLessons(batchLearners);
+            }));
+            for (int i = 0; i < 50; i++) {
+                Learner single = new Learner("Single " + i, "Male", 5, passingTestGrade, validPhoneNumber, validPhoneNumber);
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    return useCase.bookLesson(testLesson, single);
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) task.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(Lesson.MAX_LEARNERS, testLesson.getActiveLearnerCount());
+        assertEquals(100 - Lesson.MAX_LEARNERS, testLesson.getWaitlist().size());
+    }
+
+    @Test
+    public void bookLesson_succeeds_publishesLessonBooked() {
+        var bus = new EventBus();
+        var events = new ArrayList<BookingEvent>();
+        bus.subscribe(BookingEvent.class, events::add);
+        useCase = new BookLessonUseCase(BookingJournal.NONE, bus);
+
+        useCase.bookLesson(testLesson, learner);
+        useCase.bookLesson(testLesson, learner);
+
+        assertEquals(List.of(new LessonBooked(learner, testLesson)), events);
+    }
+}
@@ -5,10 +5,22 @@ import domain.entity.learner.Learner;
 import domain.entity.lesson.Lesson;
 import domain.entity.lesson.LessonStatus;
 import domain.entity.lesson.RegisteredLesson;
+import domain.event.BookingCancelled;
+import domain.event.BookingEvent;
+import domain.event.EventBus;
+import domain.event.LessonBooked;
+import domain.repository.BookingJournal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -80,5 +92,110 @@ class CancelLessonUseCaseTest {
         assertEquals(CancelLessonUseCase.Error.LESSON_ALREADY_ATTENDED, useCase.cancelLesson(testLesson, learner).getError());
     }
 
+    @Test
+    public void cancelLesson_succeeds_seatReleased() {
+        learner.registerNewLesson(new RegisteredLesson(testLesson, LessonStatus.BOOKED));
+
+        useCase.cancelLesson(testLesson, learner);
+        assertEquals(0, testLesson.getActiveLearnerCount());
+    }
+
+    @Test
+    public void cancelLesson_learnersWaiting_firstInLineGetsSeat() {
+        var bookLessonUseCase = new BookLessonUseCase();
+        var booked = fillLesson(bookLessonUseCase);
+        Learner first = newLearner("First");
+        Learner second = newLearner("Second");
+        bookLessonUseCase.bookLesson(testLesson, first);
+        bookLessonUseCase.bookLesson(testLesson, second);
+
+        useCase.cancelLesson(testLesson, booked.get(0));
+
+        assertEquals(LessonStatus.BOOKED, first.getLessonStatus(testLesson));
+        assertEquals(0, bookLessonUseCase.getWaitlistPosition(testLesson, first));
+        assertEquals(1, bookLessonUseCase.getWaitlistPosition(testLesson, second));
+        assertEquals(Lesson.MAX_LEARNERS, testLesson.getActiveLearnerCount());
+    }
+
+    @Test
+    public void cancelLesson_firstInLineOutgrewLesson_skippedForNextInLine() {
+        var bookLessonUseCase = new BookLessonUseCase();
+        var booked = fillLesson(bookLessonUseCase);
+        Learner outgrown = newLearner("Outgrown");
+        Learner next = newLearner("Next");
+        bookLessonUseCase.bookLesson(testLesson, outgrown);
+        bookLessonUseCase.bookLesson(testLesson, next);
+        outgrown.setGrade(passingTestGrade + 1);
+
+        useCase.cancelLesson(testLesson, booked.get(0));
+
+        assertNull(outgrown.getLessonStatus(testLesson));
+        assertEquals(0, bookLessonUseCase.getWaitlistPosition(testLesson, outgrown));
+        assertEquals(LessonStatus.BOOKED, next.getLessonStatus(testLesson));
+    }
+
+    @Test
+    public void cancelLesson_concurrentCancels_eachSeatGoesToOneWaitingLearner() throws Exception {
+        var bookLessonUseCase = new BookLessonUseCase();
+        var booked = fillLesson(bookLessonUseCase);
+        var waiting = new ArrayList<Learner>();
+        for (int i = 0; i < 10; i++) {
+            Learner waitingLearner = newLearner("Waiting " + i);
+            bookLessonUseCase.bookLesson(testLesson, waitingLearner);
+            waiting.add(waitingLearner);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(booked.size());
+        try {
+            var start = new CountDownLatch(1);
+            var cancels = new ArrayList<Future<?>>();
+            for (Learner bookedLearner : booked) {
+                cancels.add(executor.submit(() -> {
+                    start.await();
+                    return useCase.cancelLesson(testLesson, bookedLearner);
+                }));
+            }
+            start.countDown();
+            for (Future<?> cancel : cancels) cancel.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(Lesson.MAX_LEARNERS, testLesson.getActiveLearnerCount());
+        for (int i = 0; i < waiting.size(); i++) {
+            boolean shouldBePromoted = i < booked.size();
+            assertEquals(shouldBePromoted ? LessonStatus.BOOKED : null, waiting.get(i).getLessonStatus(testLesson));
+            assertEquals(shouldBePromoted ? 0 : i - booked.size() + 1, bookLessonUseCase.getWaitlistPosition(testLesson, waiting.get(i)));
+        }
+    }
+
+    private List<Learner> fillLesson(BookLessonUseCase bookLessonUseCase) {
+        var booked = new ArrayList<Learner>();
+        for (int i = 0; i < Lesson.MAX_LEARNERS; i++) {
+            Learner bookedLearner = newLearner("Booked " + i);
+            bookLessonUseCase.bookLesson(testLesson, bookedLearner);
+            booked.add(bookedLearner);
+        }
+        return booked;
+    }
+
+    private Learner newLearner(String name) {
+        return new Learner(name, "Male", 5, passingTestGrade, validPhoneNumber, validPhoneNumber);
+    }
 
-}
\ No newline at end of file
+    @Test
+    public void cancelLesson_learnerWaiting_publishesCancellationThenPromotion() {
+        var bus = new EventBus();
+        var bookLessonUseCase = new BookLessonUseCase(BookingJournal.NONE, bus);
+        useCase = new CancelLessonUseCase(BookingJournal.NONE, bus);
+        var booked = fillLesson(bookLessonUseCase);
+        Learner waiting = newLearner("Waiting");
+        bookLessonUseCase.bookLesson(testLesson, waiting);
+        var events = new ArrayList<BookingEvent>();
+        bus.subscribe(BookingEvent.class, events::add);
+
+        useCase.cancelLesson(testLesson, booked.get(0));
+
+        assertEquals(List.of(new BookingCancelled(booked.get(0), testLesson), new LessonBooked(waiting, testLesson)), events);
+    }
+}
@@ -1,13 +1,20 @@
 package domain.usecase;
 
 import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
 import domain.entity.lesson.Lesson;
+import domain.entity.lesson.LessonQuery;
+import domain.entity.lesson.LessonStatus;
+import domain.entity.lesson.RegisteredLesson;
 import domain.mock.LessonRepositoryMock;
 import domain.repository.LessonRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -283,4 +290,100 @@ class FilterLessonsUseCaseTest {
 
         assertEquals(3, result.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void filter_compoundQuery_returnsLessonsMeetingEveryCriterion() {
+        Coach otherCoach = new Coach("Sam Johnson");
+        LocalDate monday = LocalDate.of(2024, 4, 1);
+        Lesson match = new Lesson("Diving1", 3, testCoach, monday, lessonTime).setId(134001);
+        Lesson laterMatch = new Lesson("Diving2", 3, testCoach, monday.plusWeeks(1), lessonTime).setId(134002);
+        Lesson otherGrade = new Lesson("Diving3", 2, testCoach, monday, lessonTime).setId(134003);
+        Lesson otherCoachLesson = new Lesson("Diving4", 3, otherCoach, monday, lessonTime).setId(134004);
+        Lesson otherTime = new Lesson("Diving5", 3, testCoach, monday, "5-6pm").setId(134005);
+        Lesson outsideRange = new Lesson("Diving6", 3, testCoach, monday.plusWeeks(4), lessonTime).setId(134006);
+
+        lessonRepository.addNewLesson(laterMatch);
+        lessonRepository.addNewLesson(match);
+        lessonRepository.addNewLesson(otherGrade);
+        lessonRepository.addNewLesson(otherCoachLesson);
+        lessonRepository.addNewLesson(otherTime);
+        lessonRepository.addNewLesson(outsideRange);
+
+        var query = LessonQuery.ANY
+                .withGrade(3)
+                .withCoach(" helen ")
+                .withDayOfWeek(DayOfWeek.MONDAY)
+                .withDateRange(monday, monday.plusWeeks(2))
+                .withLessonTime("4-5PM");
+
+        var result = useCase.filter(query).getData();
+
+        assertEquals(List.of(match.getId(), laterMatch.getId()), result.stream().map(Lesson::getId).toList());
+    }
+
+    @Test
+    public void filter_freeSeatsOnly_skipsFullyBookedLessons() {
+        Lesson full = new Lesson("Diving1", 3, testCoach, LocalDate.now(), lessonTime).setId(134001);
+        Lesson free = new Lesson("Diving2", 3, testCoach, LocalDate.now(), lessonTime).setId(134002);
+        for (int i = 0; i < Lesson.MAX_LEARNERS; i++) {
+            new Learner("Learner " + i, "Male", 6, 3, "", "").registerNewLesson(new RegisteredLesson(full, LessonStatus.BOOKED));
+        }
+        lessonRepository.addNewLesson(full);
+        lessonRepository.addNewLesson(free);
+
+        var result = useCase.filter(LessonQuery.ANY.withGrade(3).withFreeSeatsOnly()).getData();
+
+        assertEquals(List.of(134002), result.stream().map(Lesson::getId).toList());
+    }
+
+    @Test
+    public void filter_invalidCriteria_returnsError() {
+        LocalDate today = LocalDate.now();
+
+        assertEquals(FilterLessonsUseCase.Error.INVALID_INPUT, useCase.filter(LessonQuery.ANY.withGrade(-1)).getError());
+        assertEquals(FilterLessonsUseCase.Error.INVALID_INPUT, useCase.filter(LessonQuery.ANY.withCoach(" ")).getError());
+        assertEquals(FilterLessonsUseCase.Error.INVALID_INPUT, useCase.filter(LessonQuery.ANY.withDateRange(today, today.minusDays(1))).getError());
+    }
+
+    @Test
+    public void filter_severalIndexedCriteria_fetchesFromSmallestIndexOnly() {
+        var fetched = new ArrayList<String>();
+        lessonRepository = new LessonRepositoryMock() {
+            @Override
+            public List<Lesson> getLessonsByGrade(int grade) {
+                fetched.add("grade");
+                return super.getLessonsByGrade(grade);
+            }
+
+            @Override
+            public List<Lesson> getLessonsByCoach(String coachName) {
+                fetched.add("coach");
+                return super.getLessonsByCoach(coachName);
+            }
+
+            @Override
+            public List<Lesson> getLessonsByDay(DayOfWeek dayOfWeek) {
+                fetched.add("day");
+                return super.getLessonsByDay(dayOfWeek);
+            }
+        };
+        useCase = new FilterLessonsUseCase(lessonRepository);
+        Coach rareCoach = new Coach("Sam Johnson");
+        LocalDate monday = LocalDate.of(2024, 4, 1);
+        for (int i = 0; i < 20; i++) {
+            lessonRepository.addNewLesson(new Lesson("Diving" + i, 3, i == 0 ? rareCoach : testCoach, monday.plusWeeks(i % 2), lessonTime));
+        }
+
+        var result = useCase.filter(LessonQuery.ANY.withGrade(3).withDayOfWeek(DayOfWeek.MONDAY).withCoach("Sam Johnson"));
+
+        assertEquals(1, result.getData().size());
+        assertEquals(List.of("coach"), fetched);
+    }
+
+    @Test
+    public void filter_noMatchInAnIndex_returnsEmptyWithoutFetching() {
+        lessonRepository.addNewLesson(new Lesson("Diving1", 3, testCoach, LocalDate.now(), lessonTime));
+
+        assertTrue(useCase.filter(LessonQuery.ANY.withGrade(3).withCoach("Nobody")).getData().isEmpty());
+    }
+}
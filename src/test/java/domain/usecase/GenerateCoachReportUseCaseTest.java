@@ -1,15 +1,26 @@
 package domain.usecase;
 
+import domain.entity.Review;
 import domain.entity.coach.Coach;
 import domain.entity.lesson.Lesson;
+import domain.entity.learner.Learner;
+import domain.event.EventBus;
 import domain.mock.CoachRepositoryMock;
+import domain.repository.BookingJournal;
 import domain.repository.CoachRepository;
+import domain.util.LessonUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GenerateCoachReportUseCaseTest {
@@ -76,4 +87,93 @@ public class GenerateCoachReportUseCaseTest {
         assertEquals(3, useCase.getReportForAllCoaches().size());
     }
 
+    @Test
+    void getReportForCoach_reviewsAdded_averageRatingsRoundHalfUp() {
+        Lesson lesson1 = new Lesson("Diving1", 3, testCoach, LocalDate.now(), lessonTime);
+        Lesson lesson2 = new Lesson("Diving2", 3, testCoach, LocalDate.now(), lessonTime);
+        new Lesson("Diving3", 3, testCoach, LocalDate.now(), lessonTime);
+        lesson1.addReview(new Review("", 4));
+        lesson1.addReview(new Review("", 5));
+        lesson1.addReview(new Review("", 5));
+        lesson2.addReview(new Review("", 3));
+        lesson2.addReview(new Review("", 4));
+
+        var report = useCase.getReportForCoach(testCoach);
+
+        assertEquals(4.7, lesson1.getAverageRating().getRatingValue());
+        assertEquals(3.5, lesson2.getAverageRating().getRatingValue());
+        assertEquals(4.1, report.averageLessonRating().getRatingValue());
+        assertEquals(LessonUtil.getAverageReviewRating(lesson1.getReviews()), lesson1.getAverageRating());
+    }
+
+    @Test
+    void getReportForCoach_noReviews_hasNoAverageRating() {
+        new Lesson("Diving1", 3, testCoach, LocalDate.now(), lessonTime);
+
+        assertFalse(useCase.getReportForCoach(testCoach).averageLessonRating().hasRating());
+    }
+
+    @Test
+    void getReportForAllCoaches_parallel_sameReportsInSameOrder() {
+        for (int c = 0; c < 20; c++) {
+            Coach coach = new Coach("Coach " + c);
+            for (int l = 0; l < 10; l++) {
+                new Lesson("Diving" + l, 3, coach, LocalDate.now(), lessonTime).addReview(new Review("", (c + l) % 5 + 1));
+            }
+            coachRepository.addNewCoach(coach);
+        }
+
+        var pool = new ForkJoinPool(4);
+        try {
+            var parallelUseCase = new GenerateCoachReportUseCase(coachRepository, pool);
+
+            assertEquals(useCase.getReportForAllCoaches(), parallelUseCase.getReportForAllCoaches());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void getReportForCoach_cached_reusedUntilLessonReviewed() {
+        var bus = new EventBus();
+        useCase = new GenerateCoachReportUseCase(coachRepository, null, bus, 16);
+        Lesson lesson = new Lesson("Diving1", 3, testCoach, LocalDate.now(), lessonTime).setId(134001);
+        Learner learner = new Learner("John Paul", "Female", 5, 3, "08012345680", "08012345680").setId(223001);
+        var first = useCase.getReportForCoach(testCoach);
+
+        new BookLessonUseCase(BookingJournal.NONE, bus).bookLesson(lesson, learner);
+        assertSame(first, useCase.getReportForCoach(testCoach));
+
+        new AttendLessonUseCase(BookingJournal.NONE, bus).attendLesson(lesson, learner, () -> new Review("Great", 4));
+        var afterReview = useCase.getReportForCoach(testCoach);
+
+        assertNotSame(first, afterReview);
+        assertEquals(4.0, afterReview.averageLessonRating().getRatingValue());
+    }
+
+    @Test
+    void getReportForCoach_cached_rebuiltAfterLessonAdded() {
+        useCase = new GenerateCoachReportUseCase(coachRepository, null, new EventBus(), 16);
+        Lesson lesson1 = new Lesson("Diving1", 3, testCoach, LocalDate.now(), lessonTime);
+        var first = useCase.getReportForCoach(testCoach);
+
+        Lesson lesson2 = new Lesson("Diving2", 3, testCoach, LocalDate.now(), lessonTime);
+        var afterAdding = useCase.getReportForCoach(testCoach);
+
+        assertEquals(1, first.numberOfLessonsTaught());
+        assertEquals(List.of(lesson1), first.lessonsTaught());
+        assertEquals(2, afterAdding.numberOfLessonsTaught());
+        assertEquals(List.of(lesson1, lesson2), afterAdding.lessonsTaught());
+        assertSame(afterAdding, useCase.getReportForCoach(testCoach));
+    }
+
+    @Test
+    void getReportForCoach_reportLists_cannotBeChanged() {
+        Lesson lesson = new Lesson("Diving1", 3, testCoach, LocalDate.now(), lessonTime);
+        var report = useCase.getReportForCoach(testCoach);
+
+        assertThrows(UnsupportedOperationException.class, () -> report.lessonsTaught().clear());
+        assertThrows(UnsupportedOperationException.class, () -> report.averageRatingPerLesson().clear());
+        assertEquals(List.of(lesson), testCoach.getAssignedLessons());
+    }
 }
@@ -5,12 +5,16 @@ import domain.entity.learner.Learner;
 import domain.entity.lesson.Lesson;
 import domain.entity.lesson.LessonStatus;
 import domain.entity.lesson.RegisteredLesson;
+import domain.event.EventBus;
 import domain.mock.LearnerRepositoryMock;
+import domain.repository.BookingJournal;
 import domain.repository.LearnerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -151,4 +155,135 @@ class GenerateLearnerReportUseCaseTest {
 
         assertEquals(3, useCase.getReportForAllLearners().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSummaryForLearner_countsLessonsByStatus() {
+        Coach coach = new Coach("John Smith");
+        Lesson lesson1 = new Lesson("Diving1", 3, coach, LocalDate.now(), lessonTime).setId(134001);
+        Lesson lesson2 = new Lesson("Diving2", 3, coach, LocalDate.now(), lessonTime).setId(134002);
+        Lesson lesson3 = new Lesson("Diving3", 2, coach, LocalDate.now(), lessonTime).setId(124003);
+
+        learner.registerNewLesson(new RegisteredLesson(lesson1, LessonStatus.BOOKED));
+        learner.registerNewLesson(new RegisteredLesson(lesson2, LessonStatus.BOOKED));
+        learner.registerNewLesson(new RegisteredLesson(lesson3, LessonStatus.ATTENDED));
+
+        var summary = useCase.getSummaryForLearner(learner);
+
+        assertEquals(2, summary.bookedLessonCount());
+        assertEquals(1, summary.attendedLessonCount());
+        assertEquals(0, summary.cancelledLessonCount());
+    }
+
+    @Test
+    void getSummaryForLearner_statusUpdated_countsFollowTheUpdate() {
+        Coach coach = new Coach("John Smith");
+        Lesson lesson1 = new Lesson("Diving1", 3, coach, LocalDate.now(), lessonTime).setId(134001);
+
+        learner.registerNewLesson(new RegisteredLesson(lesson1, LessonStatus.BOOKED));
+        learner.updateRegisteredLessonStatus(lesson1, LessonStatus.CANCELLED);
+
+        var summary = useCase.getSummaryForLearner(learner);
+
+        assertEquals(0, summary.bookedLessonCount());
+        assertEquals(1, summary.cancelledLessonCount());
+        assertEquals(useCase.getReportForLearner(learner).cancelledLessons().size(), summary.cancelledLessonCount());
+    }
+
+    @Test
+    void getReportForAllLearners_parallel_sameReportsInSameOrder() {
+        Coach coach = new Coach("John Smith");
+        Lesson lesson1 = new Lesson("Diving1", 3, coach, LocalDate.now(), lessonTime).setId(134001);
+        Lesson lesson2 = new Lesson("Diving2", 3, coach, LocalDate.now(), lessonTime).setId(134002);
+        for (int i = 0; i < 5000; i++) {
+            Learner l = new Learner("Learner " + i, "Male", 6, 3, "", "").setId(230000 + i);
+            l.registerNewLesson(new RegisteredLesson(i % 2 == 0 ? lesson1 : lesson2, LessonStatus.values()[i % 3]));
+            learnerRepository.addNewLearner(l);
+        }
+
+        var pool = new ForkJoinPool(4);
+        try {
+            var parallelUseCase = new GenerateLearnerReportUseCase(learnerRepository, pool);
+
+            assertEquals(useCase.getReportForAllLearners(), parallelUseCase.getReportForAllLearners());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void getReportForLearner_cached_reusedUntilLearnerBooks() {
+        var bus = new EventBus();
+        useCase = new GenerateLearnerReportUseCase(learnerRepository, null, bus, 16);
+        var lesson = new Lesson("Diving", 5, new Coach("Helen"), LocalDate.now(), lessonTime).setId(155001);
+        var first = useCase.getReportForLearner(learner);
+
+        assertSame(first, useCase.getReportForLearner(learner));
+
+        new BookLessonUseCase(BookingJournal.NONE, bus).bookLesson(lesson, learner);
+        var afterBooking = useCase.getReportForLearner(learner);
+
+        assertNotSame(first, afterBooking);
+        assertEquals(1, afterBooking.bookedLessons().size());
+        assertEquals(1, useCase.getCacheStats().hits());
+        assertEquals(2, useCase.getCacheStats().misses());
+    }
+
+    @Test
+    void getReportForLearner_otherLearnerBooks_stillCached() {
+        var bus = new EventBus();
+        useCase = new GenerateLearnerReportUseCase(learnerRepository, null, bus, 16);
+        var otherLearner = new Learner("Sam Smith", "Male", 5, 5, "", "").setId(123457);
+        var lesson = new Lesson("Diving", 5, new Coach("Helen"), LocalDate.now(), lessonTime).setId(155001);
+        var first = useCase.getReportForLearner(learner);
+
+        new BookLessonUseCase(BookingJournal.NONE, bus).bookLesson(lesson, otherLearner);
+
+        assertSame(first, useCase.getReportForLearner(learner));
+    }
+
+    @Test
+    void getReportForLearner_cached_rebuiltAfterCancelling() {
+        var bus = new EventBus();
+        useCase = new GenerateLearnerReportUseCase(learnerRepository, null, bus, 16);
+        var lesson = new Lesson("Diving", 5, new Coach("Helen"), LocalDate.now(), lessonTime).setId(155001);
+        new BookLessonUseCase(BookingJournal.NONE, bus).bookLesson(lesson, learner);
+        useCase.getReportForLearner(learner);
+
+        new CancelLessonUseCase(BookingJournal.NONE, bus).cancelLesson(lesson, learner);
+        var afterCancelling = useCase.getReportForLearner(learner);
+
+        assertTrue(afterCancelling.bookedLessons().isEmpty());
+        assertEquals(1, afterCancelling.cancelledLessons().size());
+    }
+
+    @Test
+    void getReportForLearner_cached_rebuiltAfterPromotionFromWaitlist() {
+        var bus = new EventBus();
+        useCase = new GenerateLearnerReportUseCase(learnerRepository, null, bus, 16);
+        var lesson = new Lesson("Diving", 5, new Coach("Helen"), LocalDate.now(), lessonTime).setId(155001);
+        var bookLessonUseCase = new BookLessonUseCase(BookingJournal.NONE, bus);
+        var booked = new ArrayList<Learner>();
+        for (int i = 0; i < Lesson.MAX_LEARNERS; i++) {
+            var other = new Learner("Sam Smith", "Male", 5, 5, "", "").setId(123460 + i);
+            bookLessonUseCase.bookLesson(lesson, other);
+            booked.add(other);
+        }
+        bookLessonUseCase.bookLesson(lesson, learner);
+        assertTrue(useCase.getReportForLearner(learner).bookedLessons().isEmpty());
+
+        new CancelLessonUseCase(BookingJournal.NONE, bus).cancelLesson(lesson, booked.get(0));
+
+        assertEquals(1, useCase.getReportForLearner(learner).bookedLessons().size());
+    }
+
+    @Test
+    void getReportForLearner_reportLists_cannotBeChanged() {
+        var lesson = new Lesson("Diving", 5, new Coach("Helen"), LocalDate.now(), lessonTime).setId(155001);
+        learner.registerNewLesson(new RegisteredLesson(lesson, LessonStatus.BOOKED));
+        var report = useCase.getReportForLearner(learner);
+
+        assertThrows(UnsupportedOperationException.class, () -> report.bookedLessons().clear());
+        assertThrows(UnsupportedOperationException.class, () -> report.attendedLessons().add(lesson));
+        assertThrows(UnsupportedOperationException.class, () -> report.cancelledLessons().add(lesson));
+    }
+}
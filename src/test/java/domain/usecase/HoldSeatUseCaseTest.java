@@ -0,0 +1,131 @@
+package domain.usecase;
+
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.entity.lesson.LessonStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldSeatUseCaseTest {
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final String validPhoneNumber = "08012345680";
+    private final int passingTestGrade = 3;
+    private BookLessonUseCase bookLessonUseCase;
+    private HoldSeatUseCase useCase;
+    private Learner learner;
+    private Lesson testLesson;
+
+    @BeforeEach
+    void setUp() {
+        bookLessonUseCase = new BookLessonUseCase();
+        useCase = new HoldSeatUseCase(bookLessonUseCase, clock::get);
+        learner = new Learner("John doe", "Male", 5, passingTestGrade, validPhoneNumber, validPhoneNumber);
+        testLesson = new Lesson("Diving", passingTestGrade, new Coach("Peter"), LocalDate.now(), "4-5pm");
+    }
+
+    @Test
+    public void holdSeat_freeSeat_takesSeat() {
+        var result = useCase.holdSeat(testLesson, Duration.ofMinutes(5));
+
+        assertTrue(result.isSuccess());
+        assertEquals(clock.get() + Duration.ofMinutes(5).toMillis(), result.getData().expiresAtMillis());
+        assertEquals(1, testLesson.getActiveLearnerCount());
+    }
+
+    @Test
+    public void holdSeat_seatsAllHeld_returnsFullyBooked() {
+        for (int i = 0; i < Lesson.MAX_LEARNERS; i++) useCase.holdSeat(testLesson, Duration.ofMinutes(5));
+
+        assertEquals(HoldSeatUseCase.Error.LESSON_FULLY_BOOKED, useCase.holdSeat(testLesson, Duration.ofMinutes(5)).getError());
+        assertEquals(BookLessonUseCase.Error.LESSON_FULLY_BOOKED, bookLessonUseCase.bookLesson(testLesson, learner).getError());
+    }
+
+    @Test
+    public void holdSeat_zeroDuration_returnsInvalidDuration() {
+        assertEquals(HoldSeatUseCase.Error.INVALID_DURATION, useCase.holdSeat(testLesson, Duration.ZERO).getError());
+    }
+
+    @Test
+    public void bookHeldSeat_activeHold_booksWithoutTakingAnotherSeat() {
+        var hold = useCase.holdSeat(testLesson, Duration.ofMinutes(5)).getData();
+
+        assertTrue(useCase.bookHeldSeat(hold.id(), learner).isSuccess());
+
+        assertEquals(LessonStatus.BOOKED, learner.getLessonStatus(testLesson));
+        assertEquals(1, testLesson.getActiveLearnerCount());
+        assertEquals(0, useCase.getHoldCount());
+    }
+
+    @Test
+    public void bookHeldSeat_wrongGrade_keepsHold() {
+        var hold = useCase.holdSeat(testLesson, Duration.ofMinutes(5)).getData();
+        learner.setGrade(1);
+
+        assertEquals(HoldSeatUseCase.Error.LESSON_ABOVE_LEARNER_GRADE, useCase.bookHeldSeat(hold.id(), learner).getError());
+
+        assertEquals(1, testLesson.getActiveLearnerCount());
+        assertEquals(1, useCase.getHoldCount());
+    }
+
+    @Test
+    public void bookHeldSeat_usedHold_returnsHoldNotFound() {
+        var hold = useCase.holdSeat(testLesson, Duration.ofMinutes(5)).getData();
+        useCase.bookHeldSeat(hold.id(), learner);
+        var otherLearner = new Learner("Jane doe", "Female", 5, passingTestGrade, validPhoneNumber, validPhoneNumber);
+
+        assertEquals(HoldSeatUseCase.Error.HOLD_NOT_FOUND, useCase.bookHeldSeat(hold.id(), otherLearner).getError());
+    }
+
+    @Test
+    public void bookHeldSeat_pastExpiryBeforeWheelAdvanced_returnsHoldNotFound() {
+        var hold = useCase.holdSeat(testLesson, Duration.ofMinutes(5)).getData();
+        clock.addAndGet(Duration.ofMinutes(5).toMillis());
+
+        assertEquals(HoldSeatUseCase.Error.HOLD_NOT_FOUND, useCase.bookHeldSeat(hold.id(), learner).getError());
+        assertEquals(0, testLesson.getActiveLearnerCount());
+        assertEquals(0, useCase.expireHolds());
+    }
+
+    @Test
+    public void expireHolds_pastExpiry_givesSeatsBack() {
+        useCase.holdSeat(testLesson, Duration.ofMinutes(5));
+        useCase.holdSeat(testLesson, Duration.ofMinutes(20));
+
+        clock.addAndGet(Duration.ofMinutes(5).toMillis() + HoldSeatUseCase.TICK_MILLIS);
+        assertEquals(1, useCase.expireHolds());
+        assertEquals(1, testLesson.getActiveLearnerCount());
+
+        clock.addAndGet(Duration.ofMinutes(15).toMillis());
+        assertEquals(1, useCase.expireHolds());
+        assertEquals(0, testLesson.getActiveLearnerCount());
+    }
+
+    @Test
+    public void expireHolds_learnerWaiting_seatGoesToWaitlist() {
+        for (int i = 0; i < Lesson.MAX_LEARNERS; i++) useCase.holdSeat(testLesson, Duration.ofMinutes(5));
+        bookLessonUseCase.bookLesson(testLesson, learner);
+
+        clock.addAndGet(Duration.ofMinutes(5).toMillis() + HoldSeatUseCase.TICK_MILLIS);
+        useCase.expireHolds();
+
+        assertEquals(LessonStatus.BOOKED, learner.getLessonStatus(testLesson));
+        assertEquals(1, testLesson.getActiveLearnerCount());
+    }
+
+    @Test
+    public void releaseHold_activeHold_givesSeatBack() {
+        var hold = useCase.holdSeat(testLesson, Duration.ofMinutes(5)).getData();
+
+        assertTrue(useCase.releaseHold(hold.id()).isSuccess());
+
+        assertEquals(0, testLesson.getActiveLearnerCount());
+        assertEquals(HoldSeatUseCase.Error.HOLD_NOT_FOUND, useCase.releaseHold(hold.id()).getError());
+    }
+}
@@ -1,6 +1,10 @@
 package domain.usecase;
 
 import domain.entity.learner.Learner;
+import domain.event.EventBus;
+import domain.event.LearnerRegistered;
+import domain.mock.BookingJournalMock;
+import domain.repository.BookingJournal;
 import domain.repository.LearnerRepository;
 import domain.util.Result;
 import org.junit.jupiter.api.BeforeEach;
@@ -162,8 +166,60 @@ class RegisterNewLearnerUseCaseTest {
             return null;
         }
 
+        @Override
+        public List<Result<Learner, LearnerRepository.Error>> getLearnersByIds(int[] ids) {
+            return null;
+        }
+
         public int size() {
             return learners.size();
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void registerLearner_ValidLearner_publishesLearnerRegistered() {
+        var bus = new EventBus();
+        var events = new ArrayList<LearnerRegistered>();
+        bus.subscribe(LearnerRegistered.class, events::add);
+        useCase = new RegisterNewLearnerUseCase(repository, BookingJournal.NONE, bus);
+
+        useCase.registerLearner(validLearner);
+
+        assertEquals(List.of(new LearnerRegistered(validLearner)), events);
+    }
+
+    @Test
+    public void registerLearner_nameTooLong_errorReturned() {
+        validLearner.setName("a".repeat(RegisterNewLearnerUseCase.Validator.MAX_NAME_LENGTH + 1));
+        int currentRepoSize = repository.size();
+
+        Result<Integer, RegisterNewLearnerUseCase.Error> result = useCase.registerLearner(validLearner);
+
+        assertEquals(RegisterNewLearnerUseCase.Error.INVALID_NAME, result.getError());
+        assertEquals(currentRepoSize, repository.size());
+    }
+
+    @Test
+    public void registerLearner_journalClosed_learnerNotAdded() {
+        var journal = new BookingJournalMock();
+        journal.close();
+        useCase = new RegisterNewLearnerUseCase(repository, journal);
+        int currentRepoSize = repository.size();
+
+        assertThrows(IllegalStateException.class, () -> useCase.registerLearner(validLearner));
+        assertEquals(currentRepoSize, repository.size());
+    }
+
+    @Test
+    public void registerLearner_noIdsLeft_errorReturned() {
+        useCase = new RegisterNewLearnerUseCase(repository, BookingJournal.NONE, new EventBus(), learner -> {
+            throw new IllegalStateException("No ids are left for grade " + learner.getGrade());
+        });
+        int currentRepoSize = repository.size();
+
+        Result<Integer, RegisterNewLearnerUseCase.Error> result = useCase.registerLearner(validLearner);
+
+        assertEquals(RegisterNewLearnerUseCase.Error.NO_IDS_LEFT, result.getError());
+        assertEquals(currentRepoSize, repository.size());
+    }
+}
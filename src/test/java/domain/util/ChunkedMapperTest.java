@@ -0,0 +1,44 @@
+package domain.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedMapperTest {
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void map_manyChunks_keepsItemOrder() {
+        List<Integer> items = IntStream.range(0, 10_000).boxed().toList();
+
+        List<String> mapped = ChunkedMapper.map(pool, items, 7, i -> "item " + i);
+
+        assertEquals(items.stream().map(i -> "item " + i).toList(), mapped);
+    }
+
+    @Test
+    void map_emptyList_returnsEmptyList() {
+        assertTrue(ChunkedMapper.map(pool, List.<Integer>of(), 16, i -> i).isEmpty());
+    }
+
+    @Test
+    void map_chunkSizeNotPositive_throws() {
+        assertThrows(IllegalArgumentException.class, () -> ChunkedMapper.map(pool, List.of(1), 0, i -> i));
+    }
+}
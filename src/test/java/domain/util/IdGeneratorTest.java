@@ -7,6 +7,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -50,4 +54,58 @@ class IdGeneratorTest {
     @Test
     void testGenerateId() {
     }
+
+    @Test
+    void generateId_forLearner_keepsGradeDigit() {
+        Learner learner = new Learner("Divine", "Male", 5, 3, "08172742510", "08172432510");
+
+        String id = String.valueOf(IdGenerator.generateId(learner));
+
+        assertEquals('3', id.charAt(1));
+    }
+
+    @Test
+    void generateId_manyLearners_neverRepeats() throws InterruptedException {
+        Learner learner = new Learner("Divine", "Male", 5, 4, "08172742510", "08172432510");
+        // gathered from the workers and checked here, as an assertion failing on a worker thread doesn't fail the test
+        Queue<Integer> ids = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 500; i++) {
+                        ids.add(IdGenerator.generateId(learner));
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(List.of(), List.copyOf(failures));
+        assertEquals(4000, ids.size());
+        assertEquals(4000, Set.copyOf(ids).size());
+    }
+
+    @Test
+    void markUsed_existingId_isSkipped() {
+        Lesson lesson = new Lesson("test", 2, new Coach("paul"), LocalDate.now(), "08172432510");
+        int taken = IdGenerator.generateId(lesson) + 50;
+
+        IdGenerator.markUsed(taken);
+
+        assertTrue(IdGenerator.generateId(lesson) > taken);
+    }
+
+    @Test
+    void reserveLearnerIds_block_followsOnFromEachOther() {
+        int first = IdGenerator.reserveLearnerIds(1, 10);
+        int next = IdGenerator.reserveLearnerIds(1, 1);
+
+        assertEquals(first + 10, next);
+    }
 }
\ No newline at end of file
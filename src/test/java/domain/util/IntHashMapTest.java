@@ -0,0 +1,87 @@
+package domain.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntHashMapTest {
+    private IntHashMap<String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new IntHashMap<>();
+    }
+
+    @Test
+    void get_missingKey_returnsNull() {
+        assertNull(map.get(203101));
+    }
+
+    @Test
+    void put_thenGet_returnsValue() {
+        map.put(203101, "Divine");
+
+        assertEquals("Divine", map.get(203101));
+    }
+
+    @Test
+    void put_existingKey_replacesValue() {
+        map.put(203101, "Divine");
+
+        assertEquals("Divine", map.put(203101, "James"));
+        assertEquals("James", map.get(203101));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void putIfAbsent_existingKey_keepsFirstValue() {
+        map.putIfAbsent(203101, "Divine");
+        map.putIfAbsent(203101, "James");
+
+        assertEquals("Divine", map.get(203101));
+    }
+
+    @Test
+    void put_zeroAndNegativeKeys_areStored() {
+        map.put(0, "zero");
+        map.put(-1, "minus one");
+
+        assertEquals("zero", map.get(0));
+        assertEquals("minus one", map.get(-1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void remove_existingKey_removesMapping() {
+        map.put(203101, "Divine");
+
+        assertEquals("Divine", map.remove(203101));
+        assertFalse(map.containsKey(203101));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void putAndRemove_manyKeys_matchesHashMap() {
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(5_000) - 100;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (int key = -100; key < 4_900; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
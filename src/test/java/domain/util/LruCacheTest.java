@@ -0,0 +1,90 @@
+package domain.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+    private final AtomicInteger computations = new AtomicInteger();
+
+    private String compute(Integer key) {
+        computations.incrementAndGet();
+        return "value " + key;
+    }
+
+    @Test
+    void get_sameKeyTwice_computesOnce() {
+        var cache = new LruCache<Integer, String>(4);
+
+        assertEquals("value 1", cache.get(1, this::compute));
+        assertEquals("value 1", cache.get(1, this::compute));
+
+        assertEquals(1, computations.get());
+        assertEquals(new LruCache.Stats(1, 1, 0, 1), cache.getStats());
+    }
+
+    @Test
+    void get_overCapacity_evictsLeastRecentlyUsed() {
+        var cache = new LruCache<Integer, String>(2);
+        cache.get(1, this::compute);
+        cache.get(2, this::compute);
+        cache.get(1, this::compute);
+
+        cache.get(3, this::compute);
+        computations.set(0);
+        cache.get(1, this::compute);
+        cache.get(2, this::compute);
+
+        assertEquals(1, computations.get());
+        assertEquals(2, cache.getStats().evictions());
+    }
+
+    @Test
+    void invalidate_cachedKey_computedAgain() {
+        var cache = new LruCache<Integer, String>(4);
+        cache.get(1, this::compute);
+        cache.get(2, this::compute);
+
+        cache.invalidate(1);
+        cache.get(1, this::compute);
+        cache.get(2, this::compute);
+
+        assertEquals(3, computations.get());
+    }
+
+    @Test
+    void invalidate_whileComputing_valueNotCached() {
+        var cache = new LruCache<Integer, String>(4);
+
+        cache.get(1, key -> {
+            cache.invalidate(key);
+            return "stale";
+        });
+
+        assertEquals("value 1", cache.get(1, this::compute));
+    }
+
+    @Test
+    void invalidateAll_dropsEverything() {
+        var cache = new LruCache<Integer, String>(4);
+        cache.get(1, this::compute);
+        cache.get(2, this::compute);
+
+        cache.invalidateAll();
+
+        assertEquals(0, cache.getStats().size());
+    }
+
+    @Test
+    void get_zeroCapacity_neverCaches() {
+        var cache = new LruCache<Integer, String>(0);
+
+        cache.get(1, this::compute);
+        cache.get(1, this::compute);
+
+        assertEquals(2, computations.get());
+        assertEquals(0, cache.getStats().size());
+    }
+}
@@ -0,0 +1,86 @@
+package domain.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+    private TimerWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimerWheel<>(1_000, 100, 8);
+    }
+
+    @Test
+    void advance_beforeDeadline_expiresNothing() {
+        wheel.schedule("hold", 1_450);
+
+        assertTrue(wheel.advance(1_449).isEmpty());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void advance_pastDeadline_expiresItem() {
+        wheel.schedule("hold", 1_450);
+
+        assertEquals(List.of("hold"), wheel.advance(1_500));
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(2_000).isEmpty());
+    }
+
+    @Test
+    void advance_deadlineSeveralTurnsAway_waitsForItsTurn() {
+        // 8 buckets of 100ms make a turn of 800ms
+        wheel.schedule("later", 3_050);
+        wheel.schedule("sooner", 1_050);
+
+        assertEquals(List.of("sooner"), wheel.advance(1_100));
+        assertTrue(wheel.advance(3_000).isEmpty());
+        assertEquals(List.of("later"), wheel.advance(3_100));
+    }
+
+    @Test
+    void advance_pastManyTurns_expiresEverythingDue() {
+        wheel.schedule("first", 1_100);
+        wheel.schedule("second", 2_500);
+        wheel.schedule("third", 9_000);
+
+        var expired = wheel.advance(5_000);
+
+        assertEquals(2, expired.size());
+        assertTrue(expired.containsAll(List.of("first", "second")));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void schedule_deadlinePassed_expiresOnNextAdvance() {
+        wheel.advance(2_000);
+
+        wheel.schedule("late", 1_500);
+
+        assertEquals(List.of("late"), wheel.advance(2_100));
+    }
+
+    @Test
+    void cancel_pending_neverExpires() {
+        var timeout = wheel.schedule("hold", 1_200);
+        wheel.schedule("other", 1_200);
+
+        assertTrue(timeout.cancel());
+        assertEquals(List.of("other"), wheel.advance(1_300));
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void cancel_expired_returnsFalse() {
+        var timeout = wheel.schedule("hold", 1_200);
+        wheel.advance(1_300);
+
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,147 @@
+package presentation.batch;
+
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.entity.lesson.LessonStatus;
+import domain.mock.CoachRepositoryMock;
+import domain.mock.LearnerRepositoryMock;
+import domain.mock.LessonRepositoryMock;
+import domain.usecase.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchCommandRunnerTest {
+    private BatchCommandRunner runner;
+    private LearnerRepositoryMock learnerRepository;
+    private Lesson lesson;
+    private Learner learner;
+
+    @BeforeEach
+    void setUp() {
+        var coachRepository = new CoachRepositoryMock();
+        var lessonRepository = new LessonRepositoryMock();
+        learnerRepository = new LearnerRepositoryMock();
+
+        Coach coach = new Coach("Helen");
+        coachRepository.addNewCoach(coach);
+        lesson = new Lesson("Diving 3", 3, coach, LocalDate.of(2024, 4, 1), "4-5pm").setId(134021);
+        lessonRepository.addNewLesson(lesson);
+        learner = new Learner("Divine", "Male", 6, 3, "08172742510", "08172432510").setId(223101);
+        learnerRepository.addNewLearner(learner);
+
+        runner = new BatchCommandRunner(
+                new AttendLessonUseCase(),
+                new BookLessonUseCase(),
+                new CancelLessonUseCase(),
+                new GenerateCoachReportUseCase(coachRepository),
+                new GenerateLearnerReportUseCase(learnerRepository),
+                new RegisterNewLearnerUseCase(learnerRepository),
+                learnerRepository,
+                lessonRepository);
+    }
+
+    @Test
+    void run_bookThenCancel_writesOneResultPerCommand() throws IOException {
+        var out = new StringWriter();
+
+        int failures = runner.run(new StringReader("""
+                # book then cancel
+                BOOK 223101 134021
+
+                CANCEL 223101 134021
+                CANCEL 223101 134021
+                """), out);
+
+        assertEquals(1, failures);
+        assertEquals("2 OK\n4 OK\n5 ERROR LESSON_ALREADY_CANCELLED\n", out.toString());
+        assertEquals(LessonStatus.CANCELLED, learner.getLessonStatus(lesson));
+    }
+
+    @Test
+    void run_bookingsAroundOtherCommands_sameAsOneByOne() throws IOException {
+        for (int id = 223102; id <= 223105; id++) {
+            learnerRepository.addNewLearner(new Learner("Learner " + id, "Male", 6, 3, "08172742510", "08172432510").setId(id));
+        }
+        var out = new StringWriter();
+
+        int failures = runner.run(new StringReader("""
+                BOOK 223101 134021
+                BOOK 223102 134021
+                BOOK 1 134021
+                BOOK 223103 134021
+                BOOK 223104 134021
+                BOOK 223105 134021
+                CANCEL 223101 134021
+                BOOK 223105 134021
+                """), out);
+
+        // the cancellation hands its seat to 223105, who was put on the waitlist at line 6
+        assertEquals(3, failures);
+        assertEquals("1 OK\n2 OK\n3 ERROR LEARNER_NOT_FOUND\n4 OK\n5 OK\n6 ERROR LESSON_FULLY_BOOKED\n7 OK\n8 ERROR DUPLICATE_BOOKING\n",
+                out.toString());
+        assertEquals(LessonStatus.BOOKED, learnerRepository.getLearnerById(223105).getData().getLessonStatus(lesson));
+    }
+
+    @Test
+    void run_register_writesNewLearnerId() throws IOException {
+        var out = new StringWriter();
+
+        runner.run(new StringReader("REGISTER \"Sam Smith\" Female 7 2 08172742511 08172432511\n"), out);
+
+        String[] result = out.toString().strip().split(" ");
+        assertEquals("OK", result[1]);
+        assertEquals("Sam Smith", learnerRepository.getLearnerById(Integer.parseInt(result[2])).getData().getName());
+    }
+
+    @Test
+    void run_attend_recordsReviewMessage() throws IOException {
+        var out = new StringWriter();
+
+        runner.run(new StringReader("BOOK 223101 134021\nATTEND 223101 134021 4 Great lesson today\n"), out);
+
+        assertEquals("1 OK\n2 OK\n", out.toString());
+        assertEquals("Great lesson today", lesson.getReviews().get(0).getMessage());
+        assertEquals(4, lesson.getReviews().get(0).getRating());
+    }
+
+    @Test
+    void run_unknownIds_writesNotFound() throws IOException {
+        var out = new StringWriter();
+
+        int failures = runner.run(new StringReader("BOOK 1 134021\nBOOK 223101 1\n"), out);
+
+        assertEquals(2, failures);
+        assertEquals("1 ERROR LEARNER_NOT_FOUND\n2 ERROR LESSON_NOT_FOUND\n", out.toString());
+    }
+
+    @Test
+    void run_malformedCommands_reportedAndRestStillRun() throws IOException {
+        var out = new StringWriter();
+
+        int failures = runner.run(new StringReader("JUMP 1 2\nBOOK 223101\nBOOK 223101 134021\n"), out);
+
+        assertEquals(2, failures);
+        String[] lines = out.toString().split("\n");
+        assertTrue(lines[0].startsWith("1 ERROR INVALID_COMMAND"));
+        assertTrue(lines[1].startsWith("2 ERROR INVALID_COMMAND"));
+        assertEquals("3 OK", lines[2]);
+    }
+
+    @Test
+    void run_reportForLearner_writesReport() throws IOException {
+        var out = new StringWriter();
+
+        runner.run(new StringReader("REPORT 223101\n"), out);
+
+        assertTrue(out.toString().startsWith("1 OK\n"));
+        assertTrue(out.toString().contains("| Name: Divine"));
+    }
+}
@@ -66,6 +66,30 @@ class HomeScreenViewControllerTest {
         assertTrue(viewMock.optionPickerHeaderOptions.size() >= 6);
     }
 
+    @Test
+    public void returningToMainMenu_manyTimes_stackDepthStaysTheSame() {
+        var mockLessonRepo = new LessonRepositoryMock();
+        var mockLearnerRepo = new LearnerRepositoryMock();
+        var mockCoachRepo = new CoachRepositoryMock();
+        var view = new MenuLoopViewMock(20_000);
+
+        new HomeScreenViewController(
+                view,
+                new AttendLessonUseCase(),
+                new BookLessonUseCase(),
+                new CancelLessonUseCase(),
+                new FilterLessonsUseCase(mockLessonRepo),
+                new GenerateCoachReportUseCase(mockCoachRepo),
+                new GenerateLearnerReportUseCase(mockLearnerRepo),
+                new RegisterNewLearnerUseCase(mockLearnerRepo),
+                mockLearnerRepo,
+                mockCoachRepo
+        );
+
+        assertEquals(0, view.remainingVisits);
+        assertEquals(view.minStackDepth, view.maxStackDepth);
+    }
+
 
 
     private static class HomeScreenViewMock implements CLIView {
@@ -90,4 +114,43 @@ class HomeScreenViewControllerTest {
             optionPickerHeaderOptions = options;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Keeps picking "Display all Learners" and then "Return to Main menu", recording the stack depth at the main menu
+     */
+    private static class MenuLoopViewMock implements CLIView {
+        int remainingVisits;
+        int minStackDepth = Integer.MAX_VALUE;
+        int maxStackDepth = 0;
+
+        MenuLoopViewMock(int visits) {
+            remainingVisits = visits;
+        }
+
+        @Override
+        public void showMessage(String message, MessageType messageType) {
+
+        }
+
+        @Override
+        public void requestUserInput(String prompt, InputConsumer inputConsumer) {
+
+        }
+
+        @Override
+        public void showOptionsPicker(List<String> options, OptionPickerStyle style, String optionalHeader, OptionPickedListener listener) {
+            if ("Main menu".equals(optionalHeader)) {
+                if (remainingVisits == 0) return;
+                remainingVisits--;
+
+                int depth = Thread.currentThread().getStackTrace().length;
+                minStackDepth = Math.min(minStackDepth, depth);
+                maxStackDepth = Math.max(maxStackDepth, depth);
+
+                listener.onOptionPicked(options.indexOf("Display all Learners"), "Display all Learners");
+            } else if (options.contains("Return to Main menu")) {
+                listener.onOptionPicked(0, "Return to Main menu");
+            }
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package presentation.http;
+
+import domain.entity.coach.Coach;
+import domain.entity.learner.Learner;
+import domain.entity.lesson.Lesson;
+import domain.mock.CoachRepositoryMock;
+import domain.mock.LearnerRepositoryMock;
+import domain.mock.LessonRepositoryMock;
+import domain.usecase.*;
+import domain.util.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingApiServerTest {
+    private static final int BROKEN_LEARNER_ID = 299999;
+
+    private BookingApiServer server;
+    private HttpClient client;
+    private Lesson lesson;
+    private LearnerRepositoryMock learnerRepository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var coachRepository = new CoachRepositoryMock();
+        var lessonRepository = new LessonRepositoryMock();
+        learnerRepository = new LearnerRepositoryMock() {
+            @Override
+            public Result<Learner, Error> getLearnerById(int id) {
+                if (id == BROKEN_LEARNER_ID) throw new IllegalStateException("The learner couldn't be read");
+                return super.getLearnerById(id);
+            }
+        };
+
+        Coach coach = new Coach("Helen");
+        coachRepository.addNewCoach(coach);
+        lesson = new Lesson("Diving 3", 3, coach, LocalDate.of(2024, 4, 1), "4-5pm").setId(134021);
+        lessonRepository.addNewLesson(lesson);
+
+        var bookLessonUseCase = new BookLessonUseCase();
+        server = BookingApiServer.start(new InetSocketAddress("127.0.0.1", 0), 0, 1000,
+                new AttendLessonUseCase(),
+                bookLessonUseCase,
+                new CancelLessonUseCase(),
+                new FilterLessonsUseCase(lessonRepository),
+                new GenerateCoachReportUseCase(coachRepository),
+                new GenerateLearnerReportUseCase(learnerRepository),
+                new HoldSeatUseCase(bookLessonUseCase),
+                new RegisterNewLearnerUseCase(learnerRepository),
+                learnerRepository,
+                lessonRepository);
+        client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void registerLearner_validLearner_returnsId() throws Exception {
+        var response = post("/learners", "{\"name\": \"Divine\", \"gender\": \"Male\", \"age\": 6, \"grade\": 2, "
+                + "\"phoneNumber\": \"08172742510\", \"emergencyContactNumber\": \"08172432510\"}");
+
+        assertEquals(201, response.statusCode());
+        int id = ((Long) Json.parseObject(response.body()).get("id")).intValue();
+        assertEquals("Divine", learnerRepository.getLearnerById(id).getData().getName());
+    }
+
+    @Test
+    void registerLearner_invalidAge_returnsBadRequest() throws Exception {
+        var response = post("/learners", "{\"name\": \"Divine\", \"gender\": \"Male\", \"age\": 60, \"grade\": 2, "
+                + "\"phoneNumber\": \"08172742510\", \"emergencyContactNumber\": \"08172432510\"}");
+
+        assertEquals(400, response.statusCode());
+        assertEquals("INVALID_AGE", Json.parseObject(response.body()).get("error"));
+    }
+
+    @Test
+    void bookLesson_thenCancel_updatesBooking() throws Exception {
+        addLearner(223101);
+
+        assertEquals(200, post("/bookings", "{\"learnerId\": 223101, \"lessonId\": 134021}").statusCode());
+        var duplicate = post("/bookings", "{\"learnerId\": 223101, \"lessonId\": 134021}");
+        assertEquals(409, duplicate.statusCode());
+        assertEquals("DUPLICATE_BOOKING", Json.parseObject(duplicate.body()).get("error"));
+
+        assertEquals(200, post("/cancellations", "{\"learnerId\": 223101, \"lessonId\": 134021}").statusCode());
+        assertEquals(0, lesson.getActiveLearnerCount());
+    }
+
+    @Test
+    void bookLesson_unknownLesson_returnsNotFound() throws Exception {
+        addLearner(223101);
+
+        var response = post("/bookings", "{\"learnerId\": 223101, \"lessonId\": 1}");
+
+        assertEquals(404, response.statusCode());
+        assertEquals("LESSON_NOT_FOUND", Json.parseObject(response.body()).get("error"));
+    }
+
+    @Test
+    void leaveWaitlist_waitingLearner_leavesOnce() throws Exception {
+        for (int i = 0; i < Lesson.MAX_LEARNERS; i++) {
+            assertEquals(201, post("/holds", "{\"lessonId\": 134021}").statusCode());
+        }
+        addLearner(223101);
+        assertEquals(409, post("/bookings", "{\"learnerId\": 223101, \"lessonId\": 134021}").statusCode());
+
+        assertEquals(200, post("/withdrawals", "{\"learnerId\": 223101, \"lessonId\": 134021}").statusCode());
+        assertEquals(0, lesson.getWaitlist().size());
+
+        var again = post("/withdrawals", "{\"learnerId\": 223101, \"lessonId\": 134021}");
+        assertEquals(404, again.statusCode());
+        assertEquals("NOT_ON_WAITLIST", Json.parseObject(again.body()).get("error"));
+    }
+
+    @Test
+    void holdSeat_thenBookHeldSeat_usesHold() throws Exception {
+        addLearner(223101);
+
+        var hold = post("/holds", "{\"lessonId\": 134021, \"minutes\": 5}");
+        assertEquals(201, hold.statusCode());
+        assertEquals(1, lesson.getActiveLearnerCount());
+        long holdId = (Long) Json.parseObject(hold.body()).get("holdId");
+
+        assertEquals(200, post("/bookings", "{\"learnerId\": 223101, \"holdId\": " + holdId + "}").statusCode());
+        assertEquals(1, lesson.getActiveLearnerCount());
+
+        var reused = post("/bookings", "{\"learnerId\": 223101, \"holdId\": " + holdId + "}");
+        assertEquals(404, reused.statusCode());
+        assertEquals("HOLD_NOT_FOUND", Json.parseObject(reused.body()).get("error"));
+    }
+
+    @Test
+    void holdSeat_fullyHeldLesson_returnsConflict() throws Exception {
+        for (int i = 0; i < Lesson.MAX_LEARNERS; i++) {
+            assertEquals(201, post("/holds", "{\"lessonId\": 134021}").statusCode());
+        }
+
+        var response = post("/holds", "{\"lessonId\": 134021}");
+
+        assertEquals(409, response.statusCode());
+        assertEquals("LESSON_FULLY_BOOKED", Json.parseObject(response.body()).get("error"));
+    }
+
+    @Test
+    void holdSeat_tooLong_returnsBadRequest() throws Exception {
+        var response = post("/holds", "{\"lessonId\": 134021, \"minutes\": 61}");
+
+        assertEquals(400, response.statusCode());
+        assertEquals("INVALID_DURATION", Json.parseObject(response.body()).get("error"));
+        assertEquals(0, lesson.getActiveLearnerCount());
+    }
+
+    @Test
+    void bookLesson_handlerThrows_returnsInternalErrorAndKeepsServing() throws Exception {
+        var response = post("/bookings", "{\"learnerId\": " + BROKEN_LEARNER_ID + ", \"lessonId\": 134021}");
+
+        assertEquals(500, response.statusCode());
+        assertEquals("INTERNAL_ERROR", Json.parseObject(response.body()).get("error"));
+        assertFalse(response.body().contains("couldn't be read"));
+
+        addLearner(223101);
+        assertEquals(200, post("/bookings", "{\"learnerId\": 223101, \"lessonId\": 134021}").statusCode());
+    }
+
+    @Test
+    void bookLesson_malformedBody_returnsBadRequest() throws Exception {
+        assertEquals(400, post("/bookings", "{\"learnerId\": ").statusCode());
+    }
+
+    @Test
+    void bookLesson_concurrentRequests_neverOverbooks() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            addLearner(223101 + i);
+        }
+
+        var responses = new ArrayList<CompletableFuture<HttpResponse<String>>>();
+        for (int i = 0; i < 50; i++) {
+            responses.add(client.sendAsync(request("/bookings")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"learnerId\": " + (223101 + i) + ", \"lessonId\": 134021}"))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+
+        long booked = responses.stream().map(CompletableFuture::join).filter(response -> response.statusCode() == 200).count();
+
+        assertEquals(Lesson.MAX_LEARNERS, booked);
+        assertEquals(Lesson.MAX_LEARNERS, lesson.getActiveLearnerCount());
+    }
+
+    @Test
+    void attendLesson_afterBooking_recordsReview() throws Exception {
+        addLearner(223101);
+        post("/bookings", "{\"learnerId\": 223101, \"lessonId\": 134021}");
+
+        var response = post("/attendances", "{\"learnerId\": 223101, \"lessonId\": 134021, \"review\": \"Great\", \"rating\": 5}");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(5, lesson.getReviews().get(0).getRating());
+    }
+
+    @Test
+    void filterLessons_byCoach_returnsLessons() throws Exception {
+        var response = client.send(request("/lessons?coach=helen").GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"id\":134021"));
+    }
+
+    @Test
+    void learnerReport_unknownLearner_returnsNotFound() throws Exception {
+        var response = client.send(request("/reports/learners/5").GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(404, response.statusCode());
+    }
+
+    @Test
+    void reportCacheStats_returnsCountersOfBothCaches() throws Exception {
+        var response = client.send(request("/reports/cache").GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"learnerReports\":{\"hits\":0"));
+        assertTrue(response.body().contains("\"coachReports\":{\"hits\":0"));
+    }
+
+    @Test
+    void coachReports_wrongMethod_returnsMethodNotAllowed() throws Exception {
+        assertEquals(405, post("/reports/coaches", "{}").statusCode());
+    }
+
+    private void addLearner(int id) {
+        learnerRepository.addNewLearner(new Learner("Learner " + id, "Male", 6, 3, "08172742510", "08172432510").setId(id));
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(request(path).POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path));
+    }
+}
@@ -0,0 +1,52 @@
+package presentation.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTest {
+    @Test
+    void parseObject_flatObject_returnsMembers() {
+        var members = Json.parseObject(" { \"name\": \"Sam \\\"Jr\\\" \\u00e9\", \"age\": 7, \"rating\": 4.5, \"active\": true, \"note\": null } ");
+
+        assertEquals("Sam \"Jr\" \u00e9", members.get("name"));
+        assertEquals(7L, members.get("age"));
+        assertEquals(4.5, members.get("rating"));
+        assertEquals(Boolean.TRUE, members.get("active"));
+        assertTrue(members.containsKey("note"));
+        assertNull(members.get("note"));
+    }
+
+    @Test
+    void parseObject_emptyObject_returnsNoMembers() {
+        assertEquals(Map.of(), Json.parseObject("{}"));
+    }
+
+    @Test
+    void parseObject_nestedObject_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"learner\": {\"id\": 1}}"));
+    }
+
+    @Test
+    void parseObject_trailingText_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"id\": 1} {"));
+    }
+
+    @Test
+    void parseObject_unterminatedString_throws() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"id\": \"1}"));
+    }
+
+    @Test
+    void writer_nestedValues_separatedAndEscaped() {
+        String json = new Json.Writer().beginObject()
+                .name("name").value("Line\n\"quoted\"")
+                .name("ids").beginArray().value(1).value(2).endArray()
+                .name("rating").nullValue()
+                .endObject().toString();
+
+        assertEquals("{\"name\":\"Line\\n\\\"quoted\\\"\",\"ids\":[1,2],\"rating\":null}", json);
+    }
+}
@@ -0,0 +1,79 @@
+package presentation.view;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import presentation.view.components.optionpicker.PagedOptions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HomeScreenViewTest {
+    private final InputStream systemIn = System.in;
+    private final PrintStream systemOut = System.out;
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @AfterEach
+    void tearDown() {
+        System.setIn(systemIn);
+        System.setOut(systemOut);
+    }
+
+    @Test
+    void showPagedOptionsPicker_nextPage_onlyBuildsLabelsOnDisplay() {
+        var view = viewWithInput("n\n12\n");
+        var labelled = new HashSet<Integer>();
+        int[] picked = {-1};
+
+        view.showPagedOptionsPicker(options(1000, labelled), 10, "Lessons", (index, value) -> picked[0] = index);
+
+        assertEquals(11, picked[0]);
+        assertEquals(Set.copyOf(IntStream.range(0, 20).boxed().toList()), labelled);
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("Page 2 of 100 - 1000 options"));
+    }
+
+    @Test
+    void showPagedOptionsPicker_filter_numbersMatchingOptions() {
+        var view = viewWithInput("/option 99\n2\n");
+        int[] picked = {-1};
+
+        view.showPagedOptionsPicker(options(1000, new HashSet<>()), 10, null, (index, value) -> picked[0] = index);
+
+        // "option 99" matches 99 and 990 to 999, the second match is 990
+        assertEquals(990, picked[0]);
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("11 options matching \"option 99\""));
+    }
+
+    @Test
+    void showPagedOptionsPicker_pickOutsideFilter_asksAgain() {
+        var view = viewWithInput("/option 5\n3\n/\n3\n");
+        int[] picked = {-1};
+
+        view.showPagedOptionsPicker(options(6, new HashSet<>()), 10, null, (index, value) -> picked[0] = index);
+
+        assertEquals(2, picked[0]);
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("Please choose an option between 1 and 1"));
+    }
+
+    private HomeScreenView viewWithInput(String input) {
+        System.setIn(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+        return new HomeScreenView();
+    }
+
+    private static PagedOptions options(int count, Set<Integer> labelled) {
+        List<Integer> items = IntStream.range(0, count).boxed().toList();
+        return PagedOptions.of(items, item -> {
+            labelled.add(item);
+            return "Option " + item;
+        }, (item, filter) -> ("option " + item).contains(filter));
+    }
+}
@@ -0,0 +1,71 @@
+package presentation.view;
+
+import domain.entity.Review;
+import domain.entity.coach.Coach;
+import domain.entity.learner.LearnerReport;
+import domain.entity.lesson.Lesson;
+import domain.usecase.GenerateCoachReportUseCase;
+import domain.mock.CoachRepositoryMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportPrinterTest {
+    private Coach coach;
+    private Lesson lesson;
+
+    @BeforeEach
+    void setUp() {
+        coach = new Coach("Helen");
+        lesson = new Lesson("Diving 3", 3, coach, LocalDate.now(), "4-5pm");
+        lesson.addReview(new Review("Great lesson", 4));
+    }
+
+    @Test
+    void prettyPrintLearnerReport_padsFieldsToTheBox() {
+        var report = new LearnerReport(203101, "Divine", 5, "Male", 2, 1, List.of(lesson), List.of(), List.of());
+
+        String printed = ReportPrinter.prettyPrintLearnerReport(report);
+
+        assertTrue(printed.contains("| Name: Divine                                    |\n"));
+        assertTrue(printed.contains("| ID: 203101                                      |\n"));
+        assertTrue(printed.contains("| - Diving 3                                      |\n"));
+    }
+
+    @Test
+    void prettyPrintCoachReport_padsRatingsToTheBox() {
+        var report = new GenerateCoachReportUseCase(new CoachRepositoryMock()).getReportForCoach(coach);
+
+        String printed = ReportPrinter.prettyPrintCoachReport(report);
+
+        assertTrue(printed.contains("| Average Lesson Rating: 4.0                      |\n"));
+        assertTrue(printed.contains("| - Diving 3                       : Rating 4.0   |\n"));
+    }
+
+    @Test
+    void printLearnerReports_toWriter_matchesPrettyPrint() throws IOException {
+        var reports = List.of(
+                new LearnerReport(203101, "Divine", 5, "Male", 2, 1, List.of(lesson), List.of(), List.of()),
+                new LearnerReport(203102, "James", 6, "Male", 3, 0, List.of(), List.of(), List.of()));
+        var writer = new StringWriter();
+
+        ReportPrinter.printLearnerReports(reports, writer);
+
+        assertEquals(ReportPrinter.prettyPrintLearnerReports(reports), writer.toString());
+    }
+
+    @Test
+    void printCoachReports_noReports_printsNoReportsBanner() throws IOException {
+        var writer = new StringWriter();
+
+        ReportPrinter.printCoachReports(List.of(), writer);
+
+        assertTrue(writer.toString().contains("NO REPORTS TO SHOW"));
+    }
+}